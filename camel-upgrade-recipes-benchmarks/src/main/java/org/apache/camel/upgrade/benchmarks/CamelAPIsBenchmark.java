@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.benchmarks;
+
+import org.apache.camel.upgrade.camel40.java.CamelAPIsRecipe;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+
+import java.util.List;
+
+/**
+ * {@link CamelAPIsRecipe} (Java API changes of 4.0) over RouteBuilder classes.
+ */
+public class CamelAPIsBenchmark extends AbstractRecipeBenchmark {
+
+    @Override
+    protected Recipe createRecipe() {
+        return new CamelAPIsRecipe();
+    }
+
+    @Override
+    protected List<SourceFile> createSources(int files, ExecutionContext ctx) {
+        return Corpus.java(files, ctx);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.benchmarks;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+
+import java.util.List;
+
+/**
+ * End-to-end {@code org.apache.camel.upgrade.CamelMigrationRecipe} (all migrations up to the latest version) over
+ * a project with Java, XML and YAML routes.
+ */
+public class CamelMigrationBenchmark extends AbstractRecipeBenchmark {
+
+    static final String CAMEL_MIGRATION_RECIPE = "org.apache.camel.upgrade.CamelMigrationRecipe";
+
+    @Override
+    protected Recipe createRecipe() {
+        return Environment.builder()
+                .scanRuntimeClasspath("org.apache.camel.upgrade")
+                .build()
+                .activateRecipes(CAMEL_MIGRATION_RECIPE);
+    }
+
+    @Override
+    protected List<SourceFile> createSources(int files, ExecutionContext ctx) {
+        return Corpus.project(files, ctx);
+    }
+}
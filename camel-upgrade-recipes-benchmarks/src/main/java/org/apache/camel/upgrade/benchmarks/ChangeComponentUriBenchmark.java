@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.benchmarks;
+
+import org.apache.camel.upgrade.customRecipes.ChangeComponentUriRecipe;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ChangeComponentUriRecipe} with several uri mappings over Java, XML and YAML routes.
+ */
+public class ChangeComponentUriBenchmark extends AbstractRecipeBenchmark {
+
+    @Override
+    protected Recipe createRecipe() {
+        Map<String, String> mappings = new LinkedHashMap<>();
+        mappings.put("^pulsar:(persistent|non-persistent)://([^/]+)/([^/]+)/([^/]+)/([^/?]+)(\\?.*)?$", "pulsar:${1}://${2}/${4}/${5}${6}");
+        mappings.put("^activemq:(.+)$", "activemq6:${1}");
+        mappings.put("^paho:(.+)$", "paho-mqtt5:${1}");
+        mappings.put("^cql:(.+)$", "cassandra:${1}");
+        return new ChangeComponentUriRecipe(mappings);
+    }
+
+    @Override
+    protected List<SourceFile> createSources(int files, ExecutionContext ctx) {
+        return Corpus.project(files, ctx);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.benchmarks;
+
+import org.apache.camel.upgrade.generator.CamelProjectGenerator;
+import org.apache.camel.upgrade.generator.CamelProjectGenerator.Dsl;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.yaml.YamlParser;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Parsed sources used by the benchmarks, generated by {@link CamelProjectGenerator} with a fixed seed.
+ */
+final class Corpus {
+
+    private static final long SEED = 42;
+
+    private static final String[] CAMEL_CLASSPATH = {"camel-api", "camel-core-model", "camel-support"};
+
+    private Corpus() {
+    }
+
+    static List<SourceFile> java(int files, ExecutionContext ctx) {
+        return generate(files, EnumSet.of(Dsl.JAVA), ctx);
+    }
+
+    static List<SourceFile> xml(int files, ExecutionContext ctx) {
+        return generate(files, EnumSet.of(Dsl.XML), ctx);
+    }
+
+    static List<SourceFile> yaml(int files, ExecutionContext ctx) {
+        return generate(files, EnumSet.of(Dsl.YAML), ctx);
+    }
+
+    static List<SourceFile> project(int files, ExecutionContext ctx) {
+        return generate(files, EnumSet.allOf(Dsl.class), ctx);
+    }
+
+    private static List<SourceFile> generate(int files, Set<Dsl> dsls, ExecutionContext ctx) {
+        Map<Dsl, List<Parser.Input>> inputs = new EnumMap<>(Dsl.class);
+        new CamelProjectGenerator(SEED).generate(files, dsls).forEach(file -> {
+            byte[] bytes = file.content().getBytes(StandardCharsets.UTF_8);
+            inputs.computeIfAbsent(dsl(file), d -> new ArrayList<>())
+                    .add(new Parser.Input(file.path(), () -> new ByteArrayInputStream(bytes)));
+        });
+
+        List<SourceFile> sources = new ArrayList<>(files);
+        inputs.forEach((dsl, dslInputs) -> sources.addAll(parser(dsl).parseInputs(dslInputs, null, ctx)
+                .collect(Collectors.toList())));
+        return sources;
+    }
+
+    private static Dsl dsl(CamelProjectGenerator.GeneratedFile file) {
+        String name = file.path().getFileName().toString();
+        if (name.endsWith(".java")) {
+            return Dsl.JAVA;
+        }
+        return name.endsWith(".xml") ? Dsl.XML : Dsl.YAML;
+    }
+
+    private static Parser parser(Dsl dsl) {
+        return switch (dsl) {
+            case JAVA -> JavaParser.fromJavaVersion().classpath(CAMEL_CLASSPATH).build();
+            case XML -> new XmlParser();
+            case YAML -> new YamlParser();
+        };
+    }
+}
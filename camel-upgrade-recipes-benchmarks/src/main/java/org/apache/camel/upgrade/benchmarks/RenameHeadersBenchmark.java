@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.benchmarks;
+
+import org.apache.camel.upgrade.camel418_3.RenameHeaders;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk {@link RenameHeaders} over Java, XML and YAML routes.
+ */
+public class RenameHeadersBenchmark extends AbstractRecipeBenchmark {
+
+    @Override
+    protected Recipe createRecipe() {
+        Map<String, String> mappings = new LinkedHashMap<>();
+        mappings.put("JGROUPS_CHANNEL_ADDRESS", "CamelJGroupsChannelAddress");
+        mappings.put("JGROUPS_DEST", "CamelJGroupsDest");
+        mappings.put("IssueAssigneeId", "CamelJiraIssueAssigneeId");
+        mappings.put("IssueAssignee", "CamelJiraIssueAssignee");
+        mappings.put("SHIRO_SECURITY_TOKEN", "CamelShiroSecurityToken");
+        mappings.put("GitHubPullRequest", "CamelGitHubPullRequest");
+        // unused mappings, the size of the table matters
+        for (int i = 0; i < 50; i++) {
+            mappings.put("component" + i + ".HEADER", "CamelComponent" + i + "Header");
+        }
+        return new RenameHeaders(mappings);
+    }
+
+    @Override
+    protected List<SourceFile> createSources(int files, ExecutionContext ctx) {
+        return Corpus.project(files, ctx);
+    }
+}
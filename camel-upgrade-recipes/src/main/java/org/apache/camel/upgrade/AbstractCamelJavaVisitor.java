@@ -16,37 +16,71 @@
  */
 package org.apache.camel.upgrade;
 
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.ChangeType;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
  * Parent of Camel xml visitors, catches any exception, logs it and then continues.
+ * Invocations and caught exceptions are counted and accumulated per recipe in {@link CamelRecipeMetrics}
+ * (see <i>RecipesUtil.newVisitor(visitor)</i>).
  * <p>
  * Every method <i>visit*</i> is marked as final and methods <i>doVisit*</i> are used instead.
  * </p>
  * <p>
  * Simple cache for methodMatchers is implemented here. Usage: call <i>MethodMatcher getMethodMatcher(String
- * signature)</i>.
+ * signature)</i>. Caches are shared by all visitors, they are lock-free for reads and bounded in size.
+ * </p>
+ * <p>
+ * Visitors with many method matchers should register them via <i>registerMethodHandler(signature, handler)</i> and
+ * call <i>dispatchMethodInvocation</i>, so most invocations are resolved by a single lookup of the method name.
  * </p>
  */
 public abstract class AbstractCamelJavaVisitor extends JavaIsoVisitor<ExecutionContext> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCamelJavaVisitor.class);
 
+    // timing and failures of this visitor, see CamelRecipeMetrics
+    private final VisitMetrics metrics = new VisitMetrics();
+
+    // handlers of method invocations indexed by the simple method name, see registerMethodHandler
+    private final Map<String, List<MethodHandler>> methodHandlers = new HashMap<>();
+
+    private static final int MAX_CACHED_METHOD_MATCHERS = 2048;
+    private static final int MAX_CACHED_PATTERNS = 1024;
+
     //There is no need to  initialize all patterns at the class start.
     //Map is a cache for created patterns
-    private static final Map<String, MethodMatcher> methodMatchers = new HashMap<>();
+    private static final BoundedCache<String, MethodMatcher> methodMatchers = new BoundedCache<>(MAX_CACHED_METHOD_MATCHERS);
 
     //cache for patterns
-    private static final Map<String, Pattern> patterns = new HashMap<>();
+    private static final BoundedCache<String, Pattern> patterns = new BoundedCache<>(MAX_CACHED_PATTERNS);
+
+    // keys of the after-visits already handled in the compilation unit (stored in the cursor of the unit)
+    private static final String AFTER_VISITS_MESSAGE = "camel-after-visits";
+
+    //statistics of the after-visit scheduling of this visitor
+    private long scheduledAfterVisits;
+    private long deduplicatedAfterVisits;
+    private long skippedAfterVisits;
 
     @Override
     public final J.Import visitImport(J.Import _import, ExecutionContext context) {
@@ -89,6 +123,11 @@ public abstract class AbstractCamelJavaVisitor extends JavaIsoVisitor<ExecutionC
         return executeVisitWithCatch(() -> doVisitLiteral(literal, context), literal, context);
     }
 
+    @Override
+    public final J.MemberReference visitMemberReference(J.MemberReference memberRef, ExecutionContext context) {
+        return executeVisitWithCatch(() -> doVisitMemberReference(memberRef, context), memberRef, context);
+    }
+
     //-------------------------------- internal methods used by children---------------------------------
 
     protected J.Import doVisitImport(J.Import _import, ExecutionContext context) {
@@ -123,45 +162,174 @@ public abstract class AbstractCamelJavaVisitor extends JavaIsoVisitor<ExecutionC
         return super.visitLiteral(literal, context);
     }
 
+    protected J.MemberReference doVisitMemberReference(J.MemberReference memberRef, ExecutionContext context) {
+        return super.visitMemberReference(memberRef, context);
+    }
+
     protected J.Lambda doVisitLambda(J.Lambda lambda, ExecutionContext context) {
         return super.visitLambda(lambda, context);
     }
 
     // ------------------------------------------ helper methods -------------------------------------------
 
+    VisitMetrics metrics() {
+        return metrics;
+    }
+
     // If the migration fails - do not fail whole migration process, only this one recipe
     protected <T extends J> T executeVisitWithCatch(Supplier<T> visitMethod, T origValue, ExecutionContext context) {
+        metrics.invocation();
         try {
             return visitMethod.get();
         } catch (Exception e) {
+            metrics.failure();
             LOGGER.warn(String.format("Internal error detected in %s, recipe is skipped.", getClass().getName()), e);
             return origValue;
         }
     }
 
-    protected MethodMatcher getMethodMatcher(String signature) {
-        synchronized (methodMatchers) {
-            MethodMatcher matcher = methodMatchers.get(signature);
+    /**
+     * Registers a handler of method invocations matching the signature (in the {@link MethodMatcher} format). Handlers
+     * are indexed by the simple method name and arity, so {@link #dispatchMethodInvocation} evaluates method matchers
+     * only of the handlers with the same name as the invoked method. Arity is not checked for signatures with
+     * wildcard, varargs or generic parameters.
+     */
+    protected void registerMethodHandler(String signature,
+                                         BiFunction<J.MethodInvocation, ExecutionContext, J.MethodInvocation> handler) {
+        int open = signature.indexOf('(');
+        String name = signature.substring(signature.lastIndexOf(' ', open) + 1, open).trim();
+        String parameters = signature.substring(open + 1, signature.lastIndexOf(')')).trim();
+        int arity;
+        if (parameters.contains("..") || parameters.contains("<")) {
+            arity = -1;
+        } else {
+            arity = parameters.isEmpty() ? 0 : parameters.split(",").length;
+        }
+        methodHandlers.computeIfAbsent(name, k -> new ArrayList<>(2))
+                .add(new MethodHandler(getMethodMatcher(signature), arity, handler));
+    }
 
-            if (matcher == null) {
-                matcher = new MethodMatcher(signature);
-                methodMatchers.put(signature, matcher);
+    /**
+     * Applies the registered handlers whose signature matches the invocation in the order of registration, until
+     * a handler changes the invocation. A handler returning the same invocation (e.g. because an argument does not
+     * match) passes it to the next matching handler.
+     *
+     * @return result of the first handler changing the invocation or the same invocation if there is no such handler
+     */
+    protected J.MethodInvocation dispatchMethodInvocation(J.MethodInvocation mi, ExecutionContext ctx) {
+        List<MethodHandler> handlers = methodHandlers.get(mi.getSimpleName());
+        if (handlers == null) {
+            return mi;
+        }
+        int arity = mi.getArguments().size() == 1 && mi.getArguments().get(0) instanceof J.Empty
+                ? 0 : mi.getArguments().size();
+        for (MethodHandler handler : handlers) {
+            if ((handler.arity() < 0 || handler.arity() == arity) && handler.matcher().matches(mi, false)) {
+                J.MethodInvocation result = handler.handler().apply(mi, ctx);
+                if (result != mi) {
+                    return result;
+                }
             }
+        }
+        return mi;
+    }
+
+    /**
+     * Schedules the visitor to run after this one at most once per compilation unit. Further calls with the same key
+     * are ignored, as well as the first one if the condition does not hold for the compilation unit.
+     */
+    protected void doAfterVisitOnce(String key, Predicate<J.CompilationUnit> condition,
+                                    Supplier<TreeVisitor<?, ExecutionContext>> visitor) {
+        Cursor cuCursor = getCursor();
+        while (cuCursor != null && !(cuCursor.getValue() instanceof J.CompilationUnit)) {
+            cuCursor = cuCursor.getParent();
+        }
+        if (cuCursor == null) {
+            // not visiting a compilation unit, nothing to deduplicate against
+            scheduledAfterVisits++;
+            doAfterVisit(visitor.get());
+            return;
+        }
 
-            return matcher;
+        Set<String> handled = cuCursor.computeMessageIfAbsent(AFTER_VISITS_MESSAGE, k -> new HashSet<>());
+        if (!handled.add(key)) {
+            deduplicatedAfterVisits++;
+        } else if (!condition.test(cuCursor.getValue())) {
+            skippedAfterVisits++;
+        } else {
+            scheduledAfterVisits++;
+            doAfterVisit(visitor.get());
         }
     }
 
-    protected Pattern getPattern(String pattern) {
-        synchronized (patterns) {
-            Pattern p = patterns.get(pattern);
+    /**
+     * Schedules {@link ChangeType} at most once per compilation unit and only if the old type is imported or used.
+     */
+    protected void doAfterVisitChangeType(String oldFullyQualifiedTypeName, String newFullyQualifiedTypeName) {
+        doAfterVisitOnce("ChangeType:" + oldFullyQualifiedTypeName + "->" + newFullyQualifiedTypeName,
+                cu -> isTypeUsed(cu, oldFullyQualifiedTypeName),
+                () -> new ChangeType(oldFullyQualifiedTypeName, newFullyQualifiedTypeName, true).getVisitor());
+    }
 
-            if (p == null) {
-                p = Pattern.compile(pattern);
-                patterns.put(pattern, p);
-            }
+    private record MethodHandler(MethodMatcher matcher, int arity,
+                                 BiFunction<J.MethodInvocation, ExecutionContext, J.MethodInvocation> handler) {
+    }
 
-            return p;
+    private static boolean isTypeUsed(J.CompilationUnit cu, String fullyQualifiedTypeName) {
+        for (J.Import im : cu.getImports()) {
+            if (fullyQualifiedTypeName.equals(im.getTypeName())) {
+                return true;
+            }
+        }
+        for (JavaType type : cu.getTypesInUse().getTypesInUse()) {
+            if (type instanceof JavaType.FullyQualified fq && fullyQualifiedTypeName.equals(fq.getFullyQualifiedName())) {
+                return true;
+            }
         }
+        return false;
+    }
+
+    protected MethodMatcher getMethodMatcher(String signature) {
+        return methodMatchers.get(signature, MethodMatcher::new);
+    }
+
+    protected Pattern getPattern(String pattern) {
+        return patterns.get(pattern, Pattern::compile);
+    }
+
+    /**
+     * Cache of method matchers shared by all java visitors (exposed for statistics).
+     */
+    public static BoundedCache<String, MethodMatcher> getMethodMatcherCache() {
+        return methodMatchers;
+    }
+
+    /**
+     * Cache of patterns shared by all java visitors (exposed for statistics).
+     */
+    public static BoundedCache<String, Pattern> getPatternCache() {
+        return patterns;
+    }
+
+    /**
+     * Number of after-visits scheduled by {@link #doAfterVisitOnce}.
+     */
+    public long getScheduledAfterVisits() {
+        return scheduledAfterVisits;
+    }
+
+    /**
+     * Number of after-visits ignored by {@link #doAfterVisitOnce}, because they were already handled in the same
+     * compilation unit.
+     */
+    public long getDeduplicatedAfterVisits() {
+        return deduplicatedAfterVisits;
+    }
+
+    /**
+     * Number of after-visits not scheduled by {@link #doAfterVisitOnce}, because their condition did not hold.
+     */
+    public long getSkippedAfterVisits() {
+        return skippedAfterVisits;
     }
 }
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+
+/**
+ * Base of the Camel recipes, owns the {@link CamelRecipeMetrics} table. The counters of the visitors created with
+ * {@link RecipesUtil#newVisitor(AbstractCamelJavaVisitor)} and its variants are accumulated per recipe during the run
+ * and written as a single row of the table once the run is complete.
+ */
+public abstract class AbstractCamelRecipe extends Recipe {
+
+    private final transient CamelRecipeMetrics metrics = new CamelRecipeMetrics(this);
+
+    @Override
+    public void onComplete(ExecutionContext ctx) {
+        metrics.flush(ctx, getName());
+        super.onComplete(ctx);
+    }
+}
@@ -16,39 +16,158 @@
  */
 package org.apache.camel.upgrade;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.xml.XPathMatcher;
 import org.openrewrite.xml.XmlIsoVisitor;
 import org.openrewrite.xml.tree.Xml;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
 /**
  * Parent of Camel xml visitors, catches any exception, logs it and then continues.
+ * Invocations and caught exceptions are counted and accumulated per recipe in {@link CamelRecipeMetrics}
+ * (see <i>RecipesUtil.newVisitor(visitor)</i>).
+ * <p>
+ * Names of the tags from the root to the currently visited tag are tracked while visiting, use
+ * <i>currentPath()</i>, <i>pathEquals(path)</i> or <i>pathEndsWith(suffix)</i> instead of walking the cursor.
+ * </p>
+ * <p>
+ * Visitors handling specific tags should register the handlers in their constructor via
+ * <i>registerTagHandler(xPath, handler)</i> and call <i>dispatchTag</i>. Handlers are indexed by the local name of
+ * the tag, so the xPath is evaluated only for tags with the expected name.
+ * </p>
  */
 public abstract class AbstractCamelXmlVisitor extends XmlIsoVisitor<ExecutionContext> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCamelXmlVisitor.class);
 
+    // timing and failures of this visitor, see CamelRecipeMetrics
+    private final VisitMetrics metrics = new VisitMetrics();
+
+    // names of the tags being visited, see currentPath(), shared with the fusing visitor, see dispatchTagOf
+    private PathStack path = new PathStack('/');
+
+    // handlers of tags indexed by the local name of the tag, see registerTagHandler
+    private final Map<String, List<TagHandler>> tagHandlers = new HashMap<>();
+
     @Override
     public final Xml.Tag visitTag(Xml.Tag tag, ExecutionContext executionContext) {
-        return executeVisitWithCatch(() -> doVisitTag(tag, executionContext), tag, executionContext);
+        path.push(tag.getName());
+        try {
+            return executeVisitWithCatch(() -> doVisitTag(tag, executionContext), tag, executionContext);
+        } finally {
+            path.pop();
+        }
     }
 
     //-------------------------------- internal methods used by children---------------------------------
 
+    /**
+     * @return names of the tags from the root to the currently visited tag joined by <i>/</i>
+     * (e.g. <i>routes/route/from</i>)
+     */
+    protected String currentPath() {
+        return path.path();
+    }
+
+    protected boolean pathEquals(String path) {
+        return this.path.equalsPath(path);
+    }
+
+    protected boolean pathEndsWith(String suffix) {
+        return path.endsWithPath(suffix);
+    }
+
+    /**
+     * Registers a handler of the tags matching the xPath. The tag name is taken from the last step of the xPath
+     * (e.g. <i>from</i> for <i>//route/from</i>).
+     */
+    protected void registerTagHandler(String xPath, BiFunction<Xml.Tag, ExecutionContext, Xml.@Nullable Tag> handler) {
+        registerTagHandler(lastStepName(xPath), new XPathMatcher(xPath), handler);
+    }
+
+    /**
+     * Registers a handler of the tags with the local name, optionally restricted by the xPath matcher.
+     * Handlers are evaluated by <i>dispatchTag</i> in the order of registration, the first matching handler is applied.
+     */
+    protected void registerTagHandler(String localName, @Nullable XPathMatcher matcher,
+                                      BiFunction<Xml.Tag, ExecutionContext, Xml.@Nullable Tag> handler) {
+        tagHandlers.computeIfAbsent(localName, k -> new ArrayList<>()).add(new TagHandler(matcher, handler));
+    }
+
+    /**
+     * Applies the first registered handler matching the currently visited tag.
+     * Only handlers registered for the local name of the tag are evaluated.
+     */
+    protected Xml.@Nullable Tag dispatchTag(Xml.@Nullable Tag tag, ExecutionContext executionContext) {
+        if (tag == null || tagHandlers.isEmpty()) {
+            return tag;
+        }
+        List<TagHandler> handlers = tagHandlers.get(localName(tag.getName()));
+        if (handlers != null) {
+            for (TagHandler handler : handlers) {
+                if (handler.matcher() == null || handler.matcher().matches(getCursor())) {
+                    return handler.handler().apply(tag, executionContext);
+                }
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * Applies the handlers of this visitor to the tag currently visited by the fusing visitor, failures are caught
+     * and reported for this visitor only. See {@link FusedXmlDslRecipe}.
+     */
+    Xml.@Nullable Tag dispatchTagOf(AbstractCamelXmlVisitor fusingVisitor, Xml.Tag tag, ExecutionContext executionContext) {
+        setCursor(fusingVisitor.getCursor());
+        path = fusingVisitor.path;
+        return executeVisitWithCatch(() -> dispatchTag(tag, executionContext), tag, executionContext);
+    }
+
+    VisitMetrics metrics() {
+        return metrics;
+    }
+
+    private static String localName(String name) {
+        return name.substring(name.indexOf(':') + 1);
+    }
+
+    private static String lastStepName(String xPath) {
+        String step = xPath.substring(xPath.lastIndexOf('/') + 1);
+        int predicate = step.indexOf('[');
+        String name = localName(predicate < 0 ? step : step.substring(0, predicate));
+        if (name.isEmpty() || "*".equals(name) || name.startsWith("@") || name.contains("(")) {
+            throw new IllegalArgumentException("The last step of the xPath is not a tag name: " + xPath
+                    + ", register the handler with the tag name.");
+        }
+        return name;
+    }
+
     public Xml.Tag doVisitTag(Xml.Tag tag, ExecutionContext executionContext) {
         return super.visitTag(tag, executionContext);
     }
 
     // If the migration fails - do not fail whole migration process, only this one recipe
     protected <T extends Xml> T executeVisitWithCatch(Supplier<T> visitMethod, T origValue, ExecutionContext context) {
+        metrics.invocation();
         try {
             return visitMethod.get();
         } catch (Exception e) {
+            metrics.failure();
             LOGGER.warn(String.format("Internal error detected in %s, recipe is skipped.", getClass().getName()), e);
             return origValue;
         }
     }
 
+    private record TagHandler(@Nullable XPathMatcher matcher,
+                              BiFunction<Xml.Tag, ExecutionContext, Xml.@Nullable Tag> handler) {
+    }
+
 }
@@ -16,35 +16,90 @@
  */
 package org.apache.camel.upgrade;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.yaml.YamlIsoVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * Parent of Camel yaml visitors, catches any exception, logs it and then continues.
+ * Invocations and caught exceptions are counted and accumulated per recipe in {@link CamelRecipeMetrics}
+ * (see <i>RecipesUtil.newVisitor(visitor)</i>).
+ * <p>
+ * Keys of the entries from the document root to the currently visited node are tracked while visiting, use
+ * <i>currentPath()</i>, <i>pathEquals(path)</i> or <i>pathEndsWith(suffix)</i> instead of walking the cursor.
+ * </p>
+ * <p>
+ * Visitors handling specific entries should register the handlers in their constructor via
+ * <i>registerKeyHandler(path, handler)</i> and call <i>dispatchMappingEntry</i>, so the path is evaluated only for
+ * entries with the expected key.
+ * </p>
+ * <p>
+ * Changes of the document structure, which can not be done on the visited entry (e.g. moving entries into another
+ * mapping), should be scheduled via <i>scheduleEntryChange</i>. Scheduled changes are applied in one pass after the
+ * traversal, followed by a single re-indent of the document (see also <i>requestReindent()</i>).
+ * </p>
  */
 public abstract class AbstractCamelYamlVisitor extends YamlIsoVisitor<ExecutionContext> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCamelYamlVisitor.class);
 
+    // timing and failures of this visitor, see CamelRecipeMetrics
+    private final VisitMetrics metrics = new VisitMetrics();
+
+    // keys of the entries being visited, see currentPath(), provided by the fusing visitor, see dispatchMappingEntryOf
+    private PathStack path = new PathStack('.');
+
+    // handlers of mapping entries indexed by the last key of their path, see registerKeyHandler
+    private final Map<String, List<KeyHandler>> keyHandlers = new HashMap<>();
+
+    // handlers of mapping entries with any key, see registerEntryHandler
+    private final List<BiFunction<Yaml.Mapping.Entry, ExecutionContext, Yaml.Mapping.@Nullable Entry>> entryHandlers = new ArrayList<>();
+
+    // structural changes of the visited source file, shared with the fusing visitor, see dispatchMappingEntryOf
+    private YamlStructuralChanges structuralChanges = new YamlStructuralChanges();
+
     /**
      * Method is called before start of visiting a new document. Implementations might need to clear all local state
      * from previous document.
      */
     protected abstract void clearLocalCache();
 
+    @Override
+    public Yaml.Documents visitDocuments(Yaml.Documents documents, ExecutionContext executionContext) {
+        Yaml.Documents result = super.visitDocuments(documents, executionContext);
+        if (!structuralChanges.isEmpty()) {
+            Yaml.Documents visited = result;
+            result = executeVisitWithCatch(() -> structuralChanges.apply(visited, executionContext), visited, executionContext);
+        }
+        return result;
+    }
+
     @Override
     public final Yaml.Document visitDocument(Yaml.Document document, ExecutionContext o) {
         clearLocalCache();
+        clearKeys();
+        structuralChanges.startDocument(document.getId());
         return super.visitDocument(document, o);
     }
 
     @Override
     public final Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext executionContext) {
-        return executeVisitWithCatch(() -> doVisitMappingEntry(entry, executionContext), entry, executionContext);
+        enterKey(entry.getKey().getValue());
+        try {
+            return executeVisitWithCatch(() -> doVisitMappingEntry(entry, executionContext), entry, executionContext);
+        } finally {
+            exitKey();
+        }
     }
 
     @Override
@@ -59,6 +114,117 @@ public abstract class AbstractCamelYamlVisitor extends YamlIsoVisitor<ExecutionC
 
     //-------------------------------- internal methods used by children---------------------------------
 
+    /**
+     * @return keys of the entries from the document root to the currently visited node joined by <i>.</i>
+     * (e.g. <i>route.from.steps</i>), sequences are skipped
+     */
+    protected String currentPath() {
+        return path.path();
+    }
+
+    protected boolean pathEquals(String dottedPath) {
+        return path.equalsPath(dottedPath);
+    }
+
+    protected boolean pathEndsWith(String dottedSuffix) {
+        return path.endsWithPath(dottedSuffix);
+    }
+
+    /**
+     * Registers a handler of the mapping entries matching the key path. The path is a subset of JsonPath: keys
+     * separated by <i>.</i> (child) or <i>..</i> (descendant), optionally anchored by <i>$</i>
+     * (e.g. <i>$..route..steps.transform</i>). Handlers are evaluated by <i>dispatchMappingEntry</i> in the order
+     * of registration, the first matching handler is applied.
+     */
+    protected void registerKeyHandler(String keyPath,
+                                      BiFunction<Yaml.Mapping.Entry, ExecutionContext, Yaml.Mapping.@Nullable Entry> handler) {
+        KeyPath parsed = KeyPath.parse(keyPath);
+        keyHandlers.computeIfAbsent(parsed.lastKey(), k -> new ArrayList<>()).add(new KeyHandler(parsed, handler));
+    }
+
+    /**
+     * Registers a handler of all mapping entries, regardless of the key. Such handlers are evaluated only if no
+     * handler registered for the key of the entry matches, all of them are applied in the order of registration.
+     */
+    protected void registerEntryHandler(BiFunction<Yaml.Mapping.Entry, ExecutionContext, Yaml.Mapping.@Nullable Entry> handler) {
+        entryHandlers.add(handler);
+    }
+
+    /**
+     * Applies the first registered handler whose key path matches the currently visited entry.
+     * Only handlers registered for the key of the entry are evaluated. If none of them matches, all handlers
+     * of any key are applied.
+     */
+    protected Yaml.Mapping.@Nullable Entry dispatchMappingEntry(Yaml.Mapping.@Nullable Entry entry, ExecutionContext executionContext) {
+        if (entry == null || (keyHandlers.isEmpty() && entryHandlers.isEmpty())) {
+            return entry;
+        }
+        List<KeyHandler> handlers = keyHandlers.get(entry.getKey().getValue());
+        if (handlers != null) {
+            for (KeyHandler handler : handlers) {
+                if (handler.path().matches(path)) {
+                    return handler.handler().apply(entry, executionContext);
+                }
+            }
+        }
+        Yaml.Mapping.@Nullable Entry e = entry;
+        for (int i = 0; i < entryHandlers.size() && e != null; i++) {
+            e = entryHandlers.get(i).apply(e, executionContext);
+        }
+        return e;
+    }
+
+    /**
+     * Schedules a change of the first entry matching any of the key paths (see <i>registerKeyHandler</i>) in the
+     * currently visited document. The change is applied after the traversal of the whole source file,
+     * the document is re-indented afterwards.
+     */
+    protected void scheduleEntryChange(UnaryOperator<Yaml.Mapping.Entry> change, String... keyPaths) {
+        List<KeyPath> paths = new ArrayList<>(keyPaths.length);
+        for (String keyPath : keyPaths) {
+            paths.add(KeyPath.parse(keyPath));
+        }
+        structuralChanges.scheduleEntryChange(paths, change);
+    }
+
+    /**
+     * Requests re-indent of the source file (with 2 spaces) after the traversal. The source file is re-indented
+     * at most once, regardless the number of requests.
+     */
+    protected void requestReindent() {
+        structuralChanges.requestReindent();
+    }
+
+    /**
+     * Applies the handlers of this visitor to the entry currently visited by the fusing visitor, failures are caught
+     * and reported for this visitor only. See {@link FusedYamlDslRecipe}.
+     *
+     * @param keys keys of the visited entries as seen by this visitor
+     */
+    Yaml.Mapping.@Nullable Entry dispatchMappingEntryOf(AbstractCamelYamlVisitor fusingVisitor, PathStack keys,
+                                                      Yaml.Mapping.Entry entry, ExecutionContext executionContext) {
+        setCursor(fusingVisitor.getCursor());
+        path = keys;
+        structuralChanges = fusingVisitor.structuralChanges;
+        return executeVisitWithCatch(() -> dispatchMappingEntry(entry, executionContext), entry, executionContext);
+    }
+
+    void enterKey(String key) {
+        path.push(key);
+    }
+
+    void exitKey() {
+        path.pop();
+    }
+
+    void clearKeys() {
+        path.clear();
+    }
+
+    VisitMetrics metrics() {
+        return metrics;
+    }
+
     public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext executionContext) {
         return super.visitMappingEntry(entry, executionContext);
     }
@@ -73,12 +239,18 @@ public abstract class AbstractCamelYamlVisitor extends YamlIsoVisitor<ExecutionC
 
     // If the migration fails - do not fail whole migration process, only this one recipe
     protected <T extends Yaml> T executeVisitWithCatch(Supplier<T> visitMethod, T origValue, ExecutionContext context) {
+        metrics.invocation();
         try {
             return visitMethod.get();
         } catch (Exception e) {
+            metrics.failure();
             LOGGER.warn(String.format("Internal error detected in %s, recipe is skipped.", getClass().getName()), e);
             return origValue;
         }
     }
 
+    private record KeyHandler(KeyPath path,
+                              BiFunction<Yaml.Mapping.Entry, ExecutionContext, Yaml.Mapping.@Nullable Entry> handler) {
+    }
+
 }
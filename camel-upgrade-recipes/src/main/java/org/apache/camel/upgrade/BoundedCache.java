@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Concurrent cache with an upper bound on its size, used to share compiled artifacts (method matchers, patterns, ...)
+ * between visitors.
+ * <p>
+ * Reads are lock-free, a hit only marks the entry as referenced. When the size limit is exceeded on a miss, an entry
+ * is evicted with the CLOCK algorithm, which approximates LRU: the eviction hand walks over the entries, clears the
+ * reference mark of the referenced ones (second chance) and evicts the first entry not referenced since the last pass.
+ * Only the miss path takes the eviction lock.
+ * The loader is called outside of the lock, so two threads missing the same key may both compute the value, the first
+ * one stored wins. Values are expected to be cheap enough to be recreated on the next miss.
+ * </p>
+ */
+public final class BoundedCache<K, V> {
+
+    private final ConcurrentHashMap<K, Node<V>> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    // position of the eviction hand, guarded by evictionLock
+    private final Object evictionLock = new Object();
+    private @Nullable Iterator<Map.Entry<K, Node<V>>> hand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximal size of the cache has to be positive, but was " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Node<V> node = values.get(key);
+        if (node != null) {
+            // avoid a write of the shared mark, if already set
+            if (!node.referenced) {
+                node.referenced = true;
+            }
+            hits.increment();
+            return node.value;
+        }
+
+        misses.increment();
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            return null;
+        }
+        Node<V> previous = values.putIfAbsent(key, new Node<>(loaded));
+        if (previous != null) {
+            return previous.value;
+        }
+        if (values.size() > maxSize) {
+            evict(key);
+        }
+        return loaded;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BoundedCache[size=%d, maxSize=%d, hits=%d, misses=%d, evictions=%d]",
+                size(), maxSize, getHits(), getMisses(), getEvictions());
+    }
+
+    /**
+     * Evicts entries until the size limit is met, the entry just added is never evicted.
+     */
+    private void evict(K added) {
+        synchronized (evictionLock) {
+            while (values.size() > maxSize) {
+                if (hand == null || !hand.hasNext()) {
+                    hand = values.entrySet().iterator();
+                }
+                Map.Entry<K, Node<V>> entry = hand.next();
+                Node<V> node = entry.getValue();
+                if (entry.getKey().equals(added)) {
+                    continue;
+                }
+                if (node.referenced) {
+                    node.referenced = false;
+                } else if (values.remove(entry.getKey(), node)) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        // set by a hit, cleared by the eviction hand
+        private volatile boolean referenced;
+
+        private Node(V value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.Parent;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.xml.tree.Xml;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Camel version a project is built with, read from the build files.
+ * <p>
+ * For Maven, the effective versions of the direct Camel dependencies (so versions coming from a property,
+ * the camel-bom or a parent are all resolved), the <i>camel.version</i> property and a Camel parent are used.
+ * For Gradle, the build scripts, <i>gradle.properties</i> and the version catalog are searched for Camel coordinates
+ * and <i>camel(.)version</i> variables. If a build file refers to several Camel versions, the lowest one is used.
+ * Each build file is read once per execution (see {@link SourceFileCache}).
+ * </p>
+ */
+public record CamelProjectVersion(int major, int minor, int patch) implements Comparable<CamelProjectVersion> {
+
+    private static final String CACHE_MESSAGE = "org.apache.camel.upgrade.CamelProjectVersion";
+
+    private static final Pattern VERSION = Pattern.compile("(\\d+)\\.(\\d+)(?:\\.(\\d+))?.*");
+    private static final Pattern GRADLE_COORDINATES =
+            Pattern.compile("org\\.apache\\.camel(?:\\.springboot)?:camel-[\\w.-]+:(\\d+\\.\\d+(?:\\.\\d+)?)");
+    private static final Pattern GRADLE_VERSION_VARIABLE =
+            Pattern.compile("\\bcamel(?:[.\\-_]?[vV]ersion)?\\s*[=:]\\s*[\"']?(\\d+\\.\\d+(?:\\.\\d+)?)");
+
+    /**
+     * @return version or null, if the value is not a version
+     */
+    public static @Nullable CamelProjectVersion parse(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        Matcher matcher = VERSION.matcher(value.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new CamelProjectVersion(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+                matcher.group(3) == null ? 0 : Integer.parseInt(matcher.group(3)));
+    }
+
+    /**
+     * @return lowest Camel version referenced by the build file or null, if the source file is not a build file or
+     * does not refer to Camel
+     */
+    public static @Nullable CamelProjectVersion of(SourceFile sourceFile, ExecutionContext ctx) {
+        if (sourceFile instanceof Xml.Document) {
+            Optional<MavenResolutionResult> maven = sourceFile.getMarkers().findFirst(MavenResolutionResult.class);
+            if (maven.isEmpty()) {
+                return null;
+            }
+            return SourceFileCache.computeIfAbsent(CACHE_MESSAGE, sourceFile, ctx, s -> ofMaven(maven.get()));
+        }
+        if (isGradleBuildFile(sourceFile)) {
+            return SourceFileCache.computeIfAbsent(CACHE_MESSAGE, sourceFile, ctx, s -> ofGradle(s.printAll()));
+        }
+        return null;
+    }
+
+    public static @Nullable CamelProjectVersion lowest(@Nullable CamelProjectVersion v1, @Nullable CamelProjectVersion v2) {
+        if (v1 == null) {
+            return v2;
+        }
+        return v2 == null || v1.compareTo(v2) <= 0 ? v1 : v2;
+    }
+
+    @Override
+    public int compareTo(CamelProjectVersion o) {
+        if (major != o.major) {
+            return Integer.compare(major, o.major);
+        }
+        if (minor != o.minor) {
+            return Integer.compare(minor, o.minor);
+        }
+        return Integer.compare(patch, o.patch);
+    }
+
+    @Override
+    public String toString() {
+        return major + "." + minor + "." + patch;
+    }
+
+    private static @Nullable CamelProjectVersion ofMaven(MavenResolutionResult maven) {
+        CamelProjectVersion lowest = parse(maven.getPom().getProperties().get("camel.version"));
+        Parent parent = maven.getPom().getRequested().getParent();
+        if (parent != null && isCamelGroup(parent.getGroupId())) {
+            lowest = lowest(lowest, parse(parent.getVersion()));
+        }
+        for (List<ResolvedDependency> dependencies : maven.getDependencies().values()) {
+            for (ResolvedDependency dependency : dependencies) {
+                if (dependency.getDepth() == 0 && isCamelGroup(dependency.getGroupId())) {
+                    lowest = lowest(lowest, parse(dependency.getVersion()));
+                }
+            }
+        }
+        return lowest;
+    }
+
+    private static @Nullable CamelProjectVersion ofGradle(String content) {
+        CamelProjectVersion lowest = null;
+        for (Pattern pattern : new Pattern[] { GRADLE_COORDINATES, GRADLE_VERSION_VARIABLE }) {
+            Matcher matcher = pattern.matcher(content);
+            while (matcher.find()) {
+                lowest = lowest(lowest, parse(matcher.group(1)));
+            }
+        }
+        return lowest;
+    }
+
+    private static boolean isGradleBuildFile(SourceFile sourceFile) {
+        String path = sourceFile.getSourcePath().toString().replace('\\', '/');
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        return fileName.endsWith(".gradle") || fileName.endsWith(".gradle.kts") || fileName.equals("gradle.properties")
+               || fileName.endsWith(".versions.toml");
+    }
+
+    // camel-spring-boot is released with the same versions as camel
+    private static boolean isCamelGroup(@Nullable String groupId) {
+        return "org.apache.camel".equals(groupId) || "org.apache.camel.springboot".equals(groupId);
+    }
+}
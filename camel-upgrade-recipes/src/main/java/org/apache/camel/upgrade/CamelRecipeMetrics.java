@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wall time, number of visits and swallowed exceptions of the Camel visitors, one row per recipe.
+ * <p>
+ * The visitors created with {@link RecipesUtil#newVisitor(AbstractCamelJavaVisitor)} and its variants add their
+ * counters to totals kept in the execution context under the name of the recipe declaring them. Each
+ * {@link AbstractCamelRecipe} writes its totals into its table when the run is complete, so the table holds
+ * a single row per recipe whatever the number of source files and cycles.
+ * </p>
+ */
+public class CamelRecipeMetrics extends DataTable<CamelRecipeMetrics.Row> {
+
+    private static final String TOTALS = CamelRecipeMetrics.class.getName() + ".totals";
+
+    public CamelRecipeMetrics(Recipe recipe) {
+        super(recipe,
+                "Camel recipe metrics",
+                "Wall time, visit invocations and swallowed exceptions of Camel recipes for the whole run.");
+    }
+
+    /**
+     * Adds the counters of one source file visit to the totals of the recipe.
+     */
+    static void record(ExecutionContext ctx, String recipe, SourceFile sourceFile, long invocations, long failures,
+                       long elapsedNanos) {
+        if (invocations == 0) {
+            return;
+        }
+        Map<String, Totals> totals = ctx.computeMessageIfAbsent(TOTALS, k -> new ConcurrentHashMap<>());
+        totals.computeIfAbsent(recipe, k -> new Totals()).add(sourceFile.getSourcePath(), invocations, failures, elapsedNanos);
+    }
+
+    /**
+     * Writes the totals of the recipe, they are removed so that the row is written only once even when
+     * the recipe appears several times in the run.
+     */
+    void flush(ExecutionContext ctx, String recipe) {
+        Map<String, Totals> totals = ctx.getMessage(TOTALS);
+        Totals recipeTotals = totals == null ? null : totals.remove(recipe);
+        if (recipeTotals != null) {
+            insertRow(ctx, new Row(recipe, recipeTotals.sourceFiles.size(), recipeTotals.invocations.sum(),
+                    recipeTotals.failures.sum(), TimeUnit.NANOSECONDS.toMicros(recipeTotals.elapsedNanos.sum())));
+        }
+    }
+
+    /**
+     * The rows are written after the last cycle, the default only accepts rows of the first cycle.
+     */
+    @Override
+    protected boolean allowWritingInThisCycle(ExecutionContext ctx) {
+        return true;
+    }
+
+    private static final class Totals {
+        private final Set<Path> sourceFiles = ConcurrentHashMap.newKeySet();
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder elapsedNanos = new LongAdder();
+
+        void add(Path sourcePath, long invocations, long failures, long elapsedNanos) {
+            this.sourceFiles.add(sourcePath);
+            this.invocations.add(invocations);
+            this.failures.add(failures);
+            this.elapsedNanos.add(elapsedNanos);
+        }
+    }
+
+    public static class Row {
+        @Column(displayName = "Recipe",
+                description = "The name of the recipe owning the visitors.")
+        private final String recipe;
+
+        @Column(displayName = "Source files",
+                description = "Number of source files in which the recipe executed at least one visit method.")
+        private final int sourceFiles;
+
+        @Column(displayName = "Invocations",
+                description = "Number of visit methods executed by the recipe.")
+        private final long invocations;
+
+        @Column(displayName = "Failures",
+                description = "Number of exceptions caught and logged, the tree was left unchanged for each of them.")
+        private final long failures;
+
+        @Column(displayName = "Wall time (µs)",
+                description = "Wall time spent by the recipe in all source files, nested visits are not counted twice.")
+        private final long wallTimeMicros;
+
+        public Row(String recipe, int sourceFiles, long invocations, long failures, long wallTimeMicros) {
+            this.recipe = recipe;
+            this.sourceFiles = sourceFiles;
+            this.invocations = invocations;
+            this.failures = failures;
+            this.wallTimeMicros = wallTimeMicros;
+        }
+
+        public String getRecipe() {
+            return recipe;
+        }
+
+        public int getSourceFiles() {
+            return sourceFiles;
+        }
+
+        public long getInvocations() {
+            return invocations;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getWallTimeMicros() {
+            return wallTimeMicros;
+        }
+    }
+}
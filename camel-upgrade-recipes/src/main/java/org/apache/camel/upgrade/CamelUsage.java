@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Index of the Camel usage of a Java source file: referenced types and packages, invoked Camel methods and string
+ * literals which look like endpoint uris.
+ * <p>
+ * The index is computed on the first request and shared by the preconditions of all recipes of the execution
+ * (see {@link RecipesUtil#newVisitor(AbstractCamelJavaVisitor)}), so the source file is scanned once instead of once
+ * per recipe (see {@link SourceFileCache}).
+ * </p>
+ */
+public final class CamelUsage {
+
+    private static final String CACHE_MESSAGE = "org.apache.camel.upgrade.CamelUsage";
+    private static final String CAMEL_PACKAGE = "org.apache.camel";
+
+    private final Set<String> types = new HashSet<>();
+    private final Set<String> packages = new HashSet<>();
+    private final Set<String> methods = new HashSet<>();
+    private final Set<String> methodNames = new HashSet<>();
+    private final Set<String> endpointUris = new HashSet<>();
+    private final Set<String> endpointSchemes = new HashSet<>();
+    private final boolean camel;
+
+    private CamelUsage(JavaSourceFile sourceFile) {
+        for (JavaType type : sourceFile.getTypesInUse().getTypesInUse()) {
+            addType(TypeUtils.asFullyQualified(type));
+        }
+        for (JavaType.Method method : sourceFile.getTypesInUse().getUsedMethods()) {
+            JavaType.FullyQualified declaringType = method.getDeclaringType();
+            addType(declaringType);
+            methodNames.add(method.getName());
+            if (isCamelPackage(declaringType.getPackageName())) {
+                methods.add(declaringType.getFullyQualifiedName() + "#" + method.getName());
+            }
+        }
+        for (JavaType.Method method : sourceFile.getTypesInUse().getDeclaredMethods()) {
+            methodNames.add(method.getName());
+        }
+        // imports are indexed as well, to match sources with missing type attribution
+        for (J.Import anImport : sourceFile.getImports()) {
+            packages.add(anImport.getPackageName());
+            // the type of a static import is named also by a wildcard import of its members
+            if (anImport.isStatic() || !"*".equals(anImport.getQualid().getSimpleName())) {
+                types.add(anImport.getTypeName());
+            }
+            // statically imported members may be methods, even if not invoked
+            if (anImport.isStatic() && !"*".equals(anImport.getQualid().getSimpleName())) {
+                methodNames.add(anImport.getQualid().getSimpleName());
+            }
+        }
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.Literal visitLiteral(J.Literal literal, Integer p) {
+                if (literal.getValue() instanceof String) {
+                    addEndpointUri((String) literal.getValue());
+                }
+                return literal;
+            }
+        }.visit(sourceFile, 0);
+
+        camel = packages.stream().anyMatch(CamelUsage::isCamelPackage);
+    }
+
+    /**
+     * @return index of the source file, computed on the first request in the execution
+     */
+    public static CamelUsage of(JavaSourceFile sourceFile, ExecutionContext ctx) {
+        return SourceFileCache.computeIfAbsent(CACHE_MESSAGE, sourceFile, ctx, CamelUsage::new);
+    }
+
+    /**
+     * @return true if any type of the package <i>org.apache.camel</i> or its subpackages is used
+     */
+    public boolean usesCamel() {
+        return camel;
+    }
+
+    /**
+     * Same semantics as {@link org.openrewrite.java.search.UsesType}: the pattern is either a fully qualified type name,
+     * <i>package.*</i> for types of the package or <i>package..*</i> for types of the package and its subpackages.
+     */
+    public boolean usesType(String typePattern) {
+        if (typePattern.endsWith("..*")) {
+            String packageName = typePattern.substring(0, typePattern.length() - 3);
+            return packages.stream().anyMatch(p -> p.equals(packageName) || p.startsWith(packageName + "."));
+        }
+        if (typePattern.endsWith(".*")) {
+            return packages.contains(typePattern.substring(0, typePattern.length() - 2));
+        }
+        return types.contains(typePattern);
+    }
+
+    public boolean usesMethod(String declaringType, String methodName) {
+        return methods.contains(declaringType + "#" + methodName);
+    }
+
+    /**
+     * @return true if a method with any of the names is invoked, declared or statically imported, regardless of its
+     * declaring type
+     */
+    public boolean usesAnyMethodName(Collection<String> names) {
+        for (String name : names) {
+            if (methodNames.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean usesEndpoint(String scheme) {
+        return endpointSchemes.contains(scheme);
+    }
+
+    public boolean usesAnyEndpoint(Collection<String> schemes) {
+        for (String scheme : schemes) {
+            if (endpointSchemes.contains(scheme)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<String> getEndpointUris() {
+        return Collections.unmodifiableSet(endpointUris);
+    }
+
+    private void addType(JavaType.@Nullable FullyQualified type) {
+        if (type != null) {
+            types.add(type.getFullyQualifiedName());
+            packages.add(type.getPackageName());
+        }
+    }
+
+    private void addEndpointUri(String value) {
+        int colon = value.indexOf(':');
+        if (colon <= 0) {
+            return;
+        }
+        for (int i = 0; i < colon; i++) {
+            char c = value.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_' && c != '+' && c != '.') {
+                return;
+            }
+        }
+        endpointUris.add(value);
+        endpointSchemes.add(value.substring(0, colon));
+    }
+
+    private static boolean isCamelPackage(String packageName) {
+        return packageName.equals(CAMEL_PACKAGE) || packageName.startsWith(CAMEL_PACKAGE + ".");
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.marker.SearchResult;
+
+/**
+ * Precondition of a version migration step, the step is applied only if the project is built with a Camel version
+ * lower than the target version of the step.
+ * <p>
+ * The build files are scanned first (see {@link CamelProjectVersion}), if several modules use different Camel
+ * versions, the lowest one is used. If no Camel version is found (e.g. a version managed outside of the project),
+ * the step is always applied.
+ * </p>
+ * Example usage in YAML:
+ * <pre>
+ * preconditions:
+ *   - org.apache.camel.upgrade.CamelVersionBelow:
+ *       version: 4.18.0
+ * </pre>
+ */
+public class CamelVersionBelow extends ScanningRecipe<CamelVersionBelow.Accumulator> {
+
+    @Option(displayName = "Version",
+            description = "Target Camel version of the migration step.",
+            example = "4.18.0")
+    String version;
+
+    public CamelVersionBelow() {
+    }
+
+    public CamelVersionBelow(String version) {
+        this.version = version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Camel version is lower than the target version";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Matches all source files if the project is built with a Camel version lower than the given one, or if the version is unknown.";
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        return scanner(acc);
+    }
+
+    /**
+     * @return scanner adding the Camel versions of the build files to the accumulator
+     */
+    static TreeVisitor<?, ExecutionContext> scanner(Accumulator acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof SourceFile) {
+                    acc.add(CamelProjectVersion.of((SourceFile) tree, ctx));
+                }
+                return tree;
+            }
+        };
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        boolean applicable = acc.isBelow(version);
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                return applicable && tree instanceof SourceFile ? SearchResult.found(tree) : tree;
+            }
+        };
+    }
+
+    public static class Accumulator {
+        private @Nullable CamelProjectVersion lowest;
+
+        synchronized void add(@Nullable CamelProjectVersion version) {
+            lowest = CamelProjectVersion.lowest(lowest, version);
+        }
+
+        /**
+         * @return true if the project uses a lower Camel version than the given one, or if one of the versions
+         * is unknown
+         */
+        synchronized boolean isBelow(@Nullable String version) {
+            CamelProjectVersion target = CamelProjectVersion.parse(version);
+            return target == null || lowest == null || lowest.compareTo(target) < 0;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+/**
+ * Recipe whose whole transformation is done by the tag handlers of one {@link AbstractCamelXmlVisitor}
+ * (see <i>registerTagHandler</i>). Such recipes are applied by {@link FusedXmlDslRecipe} in a single traversal
+ * together with the other XML DSL recipes.
+ */
+public interface CamelXmlTagRecipe {
+
+    /**
+     * @return new visitor with registered tag handlers, which dispatches each visited tag to them
+     */
+    AbstractCamelXmlVisitor getTagVisitor();
+
+    /**
+     * Declares whether the tag handlers read or change the children of the matched tags (e.g. move child elements
+     * into attributes, or pass values of removed children to their parent). The fused traversal visits the children
+     * before their parent, so such a recipe is the last one of its traversal, the following recipes are applied by
+     * another traversal. Handlers changing only the name and the attributes of the matched tag return false.
+     *
+     * @return true if the handlers read or change the children of the matched tags
+     */
+    default boolean inspectsChildren() {
+        return true;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Recipe whose whole transformation is done by the entry handlers of one {@link AbstractCamelYamlVisitor}
+ * (see <i>registerKeyHandler</i>), structural changes are scheduled via <i>scheduleEntryChange</i>. Such recipes are
+ * applied by {@link FusedYamlDslRecipe} in a single traversal together with the other YAML DSL recipes.
+ */
+public interface CamelYamlEntryRecipe {
+
+    /**
+     * @return new visitor with registered entry handlers, which dispatches each visited entry to them
+     */
+    AbstractCamelYamlVisitor getEntryVisitor();
+
+    /**
+     * Declares that the entry handlers rename keys regardless of their position (e.g. kebab-case to camelCase).
+     * When fused with other recipes, the following recipes evaluate their key paths against the renamed ancestor
+     * keys, the same way as if this recipe was applied in a separate pass before them.
+     *
+     * @return renamer of the keys, or null if keys are not renamed
+     */
+    default @Nullable UnaryOperator<String> getKeyRenamer() {
+        return null;
+    }
+
+    /**
+     * Declares whether the entry handlers read or change the children of the matched entries (e.g. check a child
+     * entry, or move the children elsewhere), or change the document structure via <i>scheduleEntryChange</i> or
+     * <i>requestReindent</i>. The fused traversal visits the children before their parent and applies the structural
+     * changes after the traversal, so such a recipe is the last one of its traversal, the following recipes are
+     * applied by another traversal. Handlers changing only the key and the scalar value of the matched entry
+     * return false.
+     *
+     * @return true if the handlers read or change the children of the matched entries or the document structure
+     */
+    default boolean inspectsChildren() {
+        return true;
+    }
+
+    /**
+     * Declares whether the entry handlers read the parent or the sibling entries of the matched entries via the
+     * cursor. The fused traversal provides them unchanged by the preceding recipes, so such a recipe is the first one
+     * of its traversal. The keys of the ancestors are covered by <i>getKeyRenamer()</i>.
+     *
+     * @return true if the handlers read the parent or the siblings of the matched entries
+     */
+    default boolean inspectsParent() {
+        return true;
+    }
+}
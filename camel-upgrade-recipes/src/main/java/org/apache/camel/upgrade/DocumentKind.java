@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.xml.tree.Xml;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.regex.Pattern;
+
+/**
+ * Classification of yaml and xml sources.
+ * <p>
+ * Each source file is classified once per execution (see {@link SourceFileCache}), the preconditions of the yaml
+ * and xml recipes (e.g. {@link RecipesUtil#camelYamlDslPrecondition()}) are then only a lookup of the kind.
+ * Spring and Blueprint xml files with Camel content are classified as {@link #CAMEL_XML}, because they are migrated
+ * by the Camel xml recipes.
+ * </p>
+ */
+public enum DocumentKind {
+    CAMEL_YAML_DSL,
+    APPLICATION_CONFIG,
+    KUBERNETES_MANIFEST,
+    GITHUB_WORKFLOW,
+    CAMEL_XML,
+    MAVEN_POM,
+    SPRING_XML,
+    OTHER;
+
+    private static final String CACHE_MESSAGE = "org.apache.camel.upgrade.DocumentKind";
+
+    // spring and quarkus configuration files, e.g. application.yaml, application-prod.yml or bootstrap.yml
+    private static final Pattern APPLICATION_CONFIG_NAME = Pattern.compile("(application|bootstrap)([-.][^/]*)?\\.ya?ml");
+    // same files as FindSourceFiles(".github/workflows/*.yml"), i.e. .yml workflows of the repository root only
+    private static final Pattern GITHUB_WORKFLOW_PATH = Pattern.compile("\\.github/workflows/[^/]+\\.yml");
+    private static final String MAVEN_POM_NAMESPACE = "maven.apache.org/POM";
+
+    /**
+     * @return kind of the source file, computed on the first request in the execution
+     */
+    public static DocumentKind of(SourceFile sourceFile, ExecutionContext ctx) {
+        if (!(sourceFile instanceof Yaml.Documents) && !(sourceFile instanceof Xml.Document)) {
+            return OTHER;
+        }
+        return SourceFileCache.computeIfAbsent(CACHE_MESSAGE, sourceFile, ctx, DocumentKind::classify);
+    }
+
+    private static DocumentKind classify(SourceFile sourceFile) {
+        String path = sourceFile.getSourcePath().toString().replace('\\', '/');
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        if (sourceFile instanceof Yaml.Documents) {
+            return classifyYaml((Yaml.Documents) sourceFile, path, fileName);
+        }
+        return classifyXml((Xml.Document) sourceFile, fileName);
+    }
+
+    private static DocumentKind classifyYaml(Yaml.Documents documents, String path, String fileName) {
+        if (GITHUB_WORKFLOW_PATH.matcher(path).matches()) {
+            return GITHUB_WORKFLOW;
+        }
+        if (documents.getDocuments().stream().anyMatch(d -> RecipesUtil.hasCamelRootKey(d.getBlock()))) {
+            return CAMEL_YAML_DSL;
+        }
+        if (documents.getDocuments().stream().anyMatch(d -> isKubernetesManifest(d.getBlock()))) {
+            return KUBERNETES_MANIFEST;
+        }
+        if (APPLICATION_CONFIG_NAME.matcher(fileName).matches()) {
+            return APPLICATION_CONFIG;
+        }
+        return OTHER;
+    }
+
+    private static boolean isKubernetesManifest(Yaml.Block block) {
+        return block instanceof Yaml.Mapping &&
+                ((Yaml.Mapping) block).getEntries().stream().anyMatch(e -> "apiVersion".equals(e.getKey().getValue())) &&
+                ((Yaml.Mapping) block).getEntries().stream().anyMatch(e -> "kind".equals(e.getKey().getValue()));
+    }
+
+    private static DocumentKind classifyXml(Xml.Document document, String fileName) {
+        Xml.Tag root = document.getRoot();
+        if (root == null) {
+            return OTHER;
+        }
+        if (RecipesUtil.isCamelXmlRoot(root)) {
+            return CAMEL_XML;
+        }
+        if ("project".equals(root.getName()) && ("pom.xml".equals(fileName) || root.getAttributes().stream()
+                .anyMatch(a -> a.getKeyAsString().startsWith("xmlns") && a.getValueAsString().contains(MAVEN_POM_NAMESPACE)))) {
+            return MAVEN_POM;
+        }
+        String rootName = root.getName().substring(root.getName().indexOf(':') + 1);
+        if ("beans".equals(rootName) || "blueprint".equals(rootName)) {
+            return SPRING_XML;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.Validated;
+import org.openrewrite.internal.RecipeLoader;
+import org.openrewrite.marker.SearchResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers shared by {@link FusedXmlDslRecipe} and {@link FusedYamlDslRecipe}.
+ */
+final class FusedRecipes {
+
+    private static final String FUSED_RECIPES = "org.apache.camel.upgrade.FusedRecipes";
+
+    private FusedRecipes() {
+    }
+
+    /**
+     * @return the recipes loaded by their names, without options
+     */
+    static List<Recipe> load(List<String> recipes) {
+        RecipeLoader loader = new RecipeLoader(FusedRecipes.class.getClassLoader());
+        List<Recipe> resolved = new ArrayList<>(recipes.size());
+        for (String recipe : recipes) {
+            resolved.add(loader.load(recipe, Collections.emptyMap()));
+        }
+        return resolved;
+    }
+
+    /**
+     * @return the class names of the recipes
+     */
+    static List<String> names(List<? extends Recipe> recipes) {
+        return recipes.stream().map(r -> r.getClass().getName()).collect(Collectors.toList());
+    }
+
+    /**
+     * Validates the recipes to fuse. Recipes which can not be fused are applied by their visitor only, so they
+     * must neither contain other recipes nor scan the sources beforehand.
+     */
+    static Validated<Object> validate(List<String> names, @Nullable List<Recipe> instances,
+                                      Predicate<Recipe> fusable) {
+        List<Recipe> resolved;
+        try {
+            resolved = instances != null ? instances : load(names);
+        } catch (IllegalArgumentException e) {
+            return Validated.invalid("recipes", names, "can not be loaded", e);
+        }
+        Validated<Object> validated = Validated.none();
+        for (Recipe recipe : resolved) {
+            if (fusable.test(recipe)) {
+                continue;
+            }
+            if (recipe instanceof ScanningRecipe) {
+                validated = validated.and(Validated.invalid("recipes", recipe.getName(),
+                        "scanning recipes can not be fused"));
+            } else if (!recipe.getRecipeList().isEmpty()) {
+                validated = validated.and(Validated.invalid("recipes", recipe.getName(),
+                        "composite recipes can not be fused"));
+            }
+        }
+        return validated;
+    }
+
+    /**
+     * Validates the target Camel versions, each of them has to be a version of one of the recipes.
+     */
+    static Validated<Object> validateVersions(List<String> names, @Nullable Map<String, String> camelVersions) {
+        Validated<Object> validated = Validated.none();
+        if (camelVersions == null) {
+            return validated;
+        }
+        for (Map.Entry<String, String> entry : camelVersions.entrySet()) {
+            if (!names.contains(entry.getKey())) {
+                validated = validated.and(Validated.invalid("camelVersions", entry.getKey(), "is not one of the recipes"));
+            } else if (CamelProjectVersion.parse(entry.getValue()) == null) {
+                validated = validated.and(Validated.invalid("camelVersions", entry.getValue(), "is not a version"));
+            }
+        }
+        return validated;
+    }
+
+    /**
+     * @return the recipes whose target version is higher than the Camel version of the project, recipes without
+     * a target version are always applicable
+     */
+    static List<Recipe> applicable(List<Recipe> recipes, @Nullable Map<String, String> camelVersions,
+                                   CamelVersionBelow.Accumulator projectVersion) {
+        if (camelVersions == null) {
+            return recipes;
+        }
+        return recipes.stream()
+                .filter(r -> projectVersion.isBelow(camelVersions.get(r.getName())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Marks the recipes as applied by a fused recipe of the current run. Their own visitors (created by
+     * {@link RecipesUtil#newVisitor(AbstractCamelXmlVisitor)} or its yaml variant) then leave all sources unchanged,
+     * so that the recipes are not applied twice when both the fused recipe and the migration recipes of the versions
+     * are part of the run.
+     */
+    static void register(ExecutionContext ctx, Collection<String> recipes) {
+        ctx.<Set<String>>computeMessageIfAbsent(FUSED_RECIPES, k -> ConcurrentHashMap.newKeySet()).addAll(recipes);
+    }
+
+    /**
+     * @return precondition matching all source files unless the recipe is applied by a fused recipe of the current run
+     */
+    static TreeVisitor<?, ExecutionContext> notFused(String recipe) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                Set<String> fused = ctx.getMessage(FUSED_RECIPES);
+                if (tree instanceof SourceFile && (fused == null || !fused.contains(recipe))) {
+                    return SearchResult.found(tree);
+                }
+                return tree;
+            }
+        };
+    }
+
+    /**
+     * @return visitor applying the passes one after another on the whole source file
+     */
+    static TreeVisitor<?, ExecutionContext> inSequence(List<TreeVisitor<?, ExecutionContext>> passes) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                Tree t = tree;
+                for (TreeVisitor<?, ExecutionContext> pass : passes) {
+                    if (!(t instanceof SourceFile)) {
+                        break;
+                    }
+                    if (pass.isAcceptable((SourceFile) t, ctx)) {
+                        t = pass.visit(t, ctx);
+                    }
+                }
+                return t;
+            }
+        };
+    }
+}
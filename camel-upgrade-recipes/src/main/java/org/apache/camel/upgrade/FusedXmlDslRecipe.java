@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.Validated;
+import org.openrewrite.xml.tree.Xml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Applies an ordered list of Camel XML DSL recipes in as few traversals of each document as possible.
+ * <p>
+ * Handlers of consecutive {@link CamelXmlTagRecipe} recipes are applied tag by tag, in the order of the recipes,
+ * so every tag is visited once instead of once per recipe. The children are visited before their parent, therefore
+ * a recipe whose handlers inspect the children ({@link CamelXmlTagRecipe#inspectsChildren()}) ends the traversal,
+ * its handlers must not see children changed by the following recipes. Each document is then in the same state
+ * as if the recipes were applied one after another. Other recipes (e.g. recipes looking ahead into the whole
+ * document) are applied as separate passes at their position in the list.
+ * </p>
+ * <p>
+ * The xPath of a handler is evaluated against the cursor, whose ancestor tags are not yet transformed
+ * by the preceding recipes. Recipes matching an ancestor renamed by a preceding recipe must not be fused.
+ * </p>
+ * <p>
+ * A recipe with a target Camel version is applied only if the project is built with a lower Camel version
+ * (see {@link CamelVersionBelow}). The fused {@link CamelXmlTagRecipe} recipes are not applied a second time by their
+ * own visitors, if they are also part of the run (e.g. in the migration recipes of the particular versions).
+ * </p>
+ */
+public class FusedXmlDslRecipe extends ScanningRecipe<CamelVersionBelow.Accumulator> {
+
+    @Option(displayName = "Recipes",
+            description = "Fully qualified names of the XML DSL recipes in the order of application. " +
+                    "The recipes are loaded without options.",
+            example = "org.apache.camel.upgrade.camel47.XmlDsl47Recipe")
+    List<String> recipes;
+
+    @Option(displayName = "Camel versions",
+            description = "Target Camel versions of the recipes, a recipe is applied only if the project is built " +
+                    "with a lower Camel version. Recipes without a target version are always applied.",
+            example = "org.apache.camel.upgrade.camel47.XmlDsl47Recipe: 4.7.0",
+            required = false)
+    @Nullable Map<String, String> camelVersions;
+
+    // configured recipe instances (e.g. recipes with options), take precedence over the class names
+    private transient @Nullable List<Recipe> recipeInstances;
+
+    // scanning recipes can not extend AbstractCamelRecipe
+    private final transient CamelRecipeMetrics metrics = new CamelRecipeMetrics(this);
+
+    public FusedXmlDslRecipe() {
+    }
+
+    /**
+     * Fuses configured recipe instances, the <i>recipes</i> option holds their class names only.
+     */
+    public FusedXmlDslRecipe(List<? extends Recipe> recipes) {
+        this.recipes = FusedRecipes.names(recipes);
+        this.recipeInstances = List.copyOf(recipes);
+    }
+
+    public void setRecipes(List<String> recipes) {
+        this.recipes = recipes;
+    }
+
+    public void setCamelVersions(@Nullable Map<String, String> camelVersions) {
+        this.camelVersions = camelVersions;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Camel XML DSL changes in a single pass";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Applies the Camel XML DSL migration recipes in a single traversal of each XML document.";
+    }
+
+    @Override
+    public Validated<Object> validate() {
+        Validated<Object> validated = super.validate();
+        if (validated.isInvalid()) {
+            return validated;
+        }
+        return validated.and(FusedRecipes.validate(recipes, recipeInstances, CamelXmlTagRecipe.class::isInstance))
+                .and(FusedRecipes.validateVersions(recipes, camelVersions));
+    }
+
+    /**
+     * Only recipes loaded by their names are registered, configured instances (e.g. with options) may differ
+     * from the other recipes of their class in the run.
+     */
+    @Override
+    public CamelVersionBelow.Accumulator getInitialValue(ExecutionContext ctx) {
+        if (recipeInstances == null) {
+            FusedRecipes.register(ctx, resolveRecipes().stream()
+                    .filter(CamelXmlTagRecipe.class::isInstance)
+                    .map(Recipe::getName)
+                    .collect(Collectors.toList()));
+        }
+        return new CamelVersionBelow.Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(CamelVersionBelow.Accumulator acc) {
+        return CamelVersionBelow.scanner(acc);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(CamelVersionBelow.Accumulator acc) {
+        List<TreeVisitor<?, ExecutionContext>> passes = new ArrayList<>();
+        List<AbstractCamelXmlVisitor> fused = new ArrayList<>();
+        for (Recipe recipe : FusedRecipes.applicable(resolveRecipes(), camelVersions, acc)) {
+            if (recipe instanceof CamelXmlTagRecipe) {
+                CamelXmlTagRecipe tagRecipe = (CamelXmlTagRecipe) recipe;
+                fused.add(tagRecipe.getTagVisitor());
+                if (tagRecipe.inspectsChildren()) {
+                    addFusedPass(passes, fused);
+                }
+            } else {
+                addFusedPass(passes, fused);
+                passes.add(recipe.getVisitor());
+            }
+        }
+        addFusedPass(passes, fused);
+
+        return FusedRecipes.inSequence(passes);
+    }
+
+    /**
+     * The recipes which cannot be fused are applied as separate passes and report their own metrics.
+     */
+    @Override
+    public void onComplete(ExecutionContext ctx) {
+        metrics.flush(ctx, getName());
+        recipes.forEach(recipe -> metrics.flush(ctx, recipe));
+        super.onComplete(ctx);
+    }
+
+    private void addFusedPass(List<TreeVisitor<?, ExecutionContext>> passes, List<AbstractCamelXmlVisitor> fused) {
+        if (!fused.isEmpty()) {
+            passes.add(RecipesUtil.newVisitor(new FusedTagVisitor(List.copyOf(fused))));
+            fused.clear();
+        }
+    }
+
+    private List<Recipe> resolveRecipes() {
+        return recipeInstances != null ? recipeInstances : FusedRecipes.load(recipes);
+    }
+
+    /**
+     * Dispatches every visited tag to the handlers of all fused visitors, failures of one visitor
+     * do not affect the others.
+     */
+    private static final class FusedTagVisitor extends AbstractCamelXmlVisitor {
+
+        private final List<AbstractCamelXmlVisitor> visitors;
+
+        private FusedTagVisitor(List<AbstractCamelXmlVisitor> visitors) {
+            this.visitors = visitors;
+        }
+
+        @Override
+        public Xml.Document visitDocument(Xml.Document document, ExecutionContext executionContext) {
+            Xml.Document result = super.visitDocument(document, executionContext);
+            visitors.forEach(v -> metrics().addAndReset(v.metrics()));
+            return result;
+        }
+
+        @Override
+        public Xml.@Nullable Tag doVisitTag(Xml.Tag tag, ExecutionContext executionContext) {
+            Xml.Tag t = super.doVisitTag(tag, executionContext);
+            for (AbstractCamelXmlVisitor visitor : visitors) {
+                if (t == null) {
+                    break;
+                }
+                t = visitor.dispatchTagOf(this, t, executionContext);
+            }
+            return t;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.Validated;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Applies an ordered list of Camel YAML DSL recipes in as few traversals of each document as possible.
+ * <p>
+ * Handlers of consecutive {@link CamelYamlEntryRecipe} recipes are applied entry by entry, in the order of the
+ * recipes, so every entry is visited once instead of once per recipe. Structural changes scheduled by the recipes
+ * are applied together in one pass after the traversal, followed by a single re-indent. The children are visited
+ * before their parent, therefore a recipe whose handlers inspect the children or change the structure
+ * ({@link CamelYamlEntryRecipe#inspectsChildren()}) ends the traversal, and a recipe whose handlers inspect the parent
+ * ({@link CamelYamlEntryRecipe#inspectsParent()}) starts a new one. Each document is then in the same state as if
+ * the recipes were applied one after another. Other recipes are applied as separate passes at their position
+ * in the list.
+ * </p>
+ * <p>
+ * The key paths of the handlers are evaluated against the keys of the not yet transformed ancestors. Ancestor keys
+ * renamed by a preceding recipe are seen renamed only if the recipe declares the renaming via
+ * <i>getKeyRenamer()</i> (e.g. kebab-case to camelCase), recipes matching an ancestor renamed in another way
+ * must not be fused.
+ * </p>
+ * <p>
+ * A recipe with a target Camel version is applied only if the project is built with a lower Camel version
+ * (see {@link CamelVersionBelow}). The fused {@link CamelYamlEntryRecipe} recipes are not applied a second time by
+ * their own visitors, if they are also part of the run (e.g. in the migration recipes of the particular versions).
+ * </p>
+ */
+public class FusedYamlDslRecipe extends ScanningRecipe<CamelVersionBelow.Accumulator> {
+
+    @Option(displayName = "Recipes",
+            description = "Fully qualified names of the YAML DSL recipes in the order of application. " +
+                    "The recipes are loaded without options.",
+            example = "org.apache.camel.upgrade.camel47.YamlDsl47Recipe")
+    List<String> recipes;
+
+    @Option(displayName = "Camel versions",
+            description = "Target Camel versions of the recipes, a recipe is applied only if the project is built " +
+                    "with a lower Camel version. Recipes without a target version are always applied.",
+            example = "org.apache.camel.upgrade.camel47.YamlDsl47Recipe: 4.7.0",
+            required = false)
+    @Nullable Map<String, String> camelVersions;
+
+    // configured recipe instances (e.g. recipes with options), take precedence over the class names
+    private transient @Nullable List<Recipe> recipeInstances;
+
+    // scanning recipes can not extend AbstractCamelRecipe
+    private final transient CamelRecipeMetrics metrics = new CamelRecipeMetrics(this);
+
+    public FusedYamlDslRecipe() {
+    }
+
+    /**
+     * Fuses configured recipe instances, the <i>recipes</i> option holds their class names only.
+     */
+    public FusedYamlDslRecipe(List<? extends Recipe> recipes) {
+        this.recipes = FusedRecipes.names(recipes);
+        this.recipeInstances = List.copyOf(recipes);
+    }
+
+    public void setRecipes(List<String> recipes) {
+        this.recipes = recipes;
+    }
+
+    public void setCamelVersions(@Nullable Map<String, String> camelVersions) {
+        this.camelVersions = camelVersions;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Camel YAML DSL changes in a single pass";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Applies the Camel YAML DSL migration recipes in a single traversal of each YAML document.";
+    }
+
+    @Override
+    public Validated<Object> validate() {
+        Validated<Object> validated = super.validate();
+        if (validated.isInvalid()) {
+            return validated;
+        }
+        return validated.and(FusedRecipes.validate(recipes, recipeInstances, CamelYamlEntryRecipe.class::isInstance))
+                .and(FusedRecipes.validateVersions(recipes, camelVersions));
+    }
+
+    /**
+     * Only recipes loaded by their names are registered, configured instances (e.g. with options) may differ
+     * from the other recipes of their class in the run.
+     */
+    @Override
+    public CamelVersionBelow.Accumulator getInitialValue(ExecutionContext ctx) {
+        if (recipeInstances == null) {
+            FusedRecipes.register(ctx, resolveRecipes().stream()
+                    .filter(CamelYamlEntryRecipe.class::isInstance)
+                    .map(Recipe::getName)
+                    .collect(Collectors.toList()));
+        }
+        return new CamelVersionBelow.Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(CamelVersionBelow.Accumulator acc) {
+        return CamelVersionBelow.scanner(acc);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(CamelVersionBelow.Accumulator acc) {
+        List<TreeVisitor<?, ExecutionContext>> passes = new ArrayList<>();
+        List<CamelYamlEntryRecipe> fused = new ArrayList<>();
+        for (Recipe recipe : FusedRecipes.applicable(resolveRecipes(), camelVersions, acc)) {
+            if (recipe instanceof CamelYamlEntryRecipe) {
+                CamelYamlEntryRecipe entryRecipe = (CamelYamlEntryRecipe) recipe;
+                if (entryRecipe.inspectsParent()) {
+                    addFusedPass(passes, fused);
+                }
+                fused.add(entryRecipe);
+                if (entryRecipe.inspectsChildren()) {
+                    addFusedPass(passes, fused);
+                }
+            } else {
+                addFusedPass(passes, fused);
+                passes.add(recipe.getVisitor());
+            }
+        }
+        addFusedPass(passes, fused);
+
+        return FusedRecipes.inSequence(passes);
+    }
+
+    /**
+     * The recipes which cannot be fused are applied as separate passes and report their own metrics.
+     */
+    @Override
+    public void onComplete(ExecutionContext ctx) {
+        metrics.flush(ctx, getName());
+        recipes.forEach(recipe -> metrics.flush(ctx, recipe));
+        super.onComplete(ctx);
+    }
+
+    private void addFusedPass(List<TreeVisitor<?, ExecutionContext>> passes, List<CamelYamlEntryRecipe> fused) {
+        if (!fused.isEmpty()) {
+            passes.add(RecipesUtil.newVisitor(new FusedEntryVisitor(List.copyOf(fused))));
+            fused.clear();
+        }
+    }
+
+    private List<Recipe> resolveRecipes() {
+        return recipeInstances != null ? recipeInstances : FusedRecipes.load(recipes);
+    }
+
+    /**
+     * Dispatches every visited entry to the handlers of all fused visitors, failures of one visitor
+     * do not affect the others.
+     */
+    private static final class FusedEntryVisitor extends AbstractCamelYamlVisitor {
+
+        private final List<AbstractCamelYamlVisitor> visitors;
+        // keys seen by the visitor of the same index, renamed by the key renamers of the preceding recipes
+        private final List<PathStack> visitorKeys = new ArrayList<>();
+        // distinct key stacks with the renamer of their keys
+        private final List<PathStack> stages = new ArrayList<>();
+        private final List<UnaryOperator<String>> stageRenamers = new ArrayList<>();
+
+        private FusedEntryVisitor(List<CamelYamlEntryRecipe> recipes) {
+            this.visitors = new ArrayList<>(recipes.size());
+            UnaryOperator<String> renamer = UnaryOperator.identity();
+            @Nullable PathStack stage = null;
+            for (CamelYamlEntryRecipe recipe : recipes) {
+                visitors.add(recipe.getEntryVisitor());
+                if (stage == null) {
+                    stage = addStage(renamer);
+                }
+                visitorKeys.add(stage);
+                UnaryOperator<String> recipeRenamer = recipe.getKeyRenamer();
+                if (recipeRenamer != null) {
+                    UnaryOperator<String> previous = renamer;
+                    renamer = key -> recipeRenamer.apply(previous.apply(key));
+                    // following visitors see the renamed keys
+                    stage = null;
+                }
+            }
+        }
+
+        private PathStack addStage(UnaryOperator<String> renamer) {
+            PathStack stage = new PathStack('.');
+            stages.add(stage);
+            stageRenamers.add(renamer);
+            return stage;
+        }
+
+        @Override
+        void enterKey(String key) {
+            super.enterKey(key);
+            for (int i = 0; i < stages.size(); i++) {
+                stages.get(i).push(stageRenamers.get(i).apply(key));
+            }
+        }
+
+        @Override
+        void exitKey() {
+            super.exitKey();
+            stages.forEach(PathStack::pop);
+        }
+
+        @Override
+        void clearKeys() {
+            super.clearKeys();
+            stages.forEach(PathStack::clear);
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            visitors.forEach(AbstractCamelYamlVisitor::clearLocalCache);
+        }
+
+        @Override
+        public Yaml.Documents visitDocuments(Yaml.Documents documents, ExecutionContext executionContext) {
+            Yaml.Documents result = super.visitDocuments(documents, executionContext);
+            visitors.forEach(v -> metrics().addAndReset(v.metrics()));
+            return result;
+        }
+
+        @Override
+        public Yaml.Mapping.@Nullable Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext executionContext) {
+            Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, executionContext);
+            for (int i = 0; i < visitors.size() && e != null; i++) {
+                e = visitors.get(i).dispatchMappingEntryOf(this, visitorKeys.get(i), e, executionContext);
+            }
+            return e;
+        }
+    }
+}
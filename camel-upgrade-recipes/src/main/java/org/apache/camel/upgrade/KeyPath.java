@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Path of keys, a small subset of JsonPath: keys separated by <i>.</i> (child) or <i>..</i> (descendant), optionally
+ * anchored at the document root by <i>$</i>, e.g. <i>$..route..steps.transform</i>. A path without <i>$</i> matches
+ * at any depth. Sequences are transparent, the same way as for {@link PathStack}.
+ * <p>
+ * The path is evaluated against the {@link PathStack} of the visitor, without walking the cursor and without
+ * allocations.
+ * </p>
+ */
+final class KeyPath {
+
+    private final String[] keys;
+    // true if the key can be preceded by any number of keys
+    private final boolean[] descendant;
+
+    private KeyPath(String[] keys, boolean[] descendant) {
+        this.keys = keys;
+        this.descendant = descendant;
+    }
+
+    static KeyPath parse(String path) {
+        if (path.indexOf('[') >= 0 || path.indexOf('*') >= 0) {
+            throw new IllegalArgumentException("Filters and wildcards are not supported in the key path: " + path);
+        }
+        List<String> keys = new ArrayList<>();
+        List<Boolean> descendant = new ArrayList<>();
+        boolean anchored = path.startsWith("$");
+        int i = anchored ? 1 : 0;
+        while (i < path.length()) {
+            boolean deep;
+            if (path.startsWith("..", i)) {
+                deep = true;
+                i += 2;
+            } else if (path.charAt(i) == '.') {
+                deep = false;
+                i++;
+            } else {
+                deep = !anchored && keys.isEmpty();
+            }
+            int end = path.indexOf('.', i);
+            end = end < 0 ? path.length() : end;
+            if (end == i) {
+                throw new IllegalArgumentException("Empty key in the key path: " + path);
+            }
+            keys.add(path.substring(i, end));
+            descendant.add(deep);
+            i = end;
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("Key path without keys: " + path);
+        }
+        boolean[] deepArray = new boolean[descendant.size()];
+        for (int j = 0; j < deepArray.length; j++) {
+            deepArray[j] = descendant.get(j);
+        }
+        return new KeyPath(keys.toArray(new String[0]), deepArray);
+    }
+
+    String lastKey() {
+        return keys[keys.length - 1];
+    }
+
+    boolean matches(PathStack stack) {
+        return matches(stack, 0, 0);
+    }
+
+    private boolean matches(PathStack stack, int keyIndex, int depth) {
+        if (keyIndex == keys.length) {
+            return depth == stack.depth();
+        }
+        if (!descendant[keyIndex]) {
+            return depth < stack.depth() && keys[keyIndex].equals(stack.name(depth)) && matches(stack, keyIndex + 1, depth + 1);
+        }
+        for (int d = depth; d < stack.depth(); d++) {
+            if (keys[keyIndex].equals(stack.name(d)) && matches(stack, keyIndex + 1, d + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
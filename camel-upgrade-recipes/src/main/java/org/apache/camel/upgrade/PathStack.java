@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import java.util.Arrays;
+
+/**
+ * Path of the currently visited node (yaml keys or xml tag names), maintained by the visitors while entering
+ * and leaving the nodes.
+ * <p>
+ * Queries do not walk the cursor. The joined path is built only on request and is kept until the stack changes
+ * at its depth, {@link #equalsPath(String)} and {@link #endsWithPath(String)} do not allocate at all.
+ * </p>
+ */
+final class PathStack {
+
+    private final char separator;
+    private String[] names = new String[16];
+    // joined paths per depth, computed lazily
+    private String[] joined = new String[16];
+    private int depth;
+
+    PathStack(char separator) {
+        this.separator = separator;
+    }
+
+    void push(String name) {
+        if (depth == names.length) {
+            names = Arrays.copyOf(names, depth * 2);
+            joined = Arrays.copyOf(joined, depth * 2);
+        }
+        names[depth] = name;
+        joined[depth++] = null;
+    }
+
+    void pop() {
+        names[--depth] = null;
+    }
+
+    void clear() {
+        Arrays.fill(names, 0, depth, null);
+        depth = 0;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    String name(int index) {
+        return names[index];
+    }
+
+    String path() {
+        if (depth == 0) {
+            return "";
+        }
+        int first = depth - 1;
+        while (first > 0 && joined[first - 1] == null) {
+            first--;
+        }
+        for (int i = first; i < depth; i++) {
+            if (joined[i] == null) {
+                joined[i] = i == 0 ? names[0] : joined[i - 1] + separator + names[i];
+            }
+        }
+        return joined[depth - 1];
+    }
+
+    /**
+     * Same as {@code path().equals(path)}.
+     */
+    boolean equalsPath(String path) {
+        int offset = 0;
+        for (int i = 0; i < depth; i++) {
+            if (i > 0) {
+                if (offset >= path.length() || path.charAt(offset) != separator) {
+                    return false;
+                }
+                offset++;
+            }
+            if (!path.startsWith(names[i], offset)) {
+                return false;
+            }
+            offset += names[i].length();
+        }
+        return offset == path.length();
+    }
+
+    /**
+     * Same as {@code path().endsWith(suffix)}.
+     */
+    boolean endsWithPath(String suffix) {
+        int remaining = suffix.length();
+        for (int i = depth - 1; i >= 0; i--) {
+            String name = names[i];
+            int n = Math.min(name.length(), remaining);
+            if (!suffix.regionMatches(remaining - n, name, name.length() - n, n)) {
+                return false;
+            }
+            remaining -= n;
+            if (remaining == 0) {
+                return true;
+            }
+            if (i > 0) {
+                if (suffix.charAt(remaining - 1) != separator) {
+                    return false;
+                }
+                remaining--;
+                if (remaining == 0) {
+                    return true;
+                }
+            }
+        }
+        return remaining == 0;
+    }
+}
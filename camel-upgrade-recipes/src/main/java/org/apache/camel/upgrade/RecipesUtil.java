@@ -18,17 +18,16 @@ package org.apache.camel.upgrade;
 
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.xml.tree.Xml;
-import org.openrewrite.yaml.YamlIsoVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.*;
 import java.util.function.Function;
-import java.util.regex.Matcher;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 import static org.openrewrite.Tree.randomId;
@@ -37,13 +36,72 @@ public class RecipesUtil {
 
     private static Pattern kebabCasePattern =  Pattern.compile("-(.)");
 
+    // caches of compiled uri rewrite rules
+    private static final BoundedCache<List<?>, UriRewriteRule> propertyRules = new BoundedCache<>(256);
+    private static final BoundedCache<List<?>, UriRewriteRule> transformRules = new BoundedCache<>(256);
+
     // ---------------- visitors
     public static TreeVisitor<?, ExecutionContext> newVisitor(AbstractCamelJavaVisitor visitor) {
-        return Preconditions.check(new UsesType<>("org.apache.camel..*", false), visitor);
+        return newVisitor(CamelUsage::usesCamel, visitor);
     }
 
     public static TreeVisitor<?, ExecutionContext> newVisitor(String requiredImport, AbstractCamelJavaVisitor visitor) {
-        return Preconditions.check(new UsesType<>(requiredImport, false), visitor);
+        return newVisitor(usage -> usage.usesType(requiredImport), visitor);
+    }
+
+    /**
+     * The condition is evaluated against the {@link CamelUsage} index, which is computed only once per source file.
+     * Invocations, failures and wall time of the visitor are accumulated per recipe (see {@link CamelRecipeMetrics}).
+     */
+    public static TreeVisitor<?, ExecutionContext> newVisitor(Predicate<CamelUsage> condition, AbstractCamelJavaVisitor visitor) {
+        return Preconditions.check(camelUsagePrecondition(condition), VisitMetrics.timed(visitor.metrics(), visitor));
+    }
+
+    public static TreeVisitor<?, ExecutionContext> camelUsagePrecondition(Predicate<CamelUsage> condition) {
+        return new JavaVisitor<ExecutionContext>() {
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile && condition.test(CamelUsage.of((JavaSourceFile) tree, ctx))) {
+                    return SearchResult.found((J) tree);
+                }
+                return (J) tree;
+            }
+        };
+    }
+
+    /**
+     * The visitor is skipped if its recipe is applied by a {@link FusedXmlDslRecipe} of the same run.
+     */
+    public static TreeVisitor<?, ExecutionContext> newVisitor(AbstractCamelXmlVisitor visitor) {
+        return Preconditions.check(Preconditions.and(camelXmlDslPrecondition(),
+                        FusedRecipes.notFused(VisitMetrics.declaringRecipe(visitor.getClass()))),
+                VisitMetrics.timed(visitor.metrics(), visitor));
+    }
+
+    /**
+     * The visitor is skipped if its recipe is applied by a {@link FusedYamlDslRecipe} of the same run.
+     */
+    public static TreeVisitor<?, ExecutionContext> newVisitor(AbstractCamelYamlVisitor visitor) {
+        return Preconditions.check(Preconditions.and(camelYamlDslPrecondition(),
+                        FusedRecipes.notFused(VisitMetrics.declaringRecipe(visitor.getClass()))),
+                VisitMetrics.timed(visitor.metrics(), visitor));
+    }
+
+    /**
+     * Precondition accepting yaml and xml sources of the given kinds, each source is classified only once
+     * (see {@link DocumentKind}).
+     */
+    public static TreeVisitor<?, ExecutionContext> documentKindPrecondition(DocumentKind... kinds) {
+        Set<DocumentKind> accepted = kinds.length == 0 ? EnumSet.noneOf(DocumentKind.class) : EnumSet.copyOf(Arrays.asList(kinds));
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof SourceFile && accepted.contains(DocumentKind.of((SourceFile) tree, ctx))) {
+                    return SearchResult.found(tree);
+                }
+                return tree;
+            }
+        };
     }
 
     // ---------------- Camel YAML DSL precondition
@@ -60,15 +118,7 @@ public class RecipesUtil {
             "dataFormats", "data-formats");
 
     public static TreeVisitor<?, ExecutionContext> camelYamlDslPrecondition() {
-        return new YamlIsoVisitor<ExecutionContext>() {
-            @Override
-            public Yaml.Document visitDocument(Yaml.Document document, ExecutionContext ctx) {
-                if (hasCamelRootKey(document.getBlock())) {
-                    return SearchResult.found(document);
-                }
-                return document;
-            }
-        };
+        return documentKindPrecondition(DocumentKind.CAMEL_YAML_DSL);
     }
 
     public static boolean hasCamelRootKey(Yaml.Block block) {
@@ -84,23 +134,103 @@ public class RecipesUtil {
         return false;
     }
 
+    // ---------------- Camel XML DSL precondition
+    private static final String CAMEL_XML_NAMESPACE = "camel.apache.org/schema";
+
+    private static final Set<String> CAMEL_XML_ROOT_TAGS = Set.of(
+            "camel", "camelContext", "routes", "route",
+            "routeTemplates", "routeTemplate", "templatedRoutes", "templatedRoute",
+            "routeConfigurations", "routeConfiguration", "routeContext",
+            "rests", "rest", "restContext", "dataFormats");
+
+    // spring and blueprint roots are accepted only with Camel content
+    private static final Set<String> CONTAINER_XML_ROOT_TAGS = Set.of("beans", "blueprint");
+
+    /**
+     * Precondition accepting only Camel XML documents (routes, camel context, spring or blueprint xml with Camel
+     * content). Only the root element (and for spring/blueprint its namespaces and direct children) is inspected,
+     * so poms, logging configurations, wsdl files, etc. are skipped right away.
+     */
+    public static TreeVisitor<?, ExecutionContext> camelXmlDslPrecondition() {
+        return documentKindPrecondition(DocumentKind.CAMEL_XML);
+    }
+
+    public static boolean isCamelXmlRoot(Xml.@Nullable Tag root) {
+        if (root == null) {
+            return false;
+        }
+        if (isCamelTag(root)) {
+            return true;
+        }
+        if (CONTAINER_XML_ROOT_TAGS.contains(localName(root.getName()))) {
+            return root.getChildren().stream().anyMatch(RecipesUtil::isCamelTag);
+        }
+        return false;
+    }
+
+    private static boolean isCamelTag(Xml.Tag tag) {
+        return CAMEL_XML_ROOT_TAGS.contains(localName(tag.getName())) || hasCamelNamespace(tag) || isCamelBean(tag);
+    }
+
+    /**
+     * Beans of the Camel XML DSL declare their class by the <i>type</i> attribute, spring beans by <i>class</i>.
+     */
+    private static boolean isCamelBean(Xml.Tag tag) {
+        return "bean".equals(localName(tag.getName()))
+                && tag.getAttributes().stream().anyMatch(a -> "type".equals(a.getKeyAsString()))
+                && tag.getAttributes().stream().noneMatch(a -> "class".equals(a.getKeyAsString()));
+    }
+
+    private static boolean hasCamelNamespace(Xml.Tag tag) {
+        return tag.getAttributes().stream()
+                .anyMatch(a -> a.getKeyAsString().startsWith("xmlns") && a.getValueAsString().contains(CAMEL_XML_NAMESPACE));
+    }
+
+    private static String localName(String name) {
+        return name.substring(name.indexOf(':') + 1);
+    }
+
     //---------------- annotations helpers
 
+    /**
+     * Creates a new annotation with the arguments of the original one.
+     *
+     * @param replacedArgument name of the argument replaced by the new one or null, if the new argument is appended
+     */
     public static J.Annotation createAnnotation(
-            J.Annotation annotation, String name, Function<String, Boolean> argMatcher, String args) {
+            J.Annotation annotation, String name, @Nullable String replacedArgument, String args) {
+        return newAnnotation(annotation, name,
+                replacedArgument == null ? null : e -> isAnnotationArgument(e, replacedArgument), args);
+    }
+
+    /**
+     * Creates a new annotation with the arguments of the original one.
+     *
+     * @param argMatcher matcher of the printed argument (without whitespaces) replaced by the new one or null,
+     *                   if the new argument is appended
+     * @deprecated arguments are printed to be matched, use {@link #createAnnotation(J.Annotation, String, String, String)}
+     * with the name of the replaced argument
+     */
+    @Deprecated
+    public static J.Annotation createAnnotation(
+            J.Annotation annotation, String name, @Nullable Function<String, Boolean> argMatcher, String args) {
+        return newAnnotation(annotation, name,
+                argMatcher == null ? null : e -> argMatcher.apply(e.toString().replaceAll("\\s", "")), args);
+    }
+
+    private static J.Annotation newAnnotation(
+            J.Annotation annotation, String name, @Nullable Predicate<Expression> replaced, String args) {
 
         LinkedList<Expression> originalArguments
                 = annotation.getArguments() == null ? new LinkedList<>() : new LinkedList<>(annotation.getArguments());
 
-        String newArgName = args.replaceAll("=.*", "").trim();
-
         //remove argument with the same name as the new one
-        if (argMatcher == null) {
+        if (replaced == null) {
             originalArguments.add(new J.Empty(randomId(), Space.format(args), Markers.EMPTY));
         } else {
             for (ListIterator<Expression> iter = originalArguments.listIterator(); iter.hasNext();) {
                 Expression expr = iter.next();
-                if (argMatcher.apply(expr.toString().replaceAll("\\s", ""))) {
+                if (replaced.test(expr)) {
                     iter.set(new J.Empty(randomId(), Space.format(args), Markers.EMPTY));
                 }
             }
@@ -124,14 +254,102 @@ public class RecipesUtil {
                 newAnnotationIdentifier, arguments);
     }
 
+    /**
+     * @return source of the value of the annotation argument {@code parameter = value}, empty if the value is neither
+     * a literal, a (qualified) name nor a concatenation of them
+     */
     public static Optional<String> getValueOfArgs(List<Expression> expressions, String parameter) {
         if (expressions == null || expressions.isEmpty()) {
             return Optional.empty();
         }
         return expressions.stream()
-                .filter(e -> e.toString().replaceAll("\\s", "").startsWith(parameter + "="))
-                .map(e -> e.toString().replaceAll("\\s", "").replaceFirst(parameter + "=", ""))
-                .findFirst();
+                .filter(e -> isAnnotationArgument(e, parameter))
+                .findFirst()
+                .map(e -> getSource(((J.Assignment) e).getAssignment()));
+    }
+
+    public static boolean isAnnotationArgument(@Nullable Expression expression, String name) {
+        return expression instanceof J.Assignment &&
+                ((J.Assignment) expression).getVariable() instanceof J.Identifier &&
+                name.equals(((J.Identifier) ((J.Assignment) expression).getVariable()).getSimpleName());
+    }
+
+    //---------------- argument helpers
+
+    /**
+     * Checks whether the expression references the constant (static field or enum value) {@code ownerType.name}.
+     * <p>
+     * The field is resolved from the type attribution, so qualified, fully qualified and statically imported references
+     * are matched the same way. If the field is not attributed (e.g. it was removed from the API), the simple names of the field and of its qualifier
+     * are compared.
+     * </p>
+     */
+    public static boolean isConstantReference(@Nullable Expression expression, String ownerType, String name) {
+        J.Identifier field = getFieldIdentifier(expression);
+        if (field == null || !name.equals(field.getSimpleName())) {
+            return false;
+        }
+        JavaType.Variable variable = field.getFieldType();
+        JavaType.FullyQualified owner = variable == null ? null : TypeUtils.asFullyQualified(variable.getOwner());
+        if (owner != null) {
+            return ownerType.equals(owner.getFullyQualifiedName());
+        }
+        if (expression instanceof J.FieldAccess) {
+            J.Identifier qualifier = getFieldIdentifier(((J.FieldAccess) expression).getTarget());
+            return qualifier != null &&
+                    (ownerType.equals(qualifier.getSimpleName()) || ownerType.endsWith("." + qualifier.getSimpleName()));
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the expression is either a reference to the constant {@code ownerType.name}
+     * or a string literal with its value.
+     */
+    public static boolean isConstantOrLiteral(@Nullable Expression expression, String ownerType, String name, String value) {
+        return value.equals(getStringLiteral(expression)) || isConstantReference(expression, ownerType, name);
+    }
+
+    public static @Nullable String getStringLiteral(@Nullable Expression expression) {
+        if (expression instanceof J.Literal && ((J.Literal) expression).getValue() instanceof String) {
+            return (String) ((J.Literal) expression).getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Source of literals, (qualified) names and their concatenations is taken from the tree elements without printing.
+     *
+     * @return source of the expression or null for other expressions
+     */
+    private static @Nullable String getSource(Expression expression) {
+        if (expression instanceof J.Literal) {
+            return ((J.Literal) expression).getValueSource();
+        }
+        if (expression instanceof J.Identifier) {
+            return ((J.Identifier) expression).getSimpleName();
+        }
+        if (expression instanceof J.FieldAccess) {
+            J.FieldAccess fa = (J.FieldAccess) expression;
+            String target = getSource(fa.getTarget());
+            return target == null ? null : target + "." + fa.getSimpleName();
+        }
+        if (expression instanceof J.Binary && ((J.Binary) expression).getOperator() == J.Binary.Type.Addition) {
+            String left = getSource(((J.Binary) expression).getLeft());
+            String right = getSource(((J.Binary) expression).getRight());
+            return left == null || right == null ? null : left + " + " + right;
+        }
+        return null;
+    }
+
+    private static J.@Nullable Identifier getFieldIdentifier(@Nullable Expression expression) {
+        if (expression instanceof J.FieldAccess) {
+            return ((J.FieldAccess) expression).getName();
+        }
+        if (expression instanceof J.Identifier) {
+            return (J.Identifier) expression;
+        }
+        return null;
     }
 
     public static boolean methodInvocationAreArgumentEmpty(J.MethodInvocation mi) {
@@ -202,6 +420,13 @@ public class RecipesUtil {
         return new JRightPadded<>(tree, Space.EMPTY, Markers.EMPTY);
     }
 
+    /**
+     * @return keys of the yaml entries joined by '.' or names of the xml tags joined by '/' from the root
+     * to the cursor
+     * @deprecated walks the whole cursor on every call, the Camel visitors keep the path while visiting,
+     * use <i>currentPath()</i>, <i>pathEquals(path)</i> or <i>pathEndsWith(suffix)</i> of the visitor
+     */
+    @Deprecated
     public static String getProperty(Cursor cursor) {
         StringBuilder asProperty = new StringBuilder();
         Iterator<Object> path = cursor.getPath();
@@ -342,21 +567,20 @@ public class RecipesUtil {
 
     public static @Nullable String replacePropertyInUrl(String uri, String component, String oldProperty, String newProperty, String optionalValuePrefix) {
         if(uri.startsWith(component) && uri.contains(oldProperty)) {
-
-            if(optionalValuePrefix != null) {
-                Matcher m = Pattern.compile(String.format("(^%s[:?].*)%s=(['\"]?.+$)", component, oldProperty)).matcher(uri);
-                if (m.find()) {
-                    return m.group(1) + newProperty + "=" + optionalValuePrefix + m.group(2);
-                }
-            } else {
-                throw new IllegalArgumentException("Replace without prefix is not implemented yet!");
-            }
+            // rules are cached, so the regex is not compiled for each uri
+            return propertyRules.get(Arrays.asList(component, oldProperty, newProperty, optionalValuePrefix),
+                            k -> UriRewriteRule.propertyRename(component, oldProperty, newProperty, optionalValuePrefix))
+                    .apply(uri)
+                    .orElse(null);
         }
         return null;
     }
 
     /**
      * Transform a string using the provided pattern and replacement.
+     * <p>
+     * Recipes transforming many values with the same pattern should use {@link UriRewriteRule} directly.
+     * </p>
      *
      * @param value The original string
      * @param pattern The compiled regex pattern to match
@@ -364,20 +588,9 @@ public class RecipesUtil {
      * @return Optional containing the transformed string, or empty if the pattern doesn't match
      */
     public static Optional<String> transform(String value, Pattern pattern, String replacement) {
-        Matcher matcher = pattern.matcher(value);
-        if (!matcher.matches()) {
-            return Optional.empty();
-        }
-
-        String result = replacement;
-
-        // Replace all ${n} placeholders with corresponding capturing groups
-        for (int i = 1; i <= matcher.groupCount(); i++) {
-            String groupValue = matcher.group(i);
-            // Replace with group value, or empty string if group is null
-            result = result.replace("${" + i + "}", groupValue != null ? groupValue : "");
-        }
-
-        return Optional.of(result);
+        // Pattern does not implement equals, patterns compiled per call are matched by their source and flags
+        return transformRules.get(Arrays.asList(pattern.pattern(), pattern.flags(), replacement),
+                        k -> UriRewriteRule.of(pattern, replacement))
+                .apply(value);
     }
 }
@@ -47,7 +47,7 @@ public class SetupJavaUpgradeJavaVersion extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
-                new FindSourceFiles(".github/workflows/*.yml"),
+                RecipesUtil.documentKindPrecondition(DocumentKind.GITHUB_WORKFLOW),
                 new YamlVisitor<>() {
                     @Override
                     public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
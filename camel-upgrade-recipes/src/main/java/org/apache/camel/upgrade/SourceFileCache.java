@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Values computed from a source file once per execution and shared by all recipes (e.g. {@link CamelUsage}).
+ * <p>
+ * Values are stored in the execution context and bound to the instance of the source file, a source file changed
+ * by a previous recipe (which is a new instance with the same id) is computed again.
+ * </p>
+ */
+final class SourceFileCache {
+
+    private SourceFileCache() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <S extends SourceFile, T> T computeIfAbsent(String key, S sourceFile, ExecutionContext ctx, Function<S, T> compute) {
+        Map<UUID, CachedValue> cache = ctx.computeMessageIfAbsent(key, k -> new ConcurrentHashMap<>());
+        CachedValue cached = cache.get(sourceFile.getId());
+        if (cached != null && cached.sourceFile.get() == sourceFile) {
+            return (T) cached.value;
+        }
+        T value = compute.apply(sourceFile);
+        cache.put(sourceFile.getId(), new CachedValue(new WeakReference<>(sourceFile), value));
+        return value;
+    }
+
+    private record CachedValue(WeakReference<SourceFile> sourceFile, Object value) {
+    }
+}
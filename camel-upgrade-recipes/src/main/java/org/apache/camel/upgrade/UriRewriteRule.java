@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled rewrite of a component URI (or any other string value).
+ * <p>
+ * The rule is built once per recipe options: the regex is compiled and the replacement template (using ${1}, ${2},
+ * etc. for capturing groups) is parsed into literal and group segments, so each replacement is rendered by a single
+ * StringBuilder pass.
+ * </p>
+ */
+public final class UriRewriteRule {
+
+    private final Pattern pattern;
+    // true: the whole value has to match, false: first occurrence of the pattern is used
+    private final boolean fullMatch;
+    // segments of the replacement, a group index (positive) or a literal (group index 0)
+    private final int[] groups;
+    private final String[] literals;
+    // cheap checks evaluated before the regex
+    private final @Nullable String requiredPrefix;
+    private final @Nullable String requiredSubstring;
+
+    private UriRewriteRule(Pattern pattern, boolean fullMatch, String replacement,
+                           @Nullable String requiredPrefix, @Nullable String requiredSubstring) {
+        this.pattern = pattern;
+        this.fullMatch = fullMatch;
+        this.requiredPrefix = requiredPrefix;
+        this.requiredSubstring = requiredSubstring;
+
+        List<Integer> groupList = new ArrayList<>();
+        List<String> literalList = new ArrayList<>();
+        int groupCount = pattern.matcher("").groupCount();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < replacement.length()) {
+            int group = -1;
+            int end = -1;
+            if (replacement.startsWith("${", i)) {
+                end = replacement.indexOf('}', i + 2);
+                if (end > i + 2) {
+                    group = parseGroup(replacement.substring(i + 2, end), groupCount);
+                }
+            }
+            if (group > 0) {
+                if (literal.length() > 0) {
+                    groupList.add(0);
+                    literalList.add(literal.toString());
+                    literal.setLength(0);
+                }
+                groupList.add(group);
+                literalList.add(null);
+                i = end + 1;
+            } else {
+                literal.append(replacement.charAt(i++));
+            }
+        }
+        if (literal.length() > 0) {
+            groupList.add(0);
+            literalList.add(literal.toString());
+        }
+
+        this.groups = groupList.stream().mapToInt(Integer::intValue).toArray();
+        this.literals = literalList.toArray(new String[0]);
+    }
+
+    /**
+     * Rule replacing the whole value matching the uriPattern with the replacement.
+     *
+     * @param uriPattern regex which has to match the whole value
+     * @param replacement replacement using ${1}, ${2}, etc. for capturing groups
+     */
+    public static UriRewriteRule of(String uriPattern, String replacement) {
+        return of(Pattern.compile(uriPattern), replacement);
+    }
+
+    public static UriRewriteRule of(Pattern pattern, String replacement) {
+        return new UriRewriteRule(pattern, true, replacement, null, null);
+    }
+
+    /**
+     * Rule renaming the property of the component in its uri (e.g. <i>netty:tcp://host?keyStoreFile=a</i>), prefix is
+     * added before the value of the property.
+     */
+    public static UriRewriteRule propertyRename(String component, String oldProperty, String newProperty, String valuePrefix) {
+        if (valuePrefix == null) {
+            throw new IllegalArgumentException("Replace without prefix is not implemented yet!");
+        }
+        Pattern pattern = Pattern.compile(String.format("(^%s[:?].*)%s=(['\"]?.+$)", component, oldProperty));
+        return new UriRewriteRule(pattern, false, "${1}" + newProperty + "=" + valuePrefix + "${2}", component, oldProperty);
+    }
+
+    /**
+     * @return transformed value, or empty if the rule does not match the value
+     */
+    public Optional<String> apply(String value) {
+        if (value == null
+                || (requiredPrefix != null && !value.startsWith(requiredPrefix))
+                || (requiredSubstring != null && !value.contains(requiredSubstring))) {
+            return Optional.empty();
+        }
+
+        Matcher matcher = pattern.matcher(value);
+        if (fullMatch ? !matcher.matches() : !matcher.find()) {
+            return Optional.empty();
+        }
+
+        StringBuilder sb = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i] == 0) {
+                sb.append(literals[i]);
+            } else {
+                String groupValue = matcher.group(groups[i]);
+                // Replace with group value, or empty string if group is null
+                if (groupValue != null) {
+                    sb.append(groupValue);
+                }
+            }
+        }
+        return Optional.of(sb.toString());
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    private static int parseGroup(String number, int groupCount) {
+        // only the exact form ${n} is replaced (e.g. not ${01})
+        if (number.length() > 1 && number.charAt(0) == '0') {
+            return -1;
+        }
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        try {
+            int group = Integer.parseInt(number);
+            return group >= 1 && group <= groupCount ? group : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
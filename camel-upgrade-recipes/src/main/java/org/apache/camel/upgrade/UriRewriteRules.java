@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Ordered set of {@link UriRewriteRule}s indexed by the uri scheme (the text before the first <i>:</i>).
+ * <p>
+ * A rule whose pattern starts with a literal scheme (e.g. <i>^pulsar:...</i>) is tested only against uris of that
+ * component. Rules without a literal scheme are tested against every value. Rules are applied in declaration order,
+ * each one to the result of the previous ones, which gives the same result as one recipe per rule.
+ * </p>
+ */
+public final class UriRewriteRules {
+
+    private static final int[] NO_RULES = new int[0];
+
+    private final UriRewriteRule[] rules;
+    // indexes of the rules (in declaration order) applicable to a scheme, including the rules without scheme
+    private final Map<String, int[]> rulesByScheme = new HashMap<>();
+    private final int[] rulesWithoutScheme;
+
+    private UriRewriteRules(List<UriRewriteRule> rules, List<@Nullable String> schemes) {
+        this.rules = rules.toArray(new UriRewriteRule[0]);
+
+        List<Integer> withoutScheme = new ArrayList<>();
+        Map<String, List<Integer>> byScheme = new HashMap<>();
+        for (int i = 0; i < schemes.size(); i++) {
+            String scheme = schemes.get(i);
+            if (scheme == null) {
+                withoutScheme.add(i);
+            } else {
+                byScheme.computeIfAbsent(scheme, s -> new ArrayList<>()).add(i);
+            }
+        }
+        this.rulesWithoutScheme = withoutScheme.stream().mapToInt(Integer::intValue).toArray();
+        byScheme.forEach((scheme, indexes) -> {
+            indexes.addAll(withoutScheme);
+            rulesByScheme.put(scheme, indexes.stream().mapToInt(Integer::intValue).sorted().toArray());
+        });
+    }
+
+    /**
+     * @param uriPattern optional single pattern (applied first)
+     * @param replacement replacement of the single pattern
+     * @param uriMappings optional ordered map of patterns to replacements
+     */
+    public static UriRewriteRules of(@Nullable String uriPattern, @Nullable String replacement,
+                                     @Nullable Map<String, String> uriMappings) {
+        List<UriRewriteRule> rules = new ArrayList<>();
+        List<String> schemes = new ArrayList<>();
+        if (uriPattern != null && replacement != null) {
+            rules.add(UriRewriteRule.of(uriPattern, replacement));
+            schemes.add(literalScheme(uriPattern));
+        }
+        if (uriMappings != null) {
+            uriMappings.forEach((pattern, repl) -> {
+                rules.add(UriRewriteRule.of(pattern, repl));
+                schemes.add(literalScheme(pattern));
+            });
+        }
+        return new UriRewriteRules(rules, schemes);
+    }
+
+    public boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    /**
+     * @return literal schemes of the rules, or null if there is a rule which could be applied to any value
+     */
+    public @Nullable Set<String> schemes() {
+        return rulesWithoutScheme.length > 0 ? null : Collections.unmodifiableSet(rulesByScheme.keySet());
+    }
+
+    /**
+     * @return transformed value, or empty if no rule changed the value
+     */
+    public Optional<String> apply(@Nullable String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        String current = value;
+        int[] candidates = candidates(current);
+        int nextRule = 0;
+        for (int i = 0; i < candidates.length; i++) {
+            int r = candidates[i];
+            if (r < nextRule) {
+                continue;
+            }
+            Optional<String> result = rules[r].apply(current);
+            if (result.isPresent() && !result.get().equals(current)) {
+                current = result.get();
+                // the scheme could be changed, the following rules are looked up again
+                nextRule = r + 1;
+                candidates = candidates(current);
+                i = -1;
+            }
+        }
+        return current.equals(value) ? Optional.empty() : Optional.of(current);
+    }
+
+    private int[] candidates(String value) {
+        int colon = value.indexOf(':');
+        if (colon > 0) {
+            int[] indexed = rulesByScheme.get(value.substring(0, colon));
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+        return rulesWithoutScheme.length == 0 ? NO_RULES : rulesWithoutScheme;
+    }
+
+    /**
+     * Returns the literal scheme the pattern requires, e.g. <i>pulsar</i> for <i>^pulsar:(.+)$</i>, or null if the
+     * scheme is not a plain literal or if the pattern has alternatives (e.g. <i>^a:(.*)|^b:(.*)</i>).
+     */
+    static @Nullable String literalScheme(String uriPattern) {
+        if (hasTopLevelAlternation(uriPattern)) {
+            return null;
+        }
+        int start = uriPattern.startsWith("^") ? 1 : 0;
+        for (int i = start; i < uriPattern.length(); i++) {
+            char c = uriPattern.charAt(i);
+            if (c == ':') {
+                return i > start ? uriPattern.substring(start, i) : null;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasTopLevelAlternation(String uriPattern) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = 0; i < uriPattern.length(); i++) {
+            char c = uriPattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "UriRewriteRules[rules=" + rules.length + ", schemes=" + rulesByScheme.keySet()
+                + ", withoutScheme=" + Arrays.toString(rulesWithoutScheme) + "]";
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+
+/**
+ * Counters of one Camel visitor, incremented by {@code executeVisitWithCatch}. The visit of a whole source file is
+ * timed by the visitor returned from {@link #timed}, which then adds the counters to the totals of the recipe.
+ */
+final class VisitMetrics {
+
+    private long invocations;
+    private long failures;
+
+    void invocation() {
+        invocations++;
+    }
+
+    void failure() {
+        failures++;
+    }
+
+    /**
+     * Adds the counters of the other visitor (e.g. a visitor fused into this one) and resets them.
+     */
+    void addAndReset(VisitMetrics other) {
+        invocations += other.invocations;
+        failures += other.failures;
+        other.invocations = 0;
+        other.failures = 0;
+    }
+
+    /**
+     * @return visitor timing the visit of each source file and adding the counters to the totals of the recipe
+     * declaring the visitor (see {@link CamelRecipeMetrics})
+     */
+    static TreeVisitor<?, ExecutionContext> timed(VisitMetrics metrics, TreeVisitor<?, ExecutionContext> visitor) {
+        String recipe = declaringRecipe(visitor.getClass());
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return visitor.isAcceptable(sourceFile, ctx);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof SourceFile)) {
+                    return visitor.visit(tree, ctx);
+                }
+                long start = System.nanoTime();
+                try {
+                    return visitor.visit(tree, ctx);
+                } finally {
+                    metrics.report(ctx, recipe, (SourceFile) tree, System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    /**
+     * The Camel visitors are declared by the recipes using them, the outermost class of the visitor is the recipe.
+     */
+    static String declaringRecipe(Class<?> visitorClass) {
+        Class<?> recipeClass = visitorClass;
+        while (recipeClass.getEnclosingClass() != null) {
+            recipeClass = recipeClass.getEnclosingClass();
+        }
+        return recipeClass.getName();
+    }
+
+    private void report(ExecutionContext ctx, String recipe, SourceFile sourceFile, long elapsed) {
+        CamelRecipeMetrics.record(ctx, recipe, sourceFile, invocations, failures, elapsed);
+        invocations = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.format.IndentsVisitor;
+import org.openrewrite.yaml.style.IndentsStyle;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Structural changes of a YAML source file scheduled while visiting it (see
+ * <i>AbstractCamelYamlVisitor.scheduleEntryChange</i>). Visitors fused by {@link FusedYamlDslRecipe} share the changes
+ * of the fusing visitor, so all of them are applied in one pass followed by a single re-indent.
+ */
+final class YamlStructuralChanges {
+
+    private final List<EntryChange> entryChanges = new ArrayList<>();
+    private boolean reindent;
+    private @Nullable UUID documentId;
+
+    /**
+     * Following changes are scheduled for the document.
+     */
+    void startDocument(UUID documentId) {
+        this.documentId = documentId;
+    }
+
+    void scheduleEntryChange(List<KeyPath> paths, UnaryOperator<Yaml.Mapping.Entry> change) {
+        entryChanges.add(new EntryChange(documentId, paths, change));
+    }
+
+    void requestReindent() {
+        reindent = true;
+    }
+
+    boolean isEmpty() {
+        return !reindent && entryChanges.isEmpty();
+    }
+
+    /**
+     * Applies the scheduled changes and re-indents the source file, the changes are cleared afterwards.
+     */
+    Yaml.Documents apply(Yaml.Documents documents, ExecutionContext executionContext) {
+        List<EntryChange> changes = new ArrayList<>(entryChanges);
+        entryChanges.clear();
+        reindent = false;
+
+        Yaml.Documents result = documents;
+        if (!changes.isEmpty()) {
+            result = (Yaml.Documents) new EntryChangesVisitor(changes).visitNonNull(result, executionContext);
+        }
+        return (Yaml.Documents) new IndentsVisitor<ExecutionContext>(new IndentsStyle(2), null).visitNonNull(result, executionContext);
+    }
+
+    private record EntryChange(@Nullable UUID documentId, List<KeyPath> paths, UnaryOperator<Yaml.Mapping.Entry> change) {
+    }
+
+    /**
+     * Applies all scheduled entry changes in one traversal, each change to the first matching entry of its document.
+     */
+    private static final class EntryChangesVisitor extends YamlIsoVisitor<ExecutionContext> {
+        private final List<EntryChange> pending;
+        private final PathStack path = new PathStack('.');
+        private @Nullable UUID documentId;
+
+        private EntryChangesVisitor(List<EntryChange> pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public Yaml.Document visitDocument(Yaml.Document document, ExecutionContext ctx) {
+            path.clear();
+            documentId = document.getId();
+            return super.visitDocument(document, ctx);
+        }
+
+        @Override
+        public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            path.push(entry.getKey().getValue());
+            try {
+                Yaml.Mapping.Entry e = super.visitMappingEntry(entry, ctx);
+                for (Iterator<EntryChange> it = pending.iterator(); it.hasNext(); ) {
+                    EntryChange change = it.next();
+                    if (Objects.equals(change.documentId(), documentId) && change.paths().stream().anyMatch(p -> p.matches(path))) {
+                        e = change.change().apply(e);
+                        it.remove();
+                    }
+                }
+                return e;
+            } finally {
+                path.pop();
+            }
+        }
+    }
+}
@@ -17,9 +17,9 @@
 package org.apache.camel.upgrade.camel40.java;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.ChangeLiteral;
 import org.openrewrite.java.tree.Expression;
@@ -31,7 +31,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-public class CamelBeanRecipe extends Recipe {
+public class CamelBeanRecipe extends AbstractCamelRecipe {
 
     private final String primitive[] = new String[] {
             "byte", "short", "int", "float", "double", "long", "char",
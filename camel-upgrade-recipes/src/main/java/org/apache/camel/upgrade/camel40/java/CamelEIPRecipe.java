@@ -17,14 +17,14 @@
 package org.apache.camel.upgrade.camel40.java;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.AddImport;
 import org.openrewrite.java.tree.J;
 
-public class CamelEIPRecipe extends Recipe {
+public class CamelEIPRecipe extends AbstractCamelRecipe {
 
     @Override
     public String getDisplayName() {
@@ -17,16 +17,46 @@
 package org.apache.camel.upgrade.camel40.java;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.ChangeType;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.tree.J;
 
-public class CamelHttpRecipe extends Recipe {
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CamelHttpRecipe extends AbstractCamelRecipe {
+
+    //types moved to Apache HttpComponents v5, each type is changed at most once per compilation unit
+    private static final Map<String, String> HTTP_CLIENT_5_TYPES = httpClient5Types();
+
+    private static Map<String, String> httpClient5Types() {
+        //the changes are scheduled in the order of insertion
+        Map<String, String> types = new LinkedHashMap<>();
+        types.put("org.apache.http.HttpHost",
+                "org.apache.hc.core5.http.HttpHost");
+        types.put("org.apache.http.client.protocol.HttpClientContext",
+                "org.apache.hc.client5.http.protocol.HttpClientContext");
+        types.put("org.apache.http.protocol.HttpContext",
+                "org.apache.hc.core5.http.protocol.HttpContext");
+        types.put("org.apache.http.impl.auth.BasicScheme",
+                "org.apache.hc.client5.http.impl.auth.BasicScheme");
+        types.put("org.apache.http.impl.client.BasicAuthCache",
+                "org.apache.hc.client5.http.impl.auth.BasicAuthCache");
+        types.put("org.apache.http.impl.client.BasicCredentialsProvider",
+                "org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider");
+        types.put("org.apache.http.auth.AuthScope",
+                "org.apache.hc.client5.http.auth.AuthScope");
+        types.put("org.apache.http.auth.UsernamePasswordCredentials",
+                "org.apache.hc.client5.http.auth.UsernamePasswordCredentials");
+        types.put("org.apache.http.conn.ssl.NoopHostnameVerifier",
+                "org.apache.hc.client5.http.conn.ssl.NoopHostnameVerifier");
+        return Collections.unmodifiableMap(types);
+    }
 
     @Override
     public String getDisplayName() {
@@ -44,42 +74,7 @@ public class CamelHttpRecipe extends Recipe {
         return RecipesUtil.newVisitor("org.apache.http..*", new AbstractCamelJavaVisitor() {
             @Override
             protected J.Import doVisitImport(J.Import _import, ExecutionContext ctx) {
-                doAfterVisit(
-                        new ChangeType(
-                                "org.apache.http.HttpHost",
-                                "org.apache.hc.core5.http.HttpHost", true).getVisitor());
-                doAfterVisit(
-                        new ChangeType(
-                                "org.apache.http.client.protocol.HttpClientContext",
-                                "org.apache.hc.client5.http.protocol.HttpClientContext", true).getVisitor());
-                doAfterVisit(
-                        new ChangeType(
-                                "org.apache.http.protocol.HttpContext",
-                                "org.apache.hc.core5.http.protocol.HttpContext", true).getVisitor());
-                doAfterVisit(
-                        new ChangeType(
-                                "org.apache.http.impl.auth.BasicScheme",
-                                "org.apache.hc.client5.http.impl.auth.BasicScheme", true).getVisitor());
-                doAfterVisit(
-                        new ChangeType(
-                                "org.apache.http.impl.client.BasicAuthCache",
-                                "org.apache.hc.client5.http.impl.auth.BasicAuthCache", true).getVisitor());
-                doAfterVisit(
-                        new ChangeType(
-                                "org.apache.http.impl.client.BasicCredentialsProvider",
-                                "org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider", true).getVisitor());
-                doAfterVisit(
-                        new ChangeType(
-                                "org.apache.http.auth.AuthScope",
-                                "org.apache.hc.client5.http.auth.AuthScope", true).getVisitor());
-                doAfterVisit(
-                        new ChangeType(
-                                "org.apache.http.auth.UsernamePasswordCredentials",
-                                "org.apache.hc.client5.http.auth.UsernamePasswordCredentials", true).getVisitor());
-                doAfterVisit(
-                        new ChangeType(
-                                "org.apache.http.conn.ssl.NoopHostnameVerifier",
-                                "org.apache.hc.client5.http.conn.ssl.NoopHostnameVerifier", true).getVisitor());
+                HTTP_CLIENT_5_TYPES.forEach(this::doAfterVisitChangeType);
 
                 return super.doVisitImport(_import, ctx);
             }
@@ -16,10 +16,12 @@
  */
 package org.apache.camel.upgrade.camel40.xml;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
@@ -70,7 +72,7 @@ import java.util.stream.Stream;
  * &lt;/circuitBreaker&gt;
  * </pre>
  */
-public class CircuitBreakerXmlDslRecipe extends Recipe {
+public class CircuitBreakerXmlDslRecipe extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
     private final static String RESILIENCE4J_XPATH = "*/circuitBreaker/resilience4jConfiguration";
     private static final XPathMatcher RESILIENCE4J_MATCHER = new XPathMatcher(RESILIENCE4J_XPATH);
@@ -101,47 +103,53 @@ public class CircuitBreakerXmlDslRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new AbstractCamelXmlVisitor() {
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
+
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new CircuitBreakerVisitor();
+    }
 
-            @Override
-            public  Xml.@Nullable Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
-                Xml.Tag t = super.doVisitTag(tag, ctx);
+    private static final class CircuitBreakerVisitor extends AbstractCamelXmlVisitor {
 
-                if (RESILIENCE4J_MATCHER.matches(getCursor())) {
-                    Map<String, String> values = ctx.pollMessage(RESILIENCE4J_XPATH);
+        CircuitBreakerVisitor() {
+            registerTagHandler("resilience4jConfiguration", RESILIENCE4J_MATCHER, (t, ctx) -> {
+                Map<String, String> values = ctx.pollMessage(RESILIENCE4J_XPATH);
 
-                    if (values != null && !values.isEmpty()) {
-                        //create list of values
-                        List<Xml.Attribute> toAdd = values.entrySet().stream()
-                                .map(e -> autoFormat(new Xml.Attribute(
-                                        Tree.randomId(), "", Markers.EMPTY,
-                                        new Xml.Ident(Tree.randomId(), "", Markers.EMPTY, e.getKey()),
-                                        "",
-                                        autoFormat(new Xml.Attribute.Value(
-                                                Tree.randomId(), "", Markers.EMPTY,
-                                                Xml.Attribute.Value.Quote.Double,
-                                                e.getValue()), ctx)),
-                                        ctx))
-                                .collect(Collectors.toList());
+                if (values != null && !values.isEmpty()) {
+                    //create list of values
+                    List<Xml.Attribute> toAdd = values.entrySet().stream()
+                            .map(e -> autoFormat(new Xml.Attribute(
+                                    Tree.randomId(), "", Markers.EMPTY,
+                                    new Xml.Ident(Tree.randomId(), "", Markers.EMPTY, e.getKey()),
+                                    "",
+                                    autoFormat(new Xml.Attribute.Value(
+                                            Tree.randomId(), "", Markers.EMPTY,
+                                            Xml.Attribute.Value.Quote.Double,
+                                            e.getValue()), ctx)),
+                                    ctx))
+                            .collect(Collectors.toList());
 
-                        return t.withAttributes(ListUtils.concatAll(t.getAttributes(), toAdd));
-                    }
+                    return t.withAttributes(ListUtils.concatAll(t.getAttributes(), toAdd));
                 }
+                return t;
+            });
 
-                for (Map.Entry<String, XPathMatcher> entry : ATTRIBUTE_MATCHERS.entrySet()) {
-                    if (entry.getValue().matches(getCursor())) {
-                        if (t.getValue().isPresent() && !t.getValue().get().isEmpty()) {
-                            Map<String, String> values = ctx.getMessage(RESILIENCE4J_XPATH, new LinkedHashMap<>());
-                            values.put(entry.getKey(), t.getValue().get());
-                            ctx.putMessage(RESILIENCE4J_XPATH, values);
-                        }
-                        //skip tag
-                        return null;
-                    }
+            ATTRIBUTE_MATCHERS.forEach((attribute, matcher) -> registerTagHandler(attribute, matcher, (t, ctx) -> {
+                if (t.getValue().isPresent() && !t.getValue().get().isEmpty()) {
+                    Map<String, String> values = ctx.getMessage(RESILIENCE4J_XPATH, new LinkedHashMap<>());
+                    values.put(attribute, t.getValue().get());
+                    ctx.putMessage(RESILIENCE4J_XPATH, values);
                 }
+                //skip tag
+                return null;
+            }));
+        }
 
-                return t;
-            }
-        };
+        @Override
+        public  Xml.@Nullable Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
     }
 }
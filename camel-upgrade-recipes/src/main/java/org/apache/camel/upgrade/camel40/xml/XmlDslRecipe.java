@@ -16,10 +16,12 @@
  */
 package org.apache.camel.upgrade.camel40.xml;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
@@ -52,7 +54,7 @@ import org.openrewrite.xml.tree.Xml;
  * &lt;/route&gt;
  * </pre>
  */
-public class XmlDslRecipe extends Recipe {
+public class XmlDslRecipe extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
     private static final XPathMatcher ROUTE_DESCRIPTION_XPATH_MATCHER = new XPathMatcher("/routes/route/description");
     private static final XPathMatcher ROUTE_XPATH_MATCHER = new XPathMatcher("/routes/route");
@@ -69,37 +71,44 @@ public class XmlDslRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new AbstractCamelXmlVisitor() {
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
 
-            @Override
-            public  Xml.@Nullable Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
-                Xml.Tag t = super.doVisitTag(tag, ctx);
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new XmlDslVisitor();
+    }
 
-                if (ROUTE_XPATH_MATCHER.matches(getCursor())) {
-                    String d = ctx.pollMessage("description");
-                    if (d != null) {
-                        return t.withAttributes(ListUtils.concat(t.getAttributes(),
-                                autoFormat(new Xml.Attribute(
-                                        Tree.randomId(), "", Markers.EMPTY,
-                                        new Xml.Ident(Tree.randomId(), "", Markers.EMPTY, "description"),
-                                        "",
-                                        autoFormat(new Xml.Attribute.Value(
-                                                Tree.randomId(), "", Markers.EMPTY,
-                                                Xml.Attribute.Value.Quote.Double,
-                                                d), ctx)),
-                                        ctx)));
-                    }
-                }
-                if (ROUTE_DESCRIPTION_XPATH_MATCHER.matches(getCursor())) {
-                    //save description into context for parent
-                    t.getValue().ifPresent(s -> ctx.putMessage("description", s));
-                    //skip tag
-                    return null;
+    private static final class XmlDslVisitor extends AbstractCamelXmlVisitor {
 
+        XmlDslVisitor() {
+            registerTagHandler("route", ROUTE_XPATH_MATCHER, (t, ctx) -> {
+                String d = ctx.pollMessage("description");
+                if (d != null) {
+                    return t.withAttributes(ListUtils.concat(t.getAttributes(),
+                            autoFormat(new Xml.Attribute(
+                                    Tree.randomId(), "", Markers.EMPTY,
+                                    new Xml.Ident(Tree.randomId(), "", Markers.EMPTY, "description"),
+                                    "",
+                                    autoFormat(new Xml.Attribute.Value(
+                                            Tree.randomId(), "", Markers.EMPTY,
+                                            Xml.Attribute.Value.Quote.Double,
+                                            d), ctx)),
+                                    ctx)));
                 }
-
                 return t;
-            }
-        };
+            });
+            registerTagHandler("description", ROUTE_DESCRIPTION_XPATH_MATCHER, (t, ctx) -> {
+                //save description into context for parent
+                t.getValue().ifPresent(s -> ctx.putMessage("description", s));
+                //skip tag
+                return null;
+            });
+        }
+
+        @Override
+        public  Xml.@Nullable Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
     }
 }
@@ -16,15 +16,12 @@
  */
 package org.apache.camel.upgrade.camel40.yaml;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.yaml.JsonPathMatcher;
-import org.openrewrite.yaml.format.IndentsVisitor;
-import org.openrewrite.yaml.style.IndentsStyle;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.ArrayList;
@@ -37,7 +34,7 @@ import static org.openrewrite.Tree.randomId;
  * Camel API changes requires several changes in YAML route definition. Route-configuration children sequence is
  * replaced with mappingEntry (with special migration of "on-exception")
  */
-public class CamelYamlRouteConfigurationSequenceRecipe extends Recipe {
+public class CamelYamlRouteConfigurationSequenceRecipe extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
     @Override
     public String getDisplayName() {
@@ -51,71 +48,64 @@ public class CamelYamlRouteConfigurationSequenceRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
 
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
-
-            private Yaml.Sequence sequenceToReplace;
-            private boolean indentRegistered = false;
-
-            @Override
-            protected void clearLocalCache() {
-                sequenceToReplace = null;
-            }
-
-            @Override
-            public Yaml.Sequence doVisitSequence(Yaml.Sequence sequence, ExecutionContext ctx) {
-                Yaml.Sequence s = super.doVisitSequence(sequence, ctx);
-
-                //if there is a sequence in a route-configuration, it has to be replaced with mapping
-                if (new JsonPathMatcher("$.route-configuration").matches(getCursor().getParent())) {
-                    this.sequenceToReplace = s;
-                }
-                return s;
-            }
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new RouteConfigurationVisitor();
+    }
 
-            @Override
-            public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
-
-                //if current mapping contains an entry with sequence belonging to route-configuration, remove the sequence
-                if (e.getValue() == sequenceToReplace) {
-                    List<Yaml.Mapping.Entry> entries = new ArrayList<>();
-                    for (Yaml.Sequence.Entry sEntry : sequenceToReplace.getEntries()) {
-
-                        if (sEntry.getBlock() instanceof Yaml.Mapping) {
-                            ((Yaml.Mapping) sEntry.getBlock()).getEntries().forEach(y -> {
-                                //if entry is on-exception from the route-configuration sequence, it has to be handled differently
-                                if ("on-exception".equals(y.getKey().getValue())) {
-                                    Yaml.Sequence newSequence = sequenceToReplace.copyPaste();
-                                    //keep only on-exception item
-                                    List<Yaml.Sequence.Entry> filteredEntries = newSequence.getEntries().stream()
-                                            .filter(se -> ((Yaml.Mapping) se.getBlock()).getEntries().stream()
-                                                    .filter(me -> "on-exception".equals(me.getKey().getValue())).findFirst()
-                                                    .isPresent())
-                                            .collect(Collectors.toList());
-
-                                    entries.add(y.withValue(newSequence.withEntries(filteredEntries)).withPrefix("\n"));
-                                } else {
-                                    entries.add(y.withPrefix("\n"));
-                                }
-                            });
+    private static final class RouteConfigurationVisitor extends AbstractCamelYamlVisitor {
+
+        RouteConfigurationVisitor() {
+            //if there is a sequence in a route-configuration, it has to be replaced with mapping
+            registerKeyHandler("$.route-configuration", (e, ctx) ->
+                    e.getValue() instanceof Yaml.Sequence ? replaceSequence(e, (Yaml.Sequence) e.getValue()) : e);
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do
+        }
+
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
+
+        private Yaml.Mapping.Entry replaceSequence(Yaml.Mapping.Entry e, Yaml.Sequence sequenceToReplace) {
+            List<Yaml.Mapping.Entry> entries = new ArrayList<>();
+            for (Yaml.Sequence.Entry sEntry : sequenceToReplace.getEntries()) {
+
+                if (sEntry.getBlock() instanceof Yaml.Mapping) {
+                    ((Yaml.Mapping) sEntry.getBlock()).getEntries().forEach(y -> {
+                        //if entry is on-exception from the route-configuration sequence, it has to be handled differently
+                        if ("on-exception".equals(y.getKey().getValue())) {
+                            Yaml.Sequence newSequence = sequenceToReplace.copyPaste();
+                            //keep only on-exception item
+                            List<Yaml.Sequence.Entry> filteredEntries = newSequence.getEntries().stream()
+                                    .filter(se -> ((Yaml.Mapping) se.getBlock()).getEntries().stream()
+                                            .filter(me -> "on-exception".equals(me.getKey().getValue())).findFirst()
+                                            .isPresent())
+                                    .collect(Collectors.toList());
+
+                            entries.add(y.withValue(newSequence.withEntries(filteredEntries)).withPrefix("\n"));
+                        } else {
+                            entries.add(y.withPrefix("\n"));
                         }
-                    }
-                    Yaml.Mapping.Entry resultr = e.withValue(new Yaml.Mapping(
-                            randomId(), sequenceToReplace.getMarkers(), sequenceToReplace.getOpeningBracketPrefix(), entries,
-                            null, null, null));
-
-                    if (!indentRegistered) {
-                        indentRegistered = true;
-                        //TODO might probably change indent in original file, may this happen?
-                        doAfterVisit(new IndentsVisitor(new IndentsStyle(2), null));
-                    }
-
-                    return resultr;
+                    });
                 }
-                return e;
             }
-        });
+            Yaml.Mapping.Entry resultr = e.withValue(new Yaml.Mapping(
+                    randomId(), sequenceToReplace.getMarkers(), sequenceToReplace.getOpeningBracketPrefix(), entries,
+                    null, null, null));
+
+            //TODO might probably change indent in original file, may this happen?
+            requestReindent();
+
+            return resultr;
+        }
     }
 
 }
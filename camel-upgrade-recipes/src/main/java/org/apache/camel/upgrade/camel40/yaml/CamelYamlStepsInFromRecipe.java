@@ -16,18 +16,14 @@
  */
 package org.apache.camel.upgrade.camel40.yaml;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.yaml.JsonPathMatcher;
-import org.openrewrite.yaml.YamlIsoVisitor;
-import org.openrewrite.yaml.format.IndentsVisitor;
-import org.openrewrite.yaml.style.IndentsStyle;
 import org.openrewrite.yaml.tree.Yaml;
 
 /**
@@ -55,9 +51,7 @@ import org.openrewrite.yaml.tree.Yaml;
  *       - log: "message"
  * </pre>
  */
-public class CamelYamlStepsInFromRecipe extends Recipe {
-    private static final JsonPathMatcher MATCHER_WITHOUT_ROUTE = new JsonPathMatcher("$.steps");
-    private static final JsonPathMatcher MATCHER_WITH_ROUTE = new JsonPathMatcher("$.route.steps");
+public class CamelYamlStepsInFromRecipe extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
     @Override
     public String getDisplayName() {
@@ -71,66 +65,53 @@ public class CamelYamlStepsInFromRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
 
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
-            //both variables has to be set to null, to mark the migration done
-            Yaml.Mapping from = null;
-            Yaml.Mapping.Entry steps = null;
-
-            @Override
-            protected void clearLocalCache() {
-                //do nothing
-            }
-
-            @Override
-            public  Yaml.Mapping.@Nullable Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
-
-                if (steps == null && (MATCHER_WITH_ROUTE.matches(getCursor()) || MATCHER_WITHOUT_ROUTE.matches(getCursor()))) {
-                    steps = e;
-                    if (from != null) {
-                        moveSteps();
-                    }
-                    return null;
-                }
-                return e;
-
-            }
-
-            @Override
-            public Yaml.Mapping doVisitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
-                Yaml.Mapping m = super.doVisitMapping(mapping, ctx);
-
-                String prop = RecipesUtil.getProperty(getCursor());
-                if (("route.from".equals(prop) || "from".equals(prop)) && from == null) {
-                    from = m;
-                    if (steps != null) {
-                        moveSteps();
-                    }
-                }
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new StepsInFromVisitor();
+    }
 
-                return m;
-            }
+    private static final class StepsInFromVisitor extends AbstractCamelYamlVisitor {
 
-            private void moveSteps() {
-                doAfterVisit(new YamlIsoVisitor<ExecutionContext>() {
+        //only the first steps of the source file are moved
+        private boolean stepsMoved = false;
 
-                    @Override
-                    public Yaml.Mapping visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
-                        Yaml.Mapping m = super.visitMapping(mapping, ctx);
+        StepsInFromVisitor() {
+            registerKeyHandler("$.route.steps", (e, ctx) -> moveSteps(e, "$.route.from"));
+            registerKeyHandler("$.steps", (e, ctx) -> moveSteps(e, "$.from"));
+        }
 
-                        if (m == from) {
-                            m = m.withEntries(ListUtils.concat(m.getEntries(), steps.copyPaste().withPrefix("\n")));
-                        }
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do, the visitor is created for each source file
+        }
 
-                        return m;
-                    }
-                });
+        @Override
+        public Yaml.Mapping.@Nullable Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
 
-                //TODO might probably change indent in original file, may this happen?
-                doAfterVisit(new IndentsVisitor(new IndentsStyle(2), null));
+        private Yaml.Mapping.@Nullable Entry moveSteps(Yaml.Mapping.Entry steps, String fromPath) {
+            //steps without a sibling 'from' are kept
+            if (stepsMoved || !hasSiblingFrom()) {
+                return steps;
             }
-        });
+            stepsMoved = true;
+
+            //steps are appended to the 'from' once the whole document is visited
+            scheduleEntryChange(from -> from.withValue(((Yaml.Mapping) from.getValue()).withEntries(
+                    ListUtils.concat(((Yaml.Mapping) from.getValue()).getEntries(), steps.copyPaste().withPrefix("\n")))),
+                    fromPath);
+            return null;
+        }
+
+        private boolean hasSiblingFrom() {
+            Object parent = getCursor().getParentOrThrow().getValue();
+            return parent instanceof Yaml.Mapping && ((Yaml.Mapping) parent).getEntries().stream()
+                    .anyMatch(e -> "from".equals(e.getKey().getValue()) && e.getValue() instanceof Yaml.Mapping);
+        }
     }
 
 }
@@ -16,9 +16,11 @@
  */
 package org.apache.camel.upgrade.camel41;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
@@ -54,7 +56,7 @@ import java.util.Optional;
  *     &lt;/bean&gt;
  * </pre>
  */
-public class XmlDslRecipe extends Recipe {
+public class XmlDslRecipe extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
     private static final XPathMatcher XML_BEAN_MATCHER = new XPathMatcher("*/bean");
 
@@ -70,42 +72,55 @@ public class XmlDslRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new AbstractCamelXmlVisitor() {
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
+
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new ScriptBeanVisitor();
+    }
+
+    private static final class ScriptBeanVisitor extends AbstractCamelXmlVisitor {
 
-            @Override
-            public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
-                Xml.Tag t = super.doVisitTag(tag, ctx);
+        ScriptBeanVisitor() {
+            registerTagHandler("bean", XML_BEAN_MATCHER, (t, ctx) -> migrateScriptBean(t));
+        }
 
-                if (XML_BEAN_MATCHER.matches(getCursor()) && t.getChild("script").isPresent()) {
-                    //type ans beanType has to be present in the attributes
-                    //and their values has to be gathered
-                    Optional<Xml.Attribute> typeAttr
-                            = t.getAttributes().stream().filter(a -> "type".equals(a.getKeyAsString())).findAny();
-                    Optional<Xml.Attribute> beanTypeAttr
-                            = t.getAttributes().stream().filter(a -> "beanType".equals(a.getKeyAsString())).findAny();
-                    //if values are not empty, migrate tag
-                    if (typeAttr.isPresent() && !typeAttr.get().getValueAsString().isEmpty() && beanTypeAttr.isPresent() &&
-                            !beanTypeAttr.get().getValueAsString().isEmpty()) {
-                        Xml.Attribute.Value tmp = typeAttr.get().getValue();
-                        Xml.Attribute newType = typeAttr.get().withValue(beanTypeAttr.get().getValue());
-                        Xml.Attribute newScriptLang = beanTypeAttr.get()
-                                .withKey(new Xml.Ident(Tree.randomId(), "", Markers.EMPTY, "scriptLanguage")).withValue(tmp);
+        @Override
+        public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
 
-                        t = t.withAttributes(ListUtils.map(t.getAttributes(), attr -> {
-                            if (attr == typeAttr.get()) {
-                                return newType;
-                            }
-                            if (attr == beanTypeAttr.get()) {
-                                return newScriptLang;
-                            }
-                            return attr;
-                        }));
-                    }
+        private Xml.Tag migrateScriptBean(Xml.Tag t) {
+            if (t.getChild("script").isPresent()) {
+                //type ans beanType has to be present in the attributes
+                //and their values has to be gathered
+                Optional<Xml.Attribute> typeAttr
+                        = t.getAttributes().stream().filter(a -> "type".equals(a.getKeyAsString())).findAny();
+                Optional<Xml.Attribute> beanTypeAttr
+                        = t.getAttributes().stream().filter(a -> "beanType".equals(a.getKeyAsString())).findAny();
+                //if values are not empty, migrate tag
+                if (typeAttr.isPresent() && !typeAttr.get().getValueAsString().isEmpty() && beanTypeAttr.isPresent() &&
+                        !beanTypeAttr.get().getValueAsString().isEmpty()) {
+                    Xml.Attribute.Value tmp = typeAttr.get().getValue();
+                    Xml.Attribute newType = typeAttr.get().withValue(beanTypeAttr.get().getValue());
+                    Xml.Attribute newScriptLang = beanTypeAttr.get()
+                            .withKey(new Xml.Ident(Tree.randomId(), "", Markers.EMPTY, "scriptLanguage")).withValue(tmp);
 
+                    t = t.withAttributes(ListUtils.map(t.getAttributes(), attr -> {
+                        if (attr == typeAttr.get()) {
+                            return newType;
+                        }
+                        if (attr == beanTypeAttr.get()) {
+                            return newScriptLang;
+                        }
+                        return attr;
+                    }));
                 }
 
-                return t;
             }
-        };
+
+            return t;
+        }
     }
 }
@@ -16,14 +16,12 @@
  */
 package org.apache.camel.upgrade.camel41;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
-import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.List;
@@ -57,9 +55,7 @@ import java.util.Optional;
  *         # groovy script here
  * </pre>
  */
-public class YamlDslRecipe extends Recipe {
-
-    private static final JsonPathMatcher MATCHER_WITHOUT_ROUTE = new JsonPathMatcher("$.beans");
+public class YamlDslRecipe extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
     @Override
     public String getDisplayName() {
@@ -73,51 +69,61 @@ public class YamlDslRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
 
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new ScriptBeanVisitor();
+    }
 
-            @Override
-            protected void clearLocalCache() {
-                //nothing to do
-            }
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
 
-            @Override
-            public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
-
-                //getCursor().getParent() is mapping with 4 entries -> I can check the siblings
-                //parent(4) is beans
-                Cursor parent4 = getCursor().getParent(4);
-                //check that this mapping entry is currently under "beans" sequence
-                //parent(2) has to be mapping (represents the bean)
-                if (parent4 != null && parent4.getParent() != null && MATCHER_WITHOUT_ROUTE.matches(parent4) &&
-                        getCursor().getParent().getValue() instanceof Yaml.Mapping) {
-                    //get entries
-                    Yaml.Mapping m = getCursor().getParent().getValue();
-                    List<Yaml.Mapping.Entry> entries = m.getEntries();
-                    Optional<Yaml.Mapping.Entry> typeEntry
-                            = entries.stream().filter(me -> "type".equals(me.getKey().getValue())).findAny();
-                    Optional<Yaml.Mapping.Entry> beanTypeEntry
-                            = entries.stream().filter(me -> "beanType".equals(me.getKey().getValue())).findAny();
-
-                    if (typeEntry.isPresent() && typeEntry.get().getValue() instanceof Yaml.Scalar &&
-                            !((Yaml.Scalar) typeEntry.get().getValue()).getValue().isEmpty() &&
-                            beanTypeEntry.isPresent() && beanTypeEntry.get().getValue() instanceof Yaml.Scalar &&
-                            !((Yaml.Scalar) beanTypeEntry.get().getValue()).getValue().isEmpty()) {
-
-                        //modify the current entry
-                        if ("type".equals(e.getKey().getValue())) {
-                            return e.withKey(((Yaml.Scalar) entry.getKey().copyPaste()).withValue("scriptLanguage"));
-                        }
-                        if ("beanType".equals(e.getKey().getValue())) {
-                            return e.withKey(((Yaml.Scalar) entry.getKey().copyPaste()).withValue("type"));
-                        }
-                    }
-                }
+    private static final class ScriptBeanVisitor extends AbstractCamelYamlVisitor {
 
+        ScriptBeanVisitor() {
+            //entries of a bean under "beans" sequence
+            registerKeyHandler("$.beans.type", (e, ctx) -> renameIfScript(e, "scriptLanguage"));
+            registerKeyHandler("$.beans.beanType", (e, ctx) -> renameIfScript(e, "type"));
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do
+        }
+
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
+
+        private Yaml.Mapping.Entry renameIfScript(Yaml.Mapping.Entry e, String newKey) {
+            //parent has to be mapping (represents the bean) -> I can check the siblings
+            if (!(getCursor().getParent().getValue() instanceof Yaml.Mapping)) {
                 return e;
             }
-        });
+            //get entries
+            Yaml.Mapping m = getCursor().getParent().getValue();
+            List<Yaml.Mapping.Entry> entries = m.getEntries();
+            Optional<Yaml.Mapping.Entry> typeEntry
+                    = entries.stream().filter(me -> "type".equals(me.getKey().getValue())).findAny();
+            Optional<Yaml.Mapping.Entry> beanTypeEntry
+                    = entries.stream().filter(me -> "beanType".equals(me.getKey().getValue())).findAny();
+
+            if (typeEntry.isPresent() && typeEntry.get().getValue() instanceof Yaml.Scalar &&
+                    !((Yaml.Scalar) typeEntry.get().getValue()).getValue().isEmpty() &&
+                    beanTypeEntry.isPresent() && beanTypeEntry.get().getValue() instanceof Yaml.Scalar &&
+                    !((Yaml.Scalar) beanTypeEntry.get().getValue()).getValue().isEmpty()) {
+
+                //modify the current entry
+                return e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue(newKey));
+            }
+
+            return e;
+        }
     }
 
 }
@@ -16,11 +16,12 @@
  */
 package org.apache.camel.upgrade.camel410;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.xml.XPathMatcher;
 import org.openrewrite.xml.tree.Xml;
 
 import java.util.Map;
@@ -31,11 +32,11 @@ import java.util.Map;
  * </p>
  * In <intercept> and <interceptSendToEndpoint> then <when> has been renamed to <onWhen>.
  */
-public class XmlDsl410Recipe extends Recipe {
+public class XmlDsl410Recipe extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
-    private static final Map<XPathMatcher, String> transformations = Map.of(
-            new XPathMatcher("//intercept/when"), "onWhen",
-            new XPathMatcher("//interceptSendToEndpoint/when"), "onWhen"
+    private static final Map<String, String> transformations = Map.of(
+            "//intercept/when", "onWhen",
+            "//interceptSendToEndpoint/when", "onWhen"
     );
 
     @Override
@@ -50,20 +51,29 @@ public class XmlDsl410Recipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new AbstractCamelXmlVisitor() {
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
+
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new XmlDsl410Visitor();
+    }
+
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    private static final class XmlDsl410Visitor extends AbstractCamelXmlVisitor {
 
-            @Override
-            public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
-                Xml.Tag t = super.doVisitTag(tag, ctx);
+        XmlDsl410Visitor() {
+            //rename tags
+            transformations.forEach((xPath, newName) -> registerTagHandler(xPath, (t, ctx) -> t.withName(newName)));
+        }
 
-                //rename tags
-                return transformations.entrySet().stream()
-                        .filter(e -> e.getKey().matches(getCursor()))
-                        //rename tag
-                        .map(e -> t.withName(e.getValue()))
-                        .findAny()
-                        .orElse(t);
-            }
-        };
+        @Override
+        public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
     }
 }
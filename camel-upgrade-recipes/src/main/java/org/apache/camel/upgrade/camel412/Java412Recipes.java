@@ -17,16 +17,16 @@
 package org.apache.camel.upgrade.camel412;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.tree.J;
 
 /**
  * <a href="https://camel.apache.org/manual/camel-4x-upgrade-guide-4_12.html#_java_dsl">Java DSL</a>
  */
-public class Java412Recipes extends Recipe {
+public class Java412Recipes extends AbstractCamelRecipe {
 
     private static final String M_END_CHOICE = "org.apache.camel.model.ChoiceDefinition endChoice()";
 
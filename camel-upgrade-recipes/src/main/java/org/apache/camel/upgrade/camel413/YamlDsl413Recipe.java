@@ -16,21 +16,23 @@
  */
 package org.apache.camel.upgrade.camel413;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
+import java.util.function.UnaryOperator;
+
 /**
  * <p>
  * <a href="https://camel.apache.org/manual/camel-4x-upgrade-guide-4_13.html#_camel_yaml_dsl">YML DSL</a>
  * </p>
  * Kebab-case is changed to camelCase.
  */
-public class YamlDsl413Recipe extends Recipe {
+public class YamlDsl413Recipe extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
     @Override
     public String getDisplayName() {
@@ -44,18 +46,35 @@ public class YamlDsl413Recipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
 
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new KebabCaseVisitor();
+    }
 
-            @Override
-            protected void clearLocalCache() {
-                //nothing to do
-            }
+    @Override
+    public UnaryOperator<String> getKeyRenamer() {
+        //keys of the following recipes are seen in camelCase, if fused
+        return RecipesUtil::kebabCaseToCamelCase;
+    }
 
-            @Override
-            public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    @Override
+    public boolean inspectsParent() {
+        return false;
+    }
+
+    private static final class KebabCaseVisitor extends AbstractCamelYamlVisitor {
 
+        KebabCaseVisitor() {
+            //every key is checked
+            registerEntryHandler((e, ctx) -> {
                 //switch kebabC-case to camelCase if possible
                 if(e.getKey() instanceof Yaml.Scalar) {
                     String origValue = e.getKey().getValue();
@@ -65,16 +84,24 @@ public class YamlDsl413Recipe extends Recipe {
                     }
                 }
 
-                String path = RecipesUtil.getProperty(getCursor());
                 //yaml fury marshal
-                if(path.endsWith("unmarshal.fury") || path.endsWith("marshal.fury")) {
+                if(pathEndsWith("unmarshal.fury") || pathEndsWith("marshal.fury")) {
                     return e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue("fory"));
                 }
 
                 return e;
-            }
+            });
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do
+        }
 
-        });
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
     }
 
 }
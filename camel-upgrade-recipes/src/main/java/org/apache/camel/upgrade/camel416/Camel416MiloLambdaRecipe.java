@@ -1,9 +1,9 @@
 package org.apache.camel.upgrade.camel416;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.MethodMatcher;
@@ -19,7 +19,7 @@ import java.util.List;
 /**
  * <a href="https://camel.apache.org/manual/camel-4x-upgrade-guide-4_16.html#_subscription_monitoring_api_changes">Java Milo Subscription API changes</a>
  */
-public class Camel416MiloLambdaRecipe extends Recipe {
+public class Camel416MiloLambdaRecipe extends AbstractCamelRecipe {
 
     private static final MethodMatcher MATCHER =
             new MethodMatcher("org.eclipse.milo.opcua.sdk.client.subscriptions.OpcUaMonitoredItem setValueConsumer(java.util.function.Consumer)"); //todo use consumer
@@ -76,7 +76,6 @@ public class Camel416MiloLambdaRecipe extends Recipe {
                     List<J> newParameters = Arrays.asList(newVds, existingParam);
                     l = l.withParameters(l.getParameters().withParameters(newParameters).withParenthesized(true));
 
-
                     //change parameters and method name
                     mi = mi.withName(mi.getName().withSimpleName("setDataValueListener"));
                     mi = mi.withArguments(Collections.singletonList(l));
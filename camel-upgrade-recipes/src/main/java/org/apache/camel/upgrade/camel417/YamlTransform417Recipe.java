@@ -16,13 +16,12 @@
  */
 package org.apache.camel.upgrade.camel417;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.tree.Yaml;
 
 /**
@@ -30,7 +29,7 @@ import org.openrewrite.yaml.tree.Yaml;
  * <a href="https://camel.apache.org/manual/camel-4x-upgrade-guide-4_17.html#_camel_core">camel-core for yaml</a>
  * </p>
  */
-public class YamlTransform417Recipe extends Recipe {
+public class YamlTransform417Recipe extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
     @Override
     public String getDisplayName() {
@@ -42,31 +41,42 @@ public class YamlTransform417Recipe extends Recipe {
         return "Apache Camel YML DSL migration from version 4.16 o 4.17.";
     }
 
-    private static final JsonPathMatcher pathMatcher = new JsonPathMatcher("$..route..steps.transform");
-
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
 
-         return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new TransformVisitor();
+    }
 
-            @Override
-            protected void clearLocalCache() {
-                //nothing to do
-            }
+    @Override
+    public boolean inspectsParent() {
+        return false;
+    }
 
-            @Override
-            public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
+    private static final class TransformVisitor extends AbstractCamelYamlVisitor {
 
-                //rename entry only if there is a child entry 'toType'
-                if(pathMatcher.matches(getCursor()) && ((Yaml.Mapping)entry.getValue()).getEntries().stream().anyMatch(en -> en.getKey().getValue().equals("toType"))) {
-                    e = entry.withKey(((Yaml.Scalar) entry.getKey().copyPaste()).withValue("transformDataType"));
+        TransformVisitor() {
+            //rename entry only if there is a child entry 'toType'
+            registerKeyHandler("$..route..steps.transform", (e, ctx) -> {
+                if (((Yaml.Mapping) e.getValue()).getEntries().stream().anyMatch(en -> en.getKey().getValue().equals("toType"))) {
+                    return e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue("transformDataType"));
                 }
-
                 return e;
-            }
+            });
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do
+        }
 
-        });
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
     }
 
 }
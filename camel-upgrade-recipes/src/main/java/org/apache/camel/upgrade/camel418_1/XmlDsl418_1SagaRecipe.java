@@ -16,9 +16,11 @@
  */
 package org.apache.camel.upgrade.camel418_1;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.xml.XPathMatcher;
@@ -33,7 +35,7 @@ import java.util.Optional;
  * Changed model for configuring completion and compensation URIs in XML DSL.
  * Converts child elements to attributes.
  */
-public class XmlDsl418_1SagaRecipe extends Recipe {
+public class XmlDsl418_1SagaRecipe extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
     private static final XPathMatcher SAGA_MATCHER = new XPathMatcher("//saga");
 
@@ -49,68 +51,73 @@ public class XmlDsl418_1SagaRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new AbstractCamelXmlVisitor() {
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
+
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new SagaVisitor();
+    }
 
-            @Override
-            public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
-                Xml.Tag t = super.doVisitTag(tag, ctx);
+    private static final class SagaVisitor extends AbstractCamelXmlVisitor {
 
-                if (SAGA_MATCHER.matches(getCursor())) {
-                    t = convertChildElementToAttribute(t, "compensation");
-                    t = convertChildElementToAttribute(t, "completion");
-                }
+        SagaVisitor() {
+            registerTagHandler("saga", SAGA_MATCHER, (t, ctx) ->
+                    convertChildElementToAttribute(convertChildElementToAttribute(t, "compensation"), "completion"));
+        }
 
+        @Override
+        public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
+
+        private Xml.Tag convertChildElementToAttribute(Xml.Tag t, String elementName) {
+            Optional<Xml.Tag> childTag = t.getChildren().stream()
+                    .filter(child -> elementName.equals(child.getName()))
+                    .findFirst();
+
+            if (childTag.isEmpty()) {
                 return t;
             }
 
-            private Xml.Tag convertChildElementToAttribute(Xml.Tag t, String elementName) {
-                Optional<Xml.Tag> childTag = t.getChildren().stream()
-                        .filter(child -> elementName.equals(child.getName()))
-                        .findFirst();
-
-                if (childTag.isEmpty()) {
-                    return t;
-                }
-
-                Xml.Tag found = childTag.get();
-                String uri = null;
-
-                Optional<Xml.Attribute> uriAttr = found.getAttributes().stream()
-                        .filter(attr -> "uri".equals(attr.getKeyAsString()))
-                        .findFirst();
-
-                if (uriAttr.isPresent()) {
-                    uri = uriAttr.get().getValueAsString();
-                } else if (found.getValue().isPresent()) {
-                    uri = found.getValue().get().trim();
-                }
-
-                if (uri == null || uri.isEmpty()) {
-                    return t;
-                }
-
-                if (t.getAttributes().stream().anyMatch(a -> elementName.equals(a.getKeyAsString()))) {
-                    return t;
-                }
-
-                t = t.withContent(ListUtils.flatMap(t.getContent(), content ->
-                        content instanceof Xml.Tag && elementName.equals(((Xml.Tag) content).getName()) ? null : content));
-
-                return t.withAttributes(ListUtils.concat(t.getAttributes(), new Xml.Attribute(
-                        org.openrewrite.Tree.randomId(),
-                        " ",
-                        org.openrewrite.marker.Markers.EMPTY,
-                        new Xml.Ident(org.openrewrite.Tree.randomId(), "", org.openrewrite.marker.Markers.EMPTY, elementName),
-                        "",
-                        new Xml.Attribute.Value(
-                                org.openrewrite.Tree.randomId(),
-                                "",
-                                org.openrewrite.marker.Markers.EMPTY,
-                                Xml.Attribute.Value.Quote.Double,
-                                uri
-                        )
-                )));
+            Xml.Tag found = childTag.get();
+            String uri = null;
+
+            Optional<Xml.Attribute> uriAttr = found.getAttributes().stream()
+                    .filter(attr -> "uri".equals(attr.getKeyAsString()))
+                    .findFirst();
+
+            if (uriAttr.isPresent()) {
+                uri = uriAttr.get().getValueAsString();
+            } else if (found.getValue().isPresent()) {
+                uri = found.getValue().get().trim();
             }
-        };
+
+            if (uri == null || uri.isEmpty()) {
+                return t;
+            }
+
+            if (t.getAttributes().stream().anyMatch(a -> elementName.equals(a.getKeyAsString()))) {
+                return t;
+            }
+
+            t = t.withContent(ListUtils.flatMap(t.getContent(), content ->
+                    content instanceof Xml.Tag && elementName.equals(((Xml.Tag) content).getName()) ? null : content));
+
+            return t.withAttributes(ListUtils.concat(t.getAttributes(), new Xml.Attribute(
+                    org.openrewrite.Tree.randomId(),
+                    " ",
+                    org.openrewrite.marker.Markers.EMPTY,
+                    new Xml.Ident(org.openrewrite.Tree.randomId(), "", org.openrewrite.marker.Markers.EMPTY, elementName),
+                    "",
+                    new Xml.Attribute.Value(
+                            org.openrewrite.Tree.randomId(),
+                            "",
+                            org.openrewrite.marker.Markers.EMPTY,
+                            Xml.Attribute.Value.Quote.Double,
+                            uri
+                    )
+            )));
+        }
     }
 }
@@ -16,13 +16,12 @@
  */
 package org.apache.camel.upgrade.camel418_1;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.tree.Yaml;
 
 /**
@@ -32,10 +31,10 @@ import org.openrewrite.yaml.tree.Yaml;
  * Changed model for configuring completion and compensation URIs in YAML DSL.
  * Flattens nested uri fields to direct attribute values.
  */
-public class YamlDsl418_1SagaRecipe extends Recipe {
+public class YamlDsl418_1SagaRecipe extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
-    private static final JsonPathMatcher COMPENSATION_MATCHER = new JsonPathMatcher("$..saga.compensation");
-    private static final JsonPathMatcher COMPLETION_MATCHER = new JsonPathMatcher("$..saga.completion");
+    private static final String COMPENSATION_PATH = "$..saga.compensation";
+    private static final String COMPLETION_PATH = "$..saga.completion";
 
     @Override
     public String getDisplayName() {
@@ -49,37 +48,52 @@ public class YamlDsl418_1SagaRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
 
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new SagaVisitor();
+    }
 
-            @Override
-            protected void clearLocalCache() {
-                //nothing to do
-            }
+    @Override
+    public boolean inspectsParent() {
+        return false;
+    }
+
+    private static final class SagaVisitor extends AbstractCamelYamlVisitor {
 
-            @Override
-            public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
+        SagaVisitor() {
+            registerKeyHandler(COMPENSATION_PATH, (e, ctx) -> flattenUri(e));
+            registerKeyHandler(COMPLETION_PATH, (e, ctx) -> flattenUri(e));
+        }
 
-                // Check if this is compensation or completion with nested uri
-                if ((COMPENSATION_MATCHER.matches(getCursor()) || COMPLETION_MATCHER.matches(getCursor())) &&
-                    entry.getValue() instanceof Yaml.Mapping) {
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do
+        }
 
-                    Yaml.Mapping nestedMapping = (Yaml.Mapping) entry.getValue();
-                    // Look for uri field in nested mapping
-                    for (Yaml.Mapping.Entry nestedEntry : nestedMapping.getEntries()) {
-                        if (nestedEntry.getKey() instanceof Yaml.Scalar &&
-                            "uri".equals(((Yaml.Scalar) nestedEntry.getKey()).getValue()) &&
-                            nestedEntry.getValue() instanceof Yaml.Scalar) {
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
 
-                            // Replace the nested mapping with just the uri scalar value
-                            return entry.withValue(nestedEntry.getValue());
-                        }
+        // compensation or completion with nested uri
+        private Yaml.Mapping.Entry flattenUri(Yaml.Mapping.Entry e) {
+            if (e.getValue() instanceof Yaml.Mapping) {
+                Yaml.Mapping nestedMapping = (Yaml.Mapping) e.getValue();
+                // Look for uri field in nested mapping
+                for (Yaml.Mapping.Entry nestedEntry : nestedMapping.getEntries()) {
+                    if (nestedEntry.getKey() instanceof Yaml.Scalar &&
+                        "uri".equals(((Yaml.Scalar) nestedEntry.getKey()).getValue()) &&
+                        nestedEntry.getValue() instanceof Yaml.Scalar) {
+
+                        // Replace the nested mapping with just the uri scalar value
+                        return e.withValue(nestedEntry.getValue());
                     }
                 }
-
-                return e;
             }
-        });
+            return e;
+        }
     }
 }
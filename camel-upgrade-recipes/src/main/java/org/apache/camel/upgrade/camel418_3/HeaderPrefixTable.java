@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.camel418_3;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prefix trie of header prefix renames, shared by the header prefix visitors of all DSLs.
+ * <p>
+ * A header name is matched against all configured prefixes with a single walk over its characters,
+ * the longest matching prefix wins.
+ * </p>
+ */
+final class HeaderPrefixTable {
+
+    private final Node root = new Node();
+    private boolean empty = true;
+
+    private HeaderPrefixTable() {
+    }
+
+    static HeaderPrefixTable of(String oldPrefix, String newPrefix) {
+        HeaderPrefixTable table = new HeaderPrefixTable();
+        table.add(oldPrefix, newPrefix);
+        return table;
+    }
+
+    static HeaderPrefixTable compile(@Nullable Map<String, String> prefixMappings) {
+        HeaderPrefixTable table = new HeaderPrefixTable();
+        if (prefixMappings != null) {
+            prefixMappings.forEach(table::add);
+        }
+        return table;
+    }
+
+    private void add(@Nullable String oldPrefix, @Nullable String newPrefix) {
+        if (oldPrefix == null || oldPrefix.isEmpty() || newPrefix == null) {
+            return;
+        }
+        Node node = root;
+        for (int i = 0; i < oldPrefix.length(); i++) {
+            node = node.children.computeIfAbsent(oldPrefix.charAt(i), c -> new Node());
+        }
+        // first mapping of the same prefix wins
+        if (node.newPrefix == null) {
+            node.newPrefix = newPrefix;
+            empty = false;
+        }
+    }
+
+    /**
+     * @return header name with the longest matching prefix replaced, or null if no prefix matches
+     */
+    @Nullable
+    String rename(@Nullable String headerName) {
+        return headerName == null ? null : rename(headerName, headerName.length());
+    }
+
+    /**
+     * Same as {@link #rename(String)}, but the prefix has to be followed by at least one more character.
+     */
+    @Nullable
+    String renameWithSuffix(@Nullable String headerName) {
+        return headerName == null ? null : rename(headerName, headerName.length() - 1);
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    private @Nullable String rename(String headerName, int maxPrefixLength) {
+        Node node = root;
+        String matchedPrefix = null;
+        int matchedLength = 0;
+        for (int i = 0; i < maxPrefixLength; i++) {
+            node = node.children.get(headerName.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.newPrefix != null) {
+                matchedPrefix = node.newPrefix;
+                matchedLength = i + 1;
+            }
+        }
+        return matchedPrefix == null ? null : matchedPrefix + headerName.substring(matchedLength);
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private @Nullable String newPrefix;
+    }
+}
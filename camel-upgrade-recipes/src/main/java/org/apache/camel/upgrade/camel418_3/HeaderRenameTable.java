@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.camel418_3;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled lookup table of header renames, shared by the header visitors of all DSLs.
+ * <p>
+ * Mappings are resolved in declaration order, exactly as if one rename recipe was executed per mapping
+ * (e.g. {@code a -> b} followed by {@code b -> c} resolves {@code a} directly to {@code c}).
+ * The resulting table is applied in a single traversal with one hash lookup per header name.
+ * </p>
+ */
+final class HeaderRenameTable {
+
+    private final Map<String, String> renames;
+
+    private HeaderRenameTable(Map<String, String> renames) {
+        this.renames = renames;
+    }
+
+    static HeaderRenameTable of(String oldHeaderName, String newHeaderName) {
+        Map<String, String> renames = new HashMap<>();
+        if (oldHeaderName != null && newHeaderName != null && !oldHeaderName.equals(newHeaderName)) {
+            renames.put(oldHeaderName, newHeaderName);
+        }
+        return new HeaderRenameTable(renames);
+    }
+
+    /**
+     * Compiles the bulk mappings followed by the optional single rename into one table.
+     */
+    static HeaderRenameTable compile(@Nullable Map<String, String> headerMappings,
+                                     @Nullable String oldHeaderName, @Nullable String newHeaderName) {
+        List<Map.Entry<String, String>> ordered = new ArrayList<>();
+        if (headerMappings != null) {
+            ordered.addAll(headerMappings.entrySet());
+        }
+        if (oldHeaderName != null && newHeaderName != null) {
+            ordered.add(new AbstractMap.SimpleImmutableEntry<>(oldHeaderName, newHeaderName));
+        }
+
+        Map<String, String> renames = new HashMap<>();
+        for (Map.Entry<String, String> mapping : ordered) {
+            String original = mapping.getKey();
+            if (original == null || renames.containsKey(original)) {
+                continue;
+            }
+            // replay all mappings in order, the same way the per-mapping recipes would be applied
+            String current = original;
+            for (Map.Entry<String, String> next : ordered) {
+                if (current.equals(next.getKey()) && next.getValue() != null) {
+                    current = next.getValue();
+                }
+            }
+            if (!original.equals(current)) {
+                renames.put(original, current);
+            }
+        }
+        return new HeaderRenameTable(renames);
+    }
+
+    /**
+     * @return new header name or null, if the header is not renamed
+     */
+    @Nullable
+    String rename(@Nullable String headerName) {
+        return headerName == null ? null : renames.get(headerName);
+    }
+
+    boolean isEmpty() {
+        return renames.isEmpty();
+    }
+}
@@ -17,10 +17,10 @@
 package org.apache.camel.upgrade.camel418_3;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.tree.J;
 
@@ -32,7 +32,7 @@ import java.util.List;
  * This recipe only migrates string literals appearing as the first argument to these methods,
  * ensuring safe transformation without false positives.
  */
-public class RenameHeaderInJavaMethod extends Recipe {
+public class RenameHeaderInJavaMethod extends AbstractCamelRecipe {
 
     @Option(displayName = "Old header name",
             description = "The old header name to replace (as string literal)",
@@ -73,22 +73,20 @@ public class RenameHeaderInJavaMethod extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return RecipesUtil.newVisitor(new RenameHeaderVisitor(oldHeaderName, newHeaderName));
+        return RecipesUtil.newVisitor(new RenameHeaderVisitor(HeaderRenameTable.of(oldHeaderName, newHeaderName)));
     }
 
-    private static class RenameHeaderVisitor extends AbstractCamelJavaVisitor {
+    static class RenameHeaderVisitor extends AbstractCamelJavaVisitor {
         private static final String MATCHER_SET_HEADER_2_ARGS = "org.apache.camel.Message setHeader(String, Object)";
         private static final String MATCHER_GET_HEADER_1_ARG = "org.apache.camel.Message getHeader(String)";
         private static final String MATCHER_GET_HEADER_2_ARGS = "org.apache.camel.Message getHeader(String, Class)";
         private static final String MATCHER_GET_HEADER_3_ARGS = "org.apache.camel.Message getHeader(String, Object, Class)";
         private static final String MATCHER_GET_HEADER_SUPPLIER = "org.apache.camel.Message getHeader(String, java.util.function.Supplier, Class)";
 
-        private final String oldHeaderName;
-        private final String newHeaderName;
+        private final HeaderRenameTable renames;
 
-        RenameHeaderVisitor(String oldHeaderName, String newHeaderName) {
-            this.oldHeaderName = oldHeaderName;
-            this.newHeaderName = newHeaderName;
+        RenameHeaderVisitor(HeaderRenameTable renames) {
+            this.renames = renames;
         }
 
         @Override
@@ -101,9 +99,10 @@ public class RenameHeaderInJavaMethod extends Recipe {
                 if (!mi.getArguments().isEmpty() && mi.getArguments().get(0) instanceof J.Literal) {
                     J.Literal literal = (J.Literal) mi.getArguments().get(0);
 
-                    // Check if it's a string literal with the old header name
-                    if (literal.getValue() instanceof String &&
-                        oldHeaderName.equals(literal.getValue())) {
+                    // Check if it's a string literal with one of the old header names
+                    String newHeaderName = literal.getValue() instanceof String
+                            ? renames.rename((String) literal.getValue()) : null;
+                    if (newHeaderName != null) {
 
                         // Replace the string literal with the new header name
                         J.Literal newLiteral = literal.withValue(newHeaderName)
@@ -17,20 +17,18 @@
 package org.apache.camel.upgrade.camel418_3;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.tree.J;
 
-import java.util.regex.Pattern;
-
 /**
- * Renames header references in Simple expressions like ${header.oldName} or ${headers.oldName}.
+ * Renames header references in Simple expressions like ${header.oldName}, ${headers.oldName} or ${in.header.oldName}.
  * This recipe only transforms strings inside simple() method calls to avoid false positives.
  */
-public class RenameHeaderInSimpleExpression extends Recipe {
+public class RenameHeaderInSimpleExpression extends AbstractCamelRecipe {
 
     @Option(displayName = "Old header name",
             description = "The old header name in Simple expression",
@@ -71,25 +69,14 @@ public class RenameHeaderInSimpleExpression extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return RecipesUtil.newVisitor(new SimpleExpressionVisitor(oldHeaderName, newHeaderName));
+        return RecipesUtil.newVisitor(new SimpleExpressionVisitor(HeaderRenameTable.of(oldHeaderName, newHeaderName)));
     }
 
-    private static class SimpleExpressionVisitor extends AbstractCamelJavaVisitor {
-        private final String oldHeaderName;
-        private final String newHeaderName;
-        private final Pattern headerPattern;
-        private final Pattern headersPattern;
-
-        SimpleExpressionVisitor(String oldHeaderName, String newHeaderName) {
-            this.oldHeaderName = oldHeaderName;
-            this.newHeaderName = newHeaderName;
+    static class SimpleExpressionVisitor extends AbstractCamelJavaVisitor {
+        private final HeaderRenameTable renames;
 
-            // Escape dots in header name for regex, but keep them in the pattern
-            String escapedOldName = Pattern.quote(oldHeaderName);
-
-            // Match ${header.oldName} or ${headers.oldName}
-            this.headerPattern = Pattern.compile("(\\$\\{header\\.)" + escapedOldName + "(\\})");
-            this.headersPattern = Pattern.compile("(\\$\\{headers\\.)" + escapedOldName + "(\\})");
+        SimpleExpressionVisitor(HeaderRenameTable renames) {
+            this.renames = renames;
         }
 
         @Override
@@ -97,20 +84,16 @@ public class RenameHeaderInSimpleExpression extends Recipe {
             J.MethodInvocation mi = super.doVisitMethodInvocation(method, ctx);
 
             // Check if this is a simple() method call (any class, method name "simple")
-            if (mi.getSimpleName().equals("simple")) {
+            if (mi.getSimpleName().equals("simple") && !renames.isEmpty()) {
                 // Get the first argument (the Simple expression string)
                 if (!mi.getArguments().isEmpty() && mi.getArguments().get(0) instanceof J.Literal) {
                     J.Literal literal = (J.Literal) mi.getArguments().get(0);
 
                     if (literal.getValue() instanceof String) {
                         String expression = (String) literal.getValue();
-                        String newExpression = expression;
-
-                        // Replace ${header.oldName} with ${header.newName}
-                        newExpression = headerPattern.matcher(newExpression).replaceAll("$1" + newHeaderName + "$2");
 
-                        // Replace ${headers.oldName} with ${headers.newName}
-                        newExpression = headersPattern.matcher(newExpression).replaceAll("$1" + newHeaderName + "$2");
+                        // Replace ${header.oldName}, ${headers.oldName}, ${in.header.oldName} of all mappings in one pass
+                        String newExpression = SimpleHeaderExpression.parse(expression).rewrite(renames::rename);
 
                         // If changed, update the literal
                         if (!expression.equals(newExpression)) {
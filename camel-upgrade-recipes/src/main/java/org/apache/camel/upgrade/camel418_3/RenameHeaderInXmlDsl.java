@@ -16,19 +16,25 @@
  */
 package org.apache.camel.upgrade.camel418_3;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.marker.Markers;
 import org.openrewrite.xml.tree.Xml;
 
+import java.util.List;
+
 /**
  * Renames header references in XML DSL <setHeader name="..."> and <header name="..."> elements.
  */
-public class RenameHeaderInXmlDsl extends Recipe {
+public class RenameHeaderInXmlDsl extends AbstractCamelRecipe implements CamelXmlTagRecipe {
+
+    static final List<String> HEADER_TAGS = List.of("setHeader", "header", "removeHeader");
 
     @Option(displayName = "Old header name",
             description = "The old header name",
@@ -69,45 +75,53 @@ public class RenameHeaderInXmlDsl extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new XmlHeaderVisitor(oldHeaderName, newHeaderName);
+        return RecipesUtil.newVisitor(getTagVisitor());
     }
 
-    private static class XmlHeaderVisitor extends AbstractCamelXmlVisitor {
-        private final String oldHeaderName;
-        private final String newHeaderName;
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new XmlHeaderVisitor(HeaderRenameTable.of(oldHeaderName, newHeaderName));
+    }
 
-        XmlHeaderVisitor(String oldHeaderName, String newHeaderName) {
-            this.oldHeaderName = oldHeaderName;
-            this.newHeaderName = newHeaderName;
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    static class XmlHeaderVisitor extends AbstractCamelXmlVisitor {
+        private final HeaderRenameTable renames;
+
+        XmlHeaderVisitor(HeaderRenameTable renames) {
+            this.renames = renames;
+            // setHeader, header and removeHeader tags
+            for (String tagName : HEADER_TAGS) {
+                registerTagHandler(tagName, null, (t, ctx) -> renameHeader(t));
+            }
         }
 
         @Override
         public Xml.Tag doVisitTag(Xml.Tag tag, ExecutionContext ctx) {
-            Xml.Tag t = super.doVisitTag(tag, ctx);
-
-            // Check if this is a setHeader, header, or removeHeader tag
-            String tagName = t.getName();
-            if ("setHeader".equals(tagName) || "header".equals(tagName) || "removeHeader".equals(tagName)) {
-                // Look for the "name" attribute with oldHeaderName value
-                return t.withAttributes(ListUtils.map(t.getAttributes(), attr -> {
-                    if ("name".equals(attr.getKeyAsString()) &&
-                        oldHeaderName.equals(attr.getValueAsString())) {
-                        // Replace with new header name
-                        return attr.withValue(
-                            new Xml.Attribute.Value(
-                                attr.getValue().getId(),
-                                "",
-                                Markers.EMPTY,
-                                attr.getValue().getQuote(),
-                                newHeaderName
-                            )
-                        );
-                    }
-                    return attr;
-                }));
-            }
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
 
-            return t;
+        private Xml.Tag renameHeader(Xml.Tag t) {
+            // Look for the "name" attribute with one of the old header names
+            return t.withAttributes(ListUtils.map(t.getAttributes(), attr -> {
+                String newHeaderName = "name".equals(attr.getKeyAsString()) ? renames.rename(attr.getValueAsString()) : null;
+                if (newHeaderName != null) {
+                    // Replace with new header name
+                    return attr.withValue(
+                        new Xml.Attribute.Value(
+                            attr.getValue().getId(),
+                            "",
+                            Markers.EMPTY,
+                            attr.getValue().getQuote(),
+                            newHeaderName
+                        )
+                    );
+                }
+                return attr;
+            }));
         }
     }
 }
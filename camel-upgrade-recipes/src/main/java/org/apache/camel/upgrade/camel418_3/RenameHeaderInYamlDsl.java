@@ -16,19 +16,19 @@
  */
 package org.apache.camel.upgrade.camel418_3;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
 /**
  * Renames header references in YAML DSL setHeader.name, header.name, and removeHeader.name entries.
  */
-public class RenameHeaderInYamlDsl extends Recipe {
+public class RenameHeaderInYamlDsl extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
     @Option(displayName = "Old header name",
             description = "The old header name",
@@ -68,17 +68,25 @@ public class RenameHeaderInYamlDsl extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(),
-                                   new YamlHeaderVisitor(oldHeaderName, newHeaderName));
+        return RecipesUtil.newVisitor(getEntryVisitor());
     }
 
-    private static class YamlHeaderVisitor extends AbstractCamelYamlVisitor {
-        private final String oldHeaderName;
-        private final String newHeaderName;
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new YamlHeaderVisitor(HeaderRenameTable.of(oldHeaderName, newHeaderName));
+    }
 
-        YamlHeaderVisitor(String oldHeaderName, String newHeaderName) {
-            this.oldHeaderName = oldHeaderName;
-            this.newHeaderName = newHeaderName;
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    static class YamlHeaderVisitor extends AbstractCamelYamlVisitor {
+        private final HeaderRenameTable renames;
+
+        YamlHeaderVisitor(HeaderRenameTable renames) {
+            this.renames = renames;
+            registerKeyHandler("$..name", (e, ctx) -> renameHeader(e));
         }
 
         @Override
@@ -88,12 +96,14 @@ public class RenameHeaderInYamlDsl extends Recipe {
 
         @Override
         public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-            Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
 
-            // Check if this is a "name" entry with the old header value
-            if ("name".equals(e.getKey().getValue()) &&
-                e.getValue() instanceof Yaml.Scalar &&
-                oldHeaderName.equals(((Yaml.Scalar) e.getValue()).getValue())) {
+        private Yaml.Mapping.Entry renameHeader(Yaml.Mapping.Entry e) {
+            // Check if this is a "name" entry with one of the old header values
+            String newHeaderName = e.getValue() instanceof Yaml.Scalar
+                    ? renames.rename(((Yaml.Scalar) e.getValue()).getValue()) : null;
+            if (newHeaderName != null) {
 
                 // Check if any parent mapping contains setHeader, header, or removeHeader
                 if (isHeaderOperation()) {
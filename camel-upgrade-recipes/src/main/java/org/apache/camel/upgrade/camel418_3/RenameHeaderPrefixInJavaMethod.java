@@ -17,10 +17,10 @@
 package org.apache.camel.upgrade.camel418_3;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.tree.J;
 
@@ -31,7 +31,7 @@ import java.util.List;
  * Renames header prefixes in Message.setHeader() and Message.getHeader() method calls.
  * This recipe migrates string literals starting with a specific prefix to use a new prefix.
  */
-public class RenameHeaderPrefixInJavaMethod extends Recipe {
+public class RenameHeaderPrefixInJavaMethod extends AbstractCamelRecipe {
 
     @Option(displayName = "Old header prefix",
             description = "The old header prefix to replace",
@@ -72,22 +72,20 @@ public class RenameHeaderPrefixInJavaMethod extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return RecipesUtil.newVisitor(new RenameHeaderPrefixVisitor(oldPrefix, newPrefix));
+        return RecipesUtil.newVisitor(new RenameHeaderPrefixVisitor(HeaderPrefixTable.of(oldPrefix, newPrefix)));
     }
 
-    private static class RenameHeaderPrefixVisitor extends AbstractCamelJavaVisitor {
+    static class RenameHeaderPrefixVisitor extends AbstractCamelJavaVisitor {
         private static final String MATCHER_SET_HEADER_2_ARGS = "org.apache.camel.Message setHeader(String, Object)";
         private static final String MATCHER_GET_HEADER_1_ARG = "org.apache.camel.Message getHeader(String)";
         private static final String MATCHER_GET_HEADER_2_ARGS = "org.apache.camel.Message getHeader(String, Class)";
         private static final String MATCHER_GET_HEADER_3_ARGS = "org.apache.camel.Message getHeader(String, Object, Class)";
         private static final String MATCHER_GET_HEADER_SUPPLIER = "org.apache.camel.Message getHeader(String, java.util.function.Supplier, Class)";
 
-        private final String oldPrefix;
-        private final String newPrefix;
+        private final HeaderPrefixTable prefixes;
 
-        RenameHeaderPrefixVisitor(String oldPrefix, String newPrefix) {
-            this.oldPrefix = oldPrefix;
-            this.newPrefix = newPrefix;
+        RenameHeaderPrefixVisitor(HeaderPrefixTable prefixes) {
+            this.prefixes = prefixes;
         }
 
         @Override
@@ -100,14 +98,12 @@ public class RenameHeaderPrefixInJavaMethod extends Recipe {
                 if (!mi.getArguments().isEmpty() && mi.getArguments().get(0) instanceof J.Literal) {
                     J.Literal literal = (J.Literal) mi.getArguments().get(0);
 
-                    // Check if it's a string literal starting with the old prefix
+                    // Check if it's a string literal starting with one of the old prefixes
                     if (literal.getValue() instanceof String) {
-                        String headerName = (String) literal.getValue();
-
-                        if (headerName.startsWith(oldPrefix)) {
-                            // Replace the prefix
-                            String newHeaderName = newPrefix + headerName.substring(oldPrefix.length());
+                        // Replace the longest matching prefix
+                        String newHeaderName = prefixes.rename((String) literal.getValue());
 
+                        if (newHeaderName != null) {
                             // Replace the string literal with the new header name
                             J.Literal newLiteral = literal.withValue(newHeaderName)
                                                          .withValueSource("\"" + newHeaderName + "\"");
@@ -17,20 +17,18 @@
 package org.apache.camel.upgrade.camel418_3;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.tree.J;
 
-import java.util.regex.Pattern;
-
 /**
  * Renames header prefixes in Simple expressions like ${header.SolrField.id} → ${header.CamelSolrField.id}.
  * This recipe only transforms strings inside simple() method calls to avoid false positives.
  */
-public class RenameHeaderPrefixInSimpleExpression extends Recipe {
+public class RenameHeaderPrefixInSimpleExpression extends AbstractCamelRecipe {
 
     @Option(displayName = "Old header prefix",
             description = "The old header prefix in Simple expression",
@@ -71,26 +69,14 @@ public class RenameHeaderPrefixInSimpleExpression extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return RecipesUtil.newVisitor(new SimpleExpressionVisitor(oldPrefix, newPrefix));
+        return RecipesUtil.newVisitor(new SimpleExpressionVisitor(HeaderPrefixTable.of(oldPrefix, newPrefix)));
     }
 
-    private static class SimpleExpressionVisitor extends AbstractCamelJavaVisitor {
-        private final String oldPrefix;
-        private final String newPrefix;
-        private final Pattern headerPattern;
-        private final Pattern headersPattern;
-
-        SimpleExpressionVisitor(String oldPrefix, String newPrefix) {
-            this.oldPrefix = oldPrefix;
-            this.newPrefix = newPrefix;
+    static class SimpleExpressionVisitor extends AbstractCamelJavaVisitor {
+        private final HeaderPrefixTable prefixes;
 
-            // Escape dots in prefix for regex
-            String escapedOldPrefix = Pattern.quote(oldPrefix);
-
-            // Match ${header.SolrField.xxx} or ${headers.SolrField.xxx}
-            // Captures: group1=${header. or ${headers., group2=rest after old prefix, group3=}
-            this.headerPattern = Pattern.compile("(\\$\\{header\\.)" + escapedOldPrefix + "([^}]+)(\\})");
-            this.headersPattern = Pattern.compile("(\\$\\{headers\\.)" + escapedOldPrefix + "([^}]+)(\\})");
+        SimpleExpressionVisitor(HeaderPrefixTable prefixes) {
+            this.prefixes = prefixes;
         }
 
         @Override
@@ -98,20 +84,16 @@ public class RenameHeaderPrefixInSimpleExpression extends Recipe {
             J.MethodInvocation mi = super.doVisitMethodInvocation(method, ctx);
 
             // Check if this is a simple() method call (any class, method name "simple")
-            if (mi.getSimpleName().equals("simple")) {
+            if (mi.getSimpleName().equals("simple") && !prefixes.isEmpty()) {
                 // Get the first argument (the Simple expression string)
                 if (!mi.getArguments().isEmpty() && mi.getArguments().get(0) instanceof J.Literal) {
                     J.Literal literal = (J.Literal) mi.getArguments().get(0);
 
                     if (literal.getValue() instanceof String) {
                         String expression = (String) literal.getValue();
-                        String newExpression = expression;
-
-                        // Replace ${header.SolrField.xxx} with ${header.CamelSolrField.xxx}
-                        newExpression = headerPattern.matcher(newExpression).replaceAll("$1" + newPrefix + "$2$3");
 
-                        // Replace ${headers.SolrField.xxx} with ${headers.CamelSolrField.xxx}
-                        newExpression = headersPattern.matcher(newExpression).replaceAll("$1" + newPrefix + "$2$3");
+                        // Replace ${header.SolrField.xxx} with ${header.CamelSolrField.xxx} for all prefixes in one pass
+                        String newExpression = SimpleHeaderExpression.parse(expression).rewrite(prefixes::renameWithSuffix);
 
                         // If changed, update the literal
                         if (!expression.equals(newExpression)) {
@@ -16,10 +16,12 @@
  */
 package org.apache.camel.upgrade.camel418_3;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.marker.Markers;
@@ -28,7 +30,7 @@ import org.openrewrite.xml.tree.Xml;
 /**
  * Renames header prefixes in XML DSL <setHeader name="..."> and <header name="..."> elements.
  */
-public class RenameHeaderPrefixInXmlDsl extends Recipe {
+public class RenameHeaderPrefixInXmlDsl extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
     @Option(displayName = "Old header prefix",
             description = "The old header prefix",
@@ -69,48 +71,55 @@ public class RenameHeaderPrefixInXmlDsl extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new XmlHeaderPrefixVisitor(oldPrefix, newPrefix);
+        return RecipesUtil.newVisitor(getTagVisitor());
     }
 
-    private static class XmlHeaderPrefixVisitor extends AbstractCamelXmlVisitor {
-        private final String oldPrefix;
-        private final String newPrefix;
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new XmlHeaderPrefixVisitor(HeaderPrefixTable.of(oldPrefix, newPrefix));
+    }
+
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    static class XmlHeaderPrefixVisitor extends AbstractCamelXmlVisitor {
+        private final HeaderPrefixTable prefixes;
 
-        XmlHeaderPrefixVisitor(String oldPrefix, String newPrefix) {
-            this.oldPrefix = oldPrefix;
-            this.newPrefix = newPrefix;
+        XmlHeaderPrefixVisitor(HeaderPrefixTable prefixes) {
+            this.prefixes = prefixes;
+            // setHeader, header and removeHeader tags
+            for (String tagName : RenameHeaderInXmlDsl.HEADER_TAGS) {
+                registerTagHandler(tagName, null, (t, ctx) -> renameHeaderPrefix(t));
+            }
         }
 
         @Override
         public Xml.Tag doVisitTag(Xml.Tag tag, ExecutionContext ctx) {
-            Xml.Tag t = super.doVisitTag(tag, ctx);
-
-            // Check if this is a setHeader, header, or removeHeader tag
-            String tagName = t.getName();
-            if ("setHeader".equals(tagName) || "header".equals(tagName) || "removeHeader".equals(tagName)) {
-                // Look for the "name" attribute starting with oldPrefix
-                return t.withAttributes(ListUtils.map(t.getAttributes(), attr -> {
-                    if ("name".equals(attr.getKeyAsString())) {
-                        String headerName = attr.getValueAsString();
-                        if (headerName != null && headerName.startsWith(oldPrefix)) {
-                            // Replace the prefix
-                            String newHeaderName = newPrefix + headerName.substring(oldPrefix.length());
-                            return attr.withValue(
-                                new Xml.Attribute.Value(
-                                    attr.getValue().getId(),
-                                    "",
-                                    Markers.EMPTY,
-                                    attr.getValue().getQuote(),
-                                    newHeaderName
-                                )
-                            );
-                        }
-                    }
-                    return attr;
-                }));
-            }
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
 
-            return t;
+        private Xml.Tag renameHeaderPrefix(Xml.Tag t) {
+            // Look for the "name" attribute starting with one of the old prefixes
+            return t.withAttributes(ListUtils.map(t.getAttributes(), attr -> {
+                if ("name".equals(attr.getKeyAsString())) {
+                    // Replace the longest matching prefix
+                    String newHeaderName = prefixes.rename(attr.getValueAsString());
+                    if (newHeaderName != null) {
+                        return attr.withValue(
+                            new Xml.Attribute.Value(
+                                attr.getValue().getId(),
+                                "",
+                                Markers.EMPTY,
+                                attr.getValue().getQuote(),
+                                newHeaderName
+                            )
+                        );
+                    }
+                }
+                return attr;
+            }));
         }
     }
 }
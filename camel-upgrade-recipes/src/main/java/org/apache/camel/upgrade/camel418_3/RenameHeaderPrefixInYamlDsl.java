@@ -16,19 +16,19 @@
  */
 package org.apache.camel.upgrade.camel418_3;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
 /**
  * Renames header prefixes in YAML DSL setHeader.name, header.name, and removeHeader.name entries.
  */
-public class RenameHeaderPrefixInYamlDsl extends Recipe {
+public class RenameHeaderPrefixInYamlDsl extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
     @Option(displayName = "Old header prefix",
             description = "The old header prefix",
@@ -68,17 +68,25 @@ public class RenameHeaderPrefixInYamlDsl extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(),
-                                   new YamlHeaderPrefixVisitor(oldPrefix, newPrefix));
+        return RecipesUtil.newVisitor(getEntryVisitor());
     }
 
-    private static class YamlHeaderPrefixVisitor extends AbstractCamelYamlVisitor {
-        private final String oldPrefix;
-        private final String newPrefix;
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new YamlHeaderPrefixVisitor(HeaderPrefixTable.of(oldPrefix, newPrefix));
+    }
 
-        YamlHeaderPrefixVisitor(String oldPrefix, String newPrefix) {
-            this.oldPrefix = oldPrefix;
-            this.newPrefix = newPrefix;
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    static class YamlHeaderPrefixVisitor extends AbstractCamelYamlVisitor {
+        private final HeaderPrefixTable prefixes;
+
+        YamlHeaderPrefixVisitor(HeaderPrefixTable prefixes) {
+            this.prefixes = prefixes;
+            registerKeyHandler("$..name", (e, ctx) -> renameHeaderPrefix(e));
         }
 
         @Override
@@ -88,19 +96,19 @@ public class RenameHeaderPrefixInYamlDsl extends Recipe {
 
         @Override
         public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-            Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
 
-            // Check if this is a "name" entry with a value starting with oldPrefix
-            if ("name".equals(e.getKey().getValue()) &&
-                e.getValue() instanceof Yaml.Scalar) {
-                String headerName = ((Yaml.Scalar) e.getValue()).getValue();
-                if (headerName != null && headerName.startsWith(oldPrefix)) {
+        private Yaml.Mapping.Entry renameHeaderPrefix(Yaml.Mapping.Entry e) {
+            // Check if this is a "name" entry with a value starting with one of the old prefixes
+            if (e.getValue() instanceof Yaml.Scalar) {
+                // Longest matching prefix replaced
+                String newHeaderName = prefixes.rename(((Yaml.Scalar) e.getValue()).getValue());
+                if (newHeaderName != null) {
 
                     // Check if any parent mapping contains setHeader, header, or removeHeader
                     if (isHeaderOperation()) {
                         Yaml.Scalar scalarValue = (Yaml.Scalar) e.getValue();
-                        // Replace the prefix
-                        String newHeaderName = newPrefix + headerName.substring(oldPrefix.length());
                         return e.withValue(scalarValue.withValue(newHeaderName));
                     }
                 }
@@ -16,13 +16,18 @@
  */
 package org.apache.camel.upgrade.camel418_3;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Recipe that renames Camel header prefixes across all DSL types (Java, Simple expressions, XML, YAML).
@@ -33,6 +38,8 @@ import java.util.Map;
  * - "SolrField.name" becomes "CamelSolrField.name"
  * - "SolrParam.commit" remains unchanged (different prefix)
  *
+ * All prefixes are matched in a single pass, if several prefixes match a header, the longest one is replaced.
+ *
  * Example YAML configuration:
  * <pre>
  * - org.apache.camel.upgrade.camel418_3.RenameHeaderPrefixes:
@@ -41,7 +48,7 @@ import java.util.Map;
  *       SolrParam.: CamelSolrParam.
  * </pre>
  */
-public class RenameHeaderPrefixes extends Recipe {
+public class RenameHeaderPrefixes extends AbstractCamelRecipe {
 
     @Option(displayName = "Prefix mappings",
             description = "Map of old header prefixes to new header prefixes",
@@ -76,37 +83,39 @@ public class RenameHeaderPrefixes extends Recipe {
 
     @Override
     public List<Recipe> getRecipeList() {
-        List<Recipe> recipes = new ArrayList<>();
-
-        if (prefixMappings != null) {
-            for (Map.Entry<String, String> entry : prefixMappings.entrySet()) {
-                recipes.add(createPrefixRenameRecipe(entry.getKey(), entry.getValue()));
-            }
+        // All prefixes are compiled into one prefix trie, which is applied by a single traversal per DSL.
+        HeaderPrefixTable prefixes = HeaderPrefixTable.compile(prefixMappings);
+        if (prefixes.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return recipes;
+        return Arrays.asList(
+            createDslRecipe("Java method calls",
+                    () -> RecipesUtil.newVisitor(new RenameHeaderPrefixInJavaMethod.RenameHeaderPrefixVisitor(prefixes))),
+            createDslRecipe("Simple expressions",
+                    () -> RecipesUtil.newVisitor(new RenameHeaderPrefixInSimpleExpression.SimpleExpressionVisitor(prefixes))),
+            createDslRecipe("XML DSL",
+                    () -> RecipesUtil.newVisitor(new RenameHeaderPrefixInXmlDsl.XmlHeaderPrefixVisitor(prefixes))),
+            createDslRecipe("YAML DSL",
+                    () -> RecipesUtil.newVisitor(new RenameHeaderPrefixInYamlDsl.YamlHeaderPrefixVisitor(prefixes)))
+        );
     }
 
-    private Recipe createPrefixRenameRecipe(String oldPrefix, String newPrefix) {
+    private Recipe createDslRecipe(String dsl, Supplier<TreeVisitor<?, ExecutionContext>> visitor) {
         return new Recipe() {
             @Override
             public String getDisplayName() {
-                return "Rename header prefix: " + oldPrefix + " → " + newPrefix;
+                return "Rename header prefixes in " + dsl;
             }
 
             @Override
             public String getDescription() {
-                return "Renames header prefix '" + oldPrefix + "' to '" + newPrefix + "' across all DSLs";
+                return "Renames all configured header prefixes in " + dsl + " using a single traversal.";
             }
 
             @Override
-            public List<Recipe> getRecipeList() {
-                return Arrays.asList(
-                    new RenameHeaderPrefixInJavaMethod(oldPrefix, newPrefix),
-                    new RenameHeaderPrefixInSimpleExpression(oldPrefix, newPrefix),
-                    new RenameHeaderPrefixInXmlDsl(oldPrefix, newPrefix),
-                    new RenameHeaderPrefixInYamlDsl(oldPrefix, newPrefix)
-                );
+            public TreeVisitor<?, ExecutionContext> getVisitor() {
+                return visitor.get();
             }
         };
     }
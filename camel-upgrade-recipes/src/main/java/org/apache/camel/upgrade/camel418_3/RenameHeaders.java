@@ -16,13 +16,18 @@
  */
 package org.apache.camel.upgrade.camel418_3;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Recipe that renames Camel headers across all DSL types (Java, Simple expressions, XML, YAML).
@@ -44,7 +49,7 @@ import java.util.Map;
  *     newHeaderName: CamelKafkaTopic
  * </pre>
  */
-public class RenameHeaders extends Recipe {
+public class RenameHeaders extends AbstractCamelRecipe {
 
     @Option(displayName = "Header mappings",
             description = "Map of old header names to new header names (for bulk rename)",
@@ -104,43 +109,40 @@ public class RenameHeaders extends Recipe {
 
     @Override
     public List<Recipe> getRecipeList() {
-        List<Recipe> recipes = new ArrayList<>();
-
-        // Bulk rename using map
-        if (headerMappings != null) {
-            for (Map.Entry<String, String> entry : headerMappings.entrySet()) {
-                recipes.add(createHeaderRenameRecipe(entry.getKey(), entry.getValue()));
-            }
-        }
-
-        // Single rename using oldHeaderName/newHeaderName
-        if (oldHeaderName != null && newHeaderName != null) {
-            recipes.add(createHeaderRenameRecipe(oldHeaderName, newHeaderName));
+        // All mappings (bulk and single rename) are compiled into one lookup table,
+        // which is applied by a single traversal per DSL.
+        HeaderRenameTable renames = HeaderRenameTable.compile(headerMappings, oldHeaderName, newHeaderName);
+        if (renames.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return recipes;
+        return Arrays.asList(
+            createDslRecipe("Java method calls",
+                    () -> RecipesUtil.newVisitor(new RenameHeaderInJavaMethod.RenameHeaderVisitor(renames))),
+            createDslRecipe("Simple expressions",
+                    () -> RecipesUtil.newVisitor(new RenameHeaderInSimpleExpression.SimpleExpressionVisitor(renames))),
+            createDslRecipe("XML DSL",
+                    () -> RecipesUtil.newVisitor(new RenameHeaderInXmlDsl.XmlHeaderVisitor(renames))),
+            createDslRecipe("YAML DSL",
+                    () -> RecipesUtil.newVisitor(new RenameHeaderInYamlDsl.YamlHeaderVisitor(renames)))
+        );
     }
 
-    private Recipe createHeaderRenameRecipe(String oldName, String newName) {
+    private Recipe createDslRecipe(String dsl, Supplier<TreeVisitor<?, ExecutionContext>> visitor) {
         return new Recipe() {
             @Override
             public String getDisplayName() {
-                return "Rename header: " + oldName + " → " + newName;
+                return "Rename headers in " + dsl;
             }
 
             @Override
             public String getDescription() {
-                return "Renames header '" + oldName + "' to '" + newName + "' across all DSLs";
+                return "Renames all configured headers in " + dsl + " using a single traversal.";
             }
 
             @Override
-            public List<Recipe> getRecipeList() {
-                return Arrays.asList(
-                    new RenameHeaderInJavaMethod(oldName, newName),
-                    new RenameHeaderInSimpleExpression(oldName, newName),
-                    new RenameHeaderInXmlDsl(oldName, newName),
-                    new RenameHeaderInYamlDsl(oldName, newName)
-                );
+            public TreeVisitor<?, ExecutionContext> getVisitor() {
+                return visitor.get();
             }
         };
     }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.camel418_3;
+
+import org.apache.camel.upgrade.BoundedCache;
+
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+
+/**
+ * Simple expression split into header references (${header.name}, ${headers.name}, ${in.header.name},
+ * ${in.headers.name}) and the text around them.
+ * <p>
+ * Each literal is tokenized only once, tokens are cached by the literal, so the same expression used by many routes
+ * is not parsed again. All header renames are then applied to the tokens in a single pass.
+ * </p>
+ */
+final class SimpleHeaderExpression {
+
+    private static final String[] HEADER_FUNCTIONS = {"header.", "headers.", "in.header.", "in.headers."};
+
+    // expressions are highly repetitive across routes
+    private static final BoundedCache<String, SimpleHeaderExpression> CACHE = new BoundedCache<>(4096);
+
+    private final String expression;
+    // start offsets of the header names in the expression
+    private final int[] nameStarts;
+    private final String[] names;
+
+    private SimpleHeaderExpression(String expression, int[] nameStarts, String[] names) {
+        this.expression = expression;
+        this.nameStarts = nameStarts;
+        this.names = names;
+    }
+
+    static SimpleHeaderExpression parse(String expression) {
+        return CACHE.get(expression, SimpleHeaderExpression::tokenize);
+    }
+
+    /**
+     * Replaces every header name for which the renamer returns a non-null value.
+     *
+     * @return the rewritten expression, or the same instance if no header was renamed
+     */
+    String rewrite(UnaryOperator<String> renamer) {
+        StringBuilder sb = null;
+        int last = 0;
+        for (int i = 0; i < names.length; i++) {
+            String newName = renamer.apply(names[i]);
+            if (newName != null && !newName.equals(names[i])) {
+                if (sb == null) {
+                    sb = new StringBuilder(expression.length() + 16);
+                }
+                sb.append(expression, last, nameStarts[i]).append(newName);
+                last = nameStarts[i] + names[i].length();
+            }
+        }
+        if (sb == null) {
+            return expression;
+        }
+        return sb.append(expression, last, expression.length()).toString();
+    }
+
+    private static SimpleHeaderExpression tokenize(String expression) {
+        int[] starts = new int[4];
+        String[] names = new String[4];
+        int count = 0;
+
+        int i = expression.indexOf("${");
+        while (i >= 0) {
+            int nameStart = headerNameStart(expression, i + 2);
+            int end = nameStart < 0 ? -1 : expression.indexOf('}', nameStart);
+            if (end > nameStart) {
+                int nested = expression.indexOf("${", nameStart);
+                if (nested < 0 || nested > end) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                        names = Arrays.copyOf(names, count * 2);
+                    }
+                    starts[count] = nameStart;
+                    names[count++] = expression.substring(nameStart, end);
+                    i = expression.indexOf("${", end + 1);
+                    continue;
+                }
+            }
+            i = expression.indexOf("${", i + 2);
+        }
+        return new SimpleHeaderExpression(expression, Arrays.copyOf(starts, count), Arrays.copyOf(names, count));
+    }
+
+    private static int headerNameStart(String expression, int from) {
+        for (String function : HEADER_FUNCTIONS) {
+            if (expression.startsWith(function, from)) {
+                return from + function.length();
+            }
+        }
+        return -1;
+    }
+}
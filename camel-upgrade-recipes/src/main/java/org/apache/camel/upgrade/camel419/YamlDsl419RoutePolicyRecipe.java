@@ -16,13 +16,12 @@
  */
 package org.apache.camel.upgrade.camel419;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.tree.Yaml;
 
 /**
@@ -31,9 +30,9 @@ import org.openrewrite.yaml.tree.Yaml;
  * </p>
  * In the YAML DSL we have renamed routePolicy to routePolicyRef.
  */
-public class YamlDsl419RoutePolicyRecipe extends Recipe {
+public class YamlDsl419RoutePolicyRecipe extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
-    private static final JsonPathMatcher ROUTE_POLICY_MATCHER = new JsonPathMatcher("$..route.routePolicy");
+    private static final String ROUTE_POLICY_PATH = "$..route.routePolicy";
 
     @Override
     public String getDisplayName() {
@@ -47,29 +46,42 @@ public class YamlDsl419RoutePolicyRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
 
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new RoutePolicyVisitor();
+    }
 
-            @Override
-            protected void clearLocalCache() {
-                //nothing to do
-            }
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
 
-            @Override
-            public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
+    @Override
+    public boolean inspectsParent() {
+        return false;
+    }
 
-                // Check if this is routePolicy within a route definition
-                if (ROUTE_POLICY_MATCHER.matches(getCursor()) &&
-                    entry.getKey() instanceof Yaml.Scalar &&
-                    "routePolicy".equals((entry.getKey()).getValue())) {
+    private static final class RoutePolicyVisitor extends AbstractCamelYamlVisitor {
 
+        RoutePolicyVisitor() {
+            // routePolicy within a route definition
+            registerKeyHandler(ROUTE_POLICY_PATH, (e, ctx) -> e.getKey() instanceof Yaml.Scalar
                     // Rename to routePolicyRef
-                    e = entry.withKey(((Yaml.Scalar) entry.getKey()).withValue("routePolicyRef"));
-                }
+                    ? e.withKey(((Yaml.Scalar) e.getKey()).withValue("routePolicyRef"))
+                    : e);
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do
+        }
 
-                return e;
-            }
-        });
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
     }
 }
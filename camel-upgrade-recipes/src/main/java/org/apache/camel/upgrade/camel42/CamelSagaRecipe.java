@@ -17,6 +17,7 @@
 package org.apache.camel.upgrade.camel42;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
@@ -30,7 +31,7 @@ import java.util.Collections;
  * Recipe migrating changes between Camel 4.3 to 4.4, for more details see the
  * <a href="https://camel.apache.org/manual/camel-4x-upgrade-guide-4_4.html#_camel_core" >documentation</a>.
  */
-public class CamelSagaRecipe extends Recipe {
+public class CamelSagaRecipe extends AbstractCamelRecipe {
 
     private static final String M_NEW_SAGA = "org.apache.camel.saga.InMemorySagaService newSaga()";
     private static final String M_SAGA_COORDINATOR_COMPENSATE = "org.apache.camel.saga.CamelSagaCoordinator compensate()";
@@ -16,11 +16,12 @@
  */
 package org.apache.camel.upgrade.camel43;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
+import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.xml.XPathMatcher;
-import org.openrewrite.xml.XmlIsoVisitor;
 import org.openrewrite.xml.tree.Xml;
 
 /**
@@ -57,11 +58,10 @@ import org.openrewrite.xml.tree.Xml;
  * See the <a href=https://camel.apache.org/manual/camel-4x-upgrade-guide-4_3.html#_resequence_eip>documentation</a>
  * </p>
  */
-public class CamelResequenceEIPXmlRecipe extends Recipe {
+public class CamelResequenceEIPXmlRecipe extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
-    private static final XPathMatcher XML_RESEQUENCE_STREAM_CONFIG_MATCHER
-            = new XPathMatcher("*/route/resequence/stream-config");
-    private static final XPathMatcher XML_RESEQUENCE_BATCH_CONFIG_MATCHER = new XPathMatcher("*/route/resequence/batch-config");
+    private static final String XML_RESEQUENCE_STREAM_CONFIG = "*/route/resequence/stream-config";
+    private static final String XML_RESEQUENCE_BATCH_CONFIG = "*/route/resequence/batch-config";
 
     @Override
     public String getDisplayName() {
@@ -75,20 +75,29 @@ public class CamelResequenceEIPXmlRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new XmlIsoVisitor<>() {
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
+
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new ResequenceVisitor();
+    }
+
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
 
-            @Override
-            public Xml.Tag visitTag(final Xml.Tag tag, final ExecutionContext ctx) {
-                Xml.Tag t = super.visitTag(tag, ctx);
+    private static final class ResequenceVisitor extends AbstractCamelXmlVisitor {
 
-                if (XML_RESEQUENCE_STREAM_CONFIG_MATCHER.matches(getCursor())) {
-                    t = t.withName("streamConfig");
-                } else if (XML_RESEQUENCE_BATCH_CONFIG_MATCHER.matches(getCursor())) {
-                    t = t.withName("batchConfig");
-                }
+        ResequenceVisitor() {
+            registerTagHandler(XML_RESEQUENCE_STREAM_CONFIG, (t, ctx) -> t.withName("streamConfig"));
+            registerTagHandler(XML_RESEQUENCE_BATCH_CONFIG, (t, ctx) -> t.withName("batchConfig"));
+        }
 
-                return t;
-            }
-        };
+        @Override
+        public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
     }
 }
@@ -17,6 +17,7 @@
 package org.apache.camel.upgrade.camel43;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
@@ -29,7 +30,7 @@ import java.util.Collections;
  * Recipe migrating changes between Camel 4.3 to 4.4, for more details see the
  * <a href="https://camel.apache.org/manual/camel-4x-upgrade-guide-4_4.html#_camel_core" >documentation</a>.
  */
-public class CamelThrottleEIPRecipe extends Recipe {
+public class CamelThrottleEIPRecipe extends AbstractCamelRecipe {
 
     private static final String M_THROTTLE_PRIMITIVE = "org.apache.camel.model.ProcessorDefinition throttle(long)";
     private static final String M_THROTTLE_TIME_PERIOD_MILLIS_PRIMITIVE
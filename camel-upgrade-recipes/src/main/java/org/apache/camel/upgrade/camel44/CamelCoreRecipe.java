@@ -17,6 +17,7 @@
 package org.apache.camel.upgrade.camel44;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
@@ -33,7 +34,7 @@ import java.util.List;
  * Recipe migrating changes between Camel 4.3 to 4.4, for more details see the
  * <a href="https://camel.apache.org/manual/camel-4x-upgrade-guide-4_4.html#_camel_core" >documentation</a>.
  */
-public class CamelCoreRecipe extends Recipe {
+public class CamelCoreRecipe extends AbstractCamelRecipe {
 
     private static final String M_EXCHANGE_GET_CREATED = "org.apache.camel.Exchange getCreated()";
     private static final String M_PROPERTIES_LOOKUP_LOOKUP
@@ -60,6 +61,11 @@ public class CamelCoreRecipe extends Recipe {
             = "org.apache.camel.builder.ExpressionClause xquery(java.lang.String, java.lang.Class, java.lang.String)";
     private static final String M_EXPRESSION_CAUSE_XQUERY3
             = "org.apache.camel.builder.ExpressionClause xquery(java.lang.String, java.lang.Class, boolean, java.lang.String)";
+    private static final List<String> REMOVED_EXPRESSION_CLAUSES = List.of(
+            M_EXPRESSION_CAUSE_JSONPATH1, M_EXPRESSION_CAUSE_JSONPATH2,
+            M_EXPRESSION_CAUSE_TOKENIZE1, M_EXPRESSION_CAUSE_TOKENIZE2, M_EXPRESSION_CAUSE_TOKENIZE3,
+            M_EXPRESSION_CAUSE_XPATH1, M_EXPRESSION_CAUSE_XPATH2, M_EXPRESSION_CAUSE_XPATH3,
+            M_EXPRESSION_CAUSE_XQUERY1, M_EXPRESSION_CAUSE_XQUERY2, M_EXPRESSION_CAUSE_XQUERY3);
     private static final String CONST_STOP_WATCH_LONG01 = "org.apache.camel.util.StopWatch <constructor>(long)";
     private static final String CONST_STOP_WATCH_LONG02 = "org.apache.camel.util.StopWatch <constructor>(java.lang.Long)";
 
@@ -76,59 +82,54 @@ public class CamelCoreRecipe extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
 
-        return RecipesUtil.newVisitor(new AbstractCamelJavaVisitor() {
+        return RecipesUtil.newVisitor(new CamelCoreVisitor());
+    }
 
-            @Override
-            protected J.MethodInvocation doVisitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-                J.MethodInvocation mi = super.doVisitMethodInvocation(method, ctx);
+    private static final class CamelCoreVisitor extends AbstractCamelJavaVisitor {
 
-                if (getMethodMatcher(M_EXCHANGE_GET_CREATED).matches(mi, false)) {
+        CamelCoreVisitor() {
+            registerMethodHandler(M_EXCHANGE_GET_CREATED,
                     //add call to getClock before call of getCreated
-                    mi = mi.withName(mi.getName().withSimpleName("getClock().getCreated"));
-                } else if (getMethodMatcher(M_PROPERTIES_LOOKUP_LOOKUP).matches(mi, false) &&
-                        mi.getArguments().size() == 1) { //without the condition, the recipes is applied again
-                    //add default value null
-                    List<Expression> arguments = new ArrayList<>(mi.getArguments());
-                    arguments.add(RecipesUtil.createNullExpression());
-                    mi = mi.withArguments(arguments);
-                } else if (getMethodMatcher(M_EXPRESSION_CAUSE_JSONPATH1).matches(mi, false) ||
-                        getMethodMatcher(M_EXPRESSION_CAUSE_JSONPATH2).matches(mi, false) ||
-                        getMethodMatcher(M_EXPRESSION_CAUSE_TOKENIZE1).matches(mi, false) ||
-                        getMethodMatcher(M_EXPRESSION_CAUSE_TOKENIZE2).matches(mi, false) ||
-                        getMethodMatcher(M_EXPRESSION_CAUSE_TOKENIZE3).matches(mi, false) ||
-                        getMethodMatcher(M_EXPRESSION_CAUSE_XPATH1).matches(mi, false) ||
-                        getMethodMatcher(M_EXPRESSION_CAUSE_XPATH2).matches(mi, false) ||
-                        getMethodMatcher(M_EXPRESSION_CAUSE_XPATH3).matches(mi, false) ||
-                        getMethodMatcher(M_EXPRESSION_CAUSE_XQUERY1).matches(mi, false) ||
-                        getMethodMatcher(M_EXPRESSION_CAUSE_XQUERY2).matches(mi, false) ||
-                        getMethodMatcher(M_EXPRESSION_CAUSE_XQUERY3).matches(mi, false)) {
-                    mi = mi.withName(
-                            RecipesUtil.createIdentifier(Space.EMPTY, "removed_" + mi.getSimpleName(), mi.getType().toString()))
-                            .withComments(Collections.singletonList(RecipesUtil.createMultinlineComment(
-                                    "Some Java DSL for tokenize, xmlTokenize, xpath, xquery and jsonpath has been removed as part of making the DSL model consistent.\n" +
-                                                                                                        "See https://camel.apache.org/manual/camel-4x-upgrade-guide-4_4.html#_camel_core for more details.\n")));
+                    (mi, ctx) -> mi.withName(mi.getName().withSimpleName("getClock().getCreated")));
+            registerMethodHandler(M_PROPERTIES_LOOKUP_LOOKUP, (mi, ctx) -> {
+                if (mi.getArguments().size() != 1) { //without the condition, the recipes is applied again
+                    return mi;
                 }
-
-                return mi;
+                //add default value null
+                List<Expression> arguments = new ArrayList<>(mi.getArguments());
+                arguments.add(RecipesUtil.createNullExpression());
+                return mi.withArguments(arguments);
+            });
+            for (String signature : REMOVED_EXPRESSION_CLAUSES) {
+                registerMethodHandler(signature, (mi, ctx) -> mi.withName(
+                        RecipesUtil.createIdentifier(Space.EMPTY, "removed_" + mi.getSimpleName(), mi.getType().toString()))
+                        .withComments(Collections.singletonList(RecipesUtil.createMultinlineComment(
+                                "Some Java DSL for tokenize, xmlTokenize, xpath, xquery and jsonpath has been removed as part of making the DSL model consistent.\n" +
+                                                                                                    "See https://camel.apache.org/manual/camel-4x-upgrade-guide-4_4.html#_camel_core for more details.\n"))));
             }
+        }
 
-            @Override
-            protected J.NewClass doVisitNewClass(J.NewClass newClass, ExecutionContext ctx) {
-                J.NewClass nc = super.doVisitNewClass(newClass, ctx);
+        @Override
+        protected J.MethodInvocation doVisitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            return dispatchMethodInvocation(super.doVisitMethodInvocation(method, ctx), ctx);
+        }
 
-                //can not use org.openrewrite.java.DeleteMethodArgument, because it doesn't modify calls of constructors
-                if ((getMethodMatcher(CONST_STOP_WATCH_LONG01).matches(nc) ||
-                        getMethodMatcher(CONST_STOP_WATCH_LONG02).matches(nc)) &&
-                        nc.getArguments().size() == 1) { //without the condition, the recipes is applied againorg.openrewrite.properties.ChangePropertyKey
-                    nc = nc.withArguments(Collections.emptyList()).withComments(Collections.singletonList(RecipesUtil
-                            .createMultinlineComment(
-                                    "Removed the deprecated constructor from the internal class org.apache.camel.util.StopWatch.\n" +
-                                                     "Users of this class are advised to use the default constructor if necessary.Changed exception thrown from IOException to Exception.\n")));
+        @Override
+        protected J.NewClass doVisitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+            J.NewClass nc = super.doVisitNewClass(newClass, ctx);
 
-                }
+            //can not use org.openrewrite.java.DeleteMethodArgument, because it doesn't modify calls of constructors
+            if ((getMethodMatcher(CONST_STOP_WATCH_LONG01).matches(nc) ||
+                    getMethodMatcher(CONST_STOP_WATCH_LONG02).matches(nc)) &&
+                    nc.getArguments().size() == 1) { //without the condition, the recipes is applied againorg.openrewrite.properties.ChangePropertyKey
+                nc = nc.withArguments(Collections.emptyList()).withComments(Collections.singletonList(RecipesUtil
+                        .createMultinlineComment(
+                                "Removed the deprecated constructor from the internal class org.apache.camel.util.StopWatch.\n" +
+                                                 "Users of this class are advised to use the default constructor if necessary.Changed exception thrown from IOException to Exception.\n")));
 
-                return nc;
             }
-        });
+
+            return nc;
+        }
     }
 }
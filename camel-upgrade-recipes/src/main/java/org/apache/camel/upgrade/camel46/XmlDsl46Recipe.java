@@ -16,10 +16,12 @@
  */
 package org.apache.camel.upgrade.camel46;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.xml.XPathMatcher;
 import org.openrewrite.xml.tree.Content;
@@ -34,7 +36,7 @@ import java.util.List;
  * </p>
  * When using XML DSL to define properties on <bean> then <property> must now be declared inside <properties>.
  */
-public class XmlDsl46Recipe extends Recipe {
+public class XmlDsl46Recipe extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
     private static final XPathMatcher BEAN_PROPERTY_XPATH_MATCHER = new XPathMatcher("bean/property");
     private static final XPathMatcher BEAN_XPATH_MATCHER = new XPathMatcher("bean");
@@ -51,43 +53,49 @@ public class XmlDsl46Recipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new AbstractCamelXmlVisitor() {
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
 
-            @Override
-            public  Xml.@Nullable Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
-                Xml.Tag t = super.doVisitTag(tag, ctx);
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new XmlDsl46Visitor();
+    }
 
-                //save all properties into a list placed to the bean tag
-                //and the first property rename to properties and strip content
-                if (BEAN_PROPERTY_XPATH_MATCHER.matches(getCursor())) {
+    private static final class XmlDsl46Visitor extends AbstractCamelXmlVisitor {
 
-                    List<Xml.Tag> sb = getCursor().getParent().getMessage("properties");
-                    if(sb == null) {
-                        sb = new LinkedList<>();
-                        getCursor().getParent().putMessage("properties", sb);
-                        getCursor().getParent().putMessage("propertiesPrefix", t.getPrefix());
-                    }
-                    //make prefix bigger, as those values would come to the new nested level
-                    sb.add(t.withPrefix(t.getPrefix() + "  "));
-                    //skip property
-                    return null;
+        XmlDsl46Visitor() {
+            //save all properties into a list placed to the bean tag
+            //and the first property rename to properties and strip content
+            registerTagHandler("property", BEAN_PROPERTY_XPATH_MATCHER, (t, ctx) -> {
+                List<Xml.Tag> sb = getCursor().getParent().getMessage("properties");
+                if(sb == null) {
+                    sb = new LinkedList<>();
+                    getCursor().getParent().putMessage("properties", sb);
+                    getCursor().getParent().putMessage("propertiesPrefix", t.getPrefix());
                 }
-                if (BEAN_XPATH_MATCHER.matches(getCursor()) && getCursor().getMessage("properties") != null) {
-                    //save description into context for parent
-                    List<Xml.Tag> sb = getCursor().getMessage("properties");
-                    String prefix = getCursor().getMessage("propertiesPrefix");
-                    if(sb != null) {
-                        List<Content> content = new LinkedList<>();
-                        content.addAll(t.getContent());
-                        content.add(Xml.Tag.build("<properties/>").withPrefix(prefix).withContent(sb));
-                        return t.withContent(content);
+                //make prefix bigger, as those values would come to the new nested level
+                sb.add(t.withPrefix(t.getPrefix() + "  "));
+                //skip property
+                return null;
+            });
+            registerTagHandler("bean", BEAN_XPATH_MATCHER, (t, ctx) -> {
+                //save description into context for parent
+                List<Xml.Tag> sb = getCursor().getMessage("properties");
+                String prefix = getCursor().getMessage("propertiesPrefix");
+                if(sb != null) {
+                    List<Content> content = new LinkedList<>();
+                    content.addAll(t.getContent());
+                    content.add(Xml.Tag.build("<properties/>").withPrefix(prefix).withContent(sb));
+                    return t.withContent(content);
 
-                    }
                 }
-
                 return t;
-            }
+            });
+        }
 
-        };
+        @Override
+        public  Xml.@Nullable Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
     }
 }
@@ -16,12 +16,12 @@
  */
 package org.apache.camel.upgrade.camel46;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
@@ -54,7 +54,7 @@ import java.util.stream.Collectors;
  *          payload: "test-payload"
  * </pre>
  */
-public class YamlDsl46Recipe extends Recipe {
+public class YamlDsl46Recipe extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
     @Override
     public String getDisplayName() {
@@ -68,58 +68,70 @@ public class YamlDsl46Recipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
 
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
-
-            @Override
-            protected void clearLocalCache() {
-                //nothing to do
-            }
-
-            @Override
-            public  Yaml.Mapping.@Nullable Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
-                //resolve path
-                String path = RecipesUtil.getProperty(getCursor());
-
-                //remove unnecessary children and switch Sequence to Mapping
-                if(path.endsWith("beans.property")) {
-                    //it is intentional to fail if the casting is wrong, in that case the Abstract*Visitor
-                    //logs warning about failure and no migration is applied
-                    Yaml.Mapping m = (Yaml.Mapping) ((Yaml.Sequence)e.getValue()).getEntries().get(0).getBlock();
-                    //apply correct prefix for the new 'properties' values
-                    String prefix = e.getPrefix() + "  ";
-                    List<Yaml.Mapping.Entry> entries = ((Yaml.Sequence)e.getValue()).getEntries().stream()
-                            //iterate over all blocks
-                            .flatMap(entry1 -> ((Yaml.Mapping)entry1.getBlock()).getEntries().stream())
-                            //apply correct prefix
-                            .map(entry2 -> entry2.withPrefix(prefix))
-                            .collect(Collectors.toList());
-
-                    return e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue("properties"))
-                            .withValue(m.copyPaste().withEntries(entries));
-                }
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new BeanPropertiesVisitor();
+    }
 
+    @Override
+    public boolean inspectsParent() {
+        return false;
+    }
 
-                //property key is saved
-                if(path.matches(".*beans.property.key") && e.getValue() instanceof Yaml.Scalar) {
-                    //save value into parent context, so the value can reach it
-                    getCursor().getParent(4).putMessage("key", ((Yaml.Scalar) e.getValue()).getValue());
-                    //return original key, which will be removed in the code above
-                    return null;
+    private static final class BeanPropertiesVisitor extends AbstractCamelYamlVisitor {
+
+        BeanPropertiesVisitor() {
+            //remove unnecessary children and switch Sequence to Mapping
+            registerKeyHandler("$..beans.property", (e, ctx) -> {
+                //it is intentional to fail if the casting is wrong, in that case the Abstract*Visitor
+                //logs warning about failure and no migration is applied
+                Yaml.Mapping m = (Yaml.Mapping) ((Yaml.Sequence)e.getValue()).getEntries().get(0).getBlock();
+                //apply correct prefix for the new 'properties' values
+                String prefix = e.getPrefix() + "  ";
+                List<Yaml.Mapping.Entry> entries = ((Yaml.Sequence)e.getValue()).getEntries().stream()
+                        //iterate over all blocks
+                        .flatMap(entry1 -> ((Yaml.Mapping)entry1.getBlock()).getEntries().stream())
+                        //apply correct prefix
+                        .map(entry2 -> entry2.withPrefix(prefix))
+                        .collect(Collectors.toList());
+
+                return e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue("properties"))
+                        .withValue(m.copyPaste().withEntries(entries));
+            });
+
+            //property key is saved
+            registerKeyHandler("$..beans.property.key", (e, ctx) -> {
+                if (!(e.getValue() instanceof Yaml.Scalar)) {
+                    return e;
                 }
-                //property 'value' is replaced by the key from previous
-                if(path.matches(".*beans.property.value")  && e.getValue() instanceof Yaml.Scalar && getCursor().getNearestMessage("key") != null) {
-                    String key = getCursor().getNearestMessage("key");
-                    if(key != null) {
-                        return e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue(key));
-                    }
+                //save value into parent context, so the value can reach it
+                getCursor().getParent(4).putMessage("key", ((Yaml.Scalar) e.getValue()).getValue());
+                //return original key, which will be removed in the code above
+                return null;
+            });
+
+            //property 'value' is replaced by the key from previous
+            registerKeyHandler("$..beans.property.value", (e, ctx) -> {
+                String key = e.getValue() instanceof Yaml.Scalar ? getCursor().getNearestMessage("key") : null;
+                if (key != null) {
+                    return e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue(key));
                 }
-
                 return e;
-            }
-
-        });
+            });
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do
+        }
+
+        @Override
+        public  Yaml.Mapping.@Nullable Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
     }
 
 }
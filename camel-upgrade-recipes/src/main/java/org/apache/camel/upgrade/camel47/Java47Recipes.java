@@ -17,9 +17,9 @@
 package org.apache.camel.upgrade.camel47;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.AddImport;
 import org.openrewrite.java.JavaTemplate;
@@ -32,26 +32,18 @@ import java.util.Optional;
 /**
  * Replaces prefix with the new one and changes the suffix tp start with lower case
  */
-public class Java47Recipes extends Recipe {
+public class Java47Recipes extends AbstractCamelRecipe {
 
     /**
-     * Simple triple class to hold three related values
+     * Removed header: the header constant of {@code org.apache.camel.Exchange}, its value and the replacement template
      */
-    private static class Triple {
-        final String a;
-        final String b;
-        final String c;
-
-        Triple(String a, String b, String c) {
-            this.a = a;
-            this.b = b;
-            this.c = c;
-        }
+    private record HeaderMigration(String signature, String constant, String headerName, String template) {
     }
+    private static final String EXCHANGE = "org.apache.camel.Exchange";
     private static final String MATCHER_GET_IN = "org.apache.camel.Exchange getIn()";
-    private static final List<Triple> HEADERS_MAP = Arrays.asList(
-            new Triple("org.apache.camel.Message getHeader(java.lang.String, java.lang.Class)", "Exchange.HTTP_SERVLET_REQUEST", "#{any(org.apache.camel.Exchange)}.getMessage(HttpMessage.class).getRequest()"),
-            new Triple("org.apache.camel.Message getHeader(java.lang.String, java.lang.Class)", "Exchange.HTTP_SERVLET_RESPONSE", "#{any(org.apache.camel.Exchange)}.getMessage(HttpMessage.class).getResponse()"));
+    private static final List<HeaderMigration> HEADERS_MAP = Arrays.asList(
+            new HeaderMigration("org.apache.camel.Message getHeader(java.lang.String, java.lang.Class)", "HTTP_SERVLET_REQUEST", "CamelHttpServletRequest", "#{any(org.apache.camel.Exchange)}.getMessage(HttpMessage.class).getRequest()"),
+            new HeaderMigration("org.apache.camel.Message getHeader(java.lang.String, java.lang.Class)", "HTTP_SERVLET_RESPONSE", "CamelHttpServletResponse", "#{any(org.apache.camel.Exchange)}.getMessage(HttpMessage.class).getResponse()"));
 
     @Override
     public String getDisplayName() {
@@ -65,37 +57,44 @@ public class Java47Recipes extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return RecipesUtil.newVisitor(new AbstractCamelJavaVisitor() {
-            @Override
-            protected J.MethodInvocation doVisitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-                J.MethodInvocation mi = super.doVisitMethodInvocation(method, ctx);
+        return RecipesUtil.newVisitor(new HeaderMigrationVisitor());
+    }
 
-                //get all mi starts with Exchange.getIn()
-                if (mi.getSelect() instanceof J.MethodInvocation &&
-                        getMethodMatcher(MATCHER_GET_IN).matches((J.MethodInvocation) mi.getSelect(), false)) {
-                    //apply map of transformations
-                    Optional<J.MethodInvocation> result = HEADERS_MAP.stream()
-                            .filter(triplet ->
-                                    getMethodMatcher(triplet.a).matches(mi) && mi.toString().contains(triplet.b))
-                            //rename tag
-                            .map(triplet -> (J.MethodInvocation)JavaTemplate.builder(triplet.c)
-                                    .build().apply(getCursor(), mi.getCoordinates().replace(), ((J.MethodInvocation)mi.getSelect()).getSelect())
-                                    .withPrefix(mi.getPrefix()))
-                            .findAny();
+    private static final class HeaderMigrationVisitor extends AbstractCamelJavaVisitor {
 
-                    if(result.isPresent()) {
-                        doAfterVisit(new AddImport<>("org.apache.camel.http.common.HttpMessage", null, false));
-                        return result.get();
-                    }
+        HeaderMigrationVisitor() {
+            //all transformations are of the same method, the handler is evaluated only for invocations of getHeader
+            HEADERS_MAP.stream().map(HeaderMigration::signature).distinct()
+                    .forEach(signature -> registerMethodHandler(signature, this::migrateHeader));
+        }
 
-                }
+        @Override
+        protected J.MethodInvocation doVisitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            return dispatchMethodInvocation(super.doVisitMethodInvocation(method, ctx), ctx);
+        }
 
+        private J.MethodInvocation migrateHeader(J.MethodInvocation mi, ExecutionContext ctx) {
+            //get all mi starts with Exchange.getIn()
+            if (mi.getSelect() instanceof J.MethodInvocation &&
+                    getMethodMatcher(MATCHER_GET_IN).matches((J.MethodInvocation) mi.getSelect(), false)) {
+                //apply map of transformations
+                Optional<J.MethodInvocation> result = HEADERS_MAP.stream()
+                        .filter(migration -> getMethodMatcher(migration.signature()).matches(mi) &&
+                                RecipesUtil.isConstantOrLiteral(mi.getArguments().get(0), EXCHANGE, migration.constant(), migration.headerName()))
+                        //rename tag
+                        .map(migration -> (J.MethodInvocation)JavaTemplate.builder(migration.template())
+                                .build().apply(getCursor(), mi.getCoordinates().replace(), ((J.MethodInvocation)mi.getSelect()).getSelect())
+                                .withPrefix(mi.getPrefix()))
+                        .findAny();
+
+                if(result.isPresent()) {
+                    doAfterVisit(new AddImport<>("org.apache.camel.http.common.HttpMessage", null, false));
+                    return result.get();
+                }
 
-                return mi;
             }
 
-        });
-
-
+            return mi;
+        }
     }
 }
@@ -16,11 +16,12 @@
  */
 package org.apache.camel.upgrade.camel47;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.xml.XPathMatcher;
 import org.openrewrite.xml.tree.Xml;
 
 import java.util.Map;
@@ -31,15 +32,15 @@ import java.util.Map;
  * </p>
  * The Load Balancer EIP has aligned naming and the following balancers has been renamed in XML and YAML DSL:
  */
-public class XmlDsl47Recipe extends Recipe {
+public class XmlDsl47Recipe extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
-    private static final Map<XPathMatcher, String> transformations = Map.of(
-            new XPathMatcher("//loadBalance/failover"), "failoverLoadBalancer",
-            new XPathMatcher("//loadBalance/random"), "randomLoadBalancer",
-            new XPathMatcher("//loadBalance/roundRobin"), "roundRobinLoadBalancer",
-            new XPathMatcher("//loadBalance/sticky"), "stickyLoadBalancer",
-            new XPathMatcher("//loadBalance/topic"), "topicLoadBalancer",
-            new XPathMatcher("//loadBalance/weighted"), "weightedLoadBalancer"
+    private static final Map<String, String> transformations = Map.of(
+            "//loadBalance/failover", "failoverLoadBalancer",
+            "//loadBalance/random", "randomLoadBalancer",
+            "//loadBalance/roundRobin", "roundRobinLoadBalancer",
+            "//loadBalance/sticky", "stickyLoadBalancer",
+            "//loadBalance/topic", "topicLoadBalancer",
+            "//loadBalance/weighted", "weightedLoadBalancer"
     );
 
     @Override
@@ -54,20 +55,29 @@ public class XmlDsl47Recipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new AbstractCamelXmlVisitor() {
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
+
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new XmlDsl47Visitor();
+    }
+
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    private static final class XmlDsl47Visitor extends AbstractCamelXmlVisitor {
 
-            @Override
-            public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
-                Xml.Tag t = super.doVisitTag(tag, ctx);
+        XmlDsl47Visitor() {
+            //rename tags
+            transformations.forEach((xPath, newName) -> registerTagHandler(xPath, (t, ctx) -> t.withName(newName)));
+        }
 
-                //rename tags
-                return transformations.entrySet().stream()
-                        .filter(e -> e.getKey().matches(getCursor()))
-                        //rename tag
-                        .map(e -> t.withName(e.getValue()))
-                        .findAny()
-                        .orElse(t);
-            }
-        };
+        @Override
+        public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
     }
 }
@@ -16,13 +16,12 @@
  */
 package org.apache.camel.upgrade.camel47;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.Map;
@@ -33,16 +32,15 @@ import java.util.Map;
  * </p>
  * The Load Balancer EIP has aligned naming and the following balancers has been renamed in XML and YAML DSL:
  */
-public class YamlDsl47Recipe extends Recipe {
+public class YamlDsl47Recipe extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
-
-    private static final Map<JsonPathMatcher, String> transformations = Map.of(
-            new JsonPathMatcher("$..loadBalance.failover"), "failoverLoadBalancer",
-            new JsonPathMatcher("$..loadBalance.random"), "randomLoadBalancer",
-            new JsonPathMatcher("$..loadBalance.roundRobin"), "roundRobinLoadBalancer",
-            new JsonPathMatcher("$..loadBalance.sticky"), "stickyLoadBalancer",
-            new JsonPathMatcher("$..loadBalance.topic"), "topicLoadBalancer",
-            new JsonPathMatcher("$..loadBalance.weighted"), "weightedLoadBalancer"
+    private static final Map<String, String> transformations = Map.of(
+            "$..loadBalance.failover", "failoverLoadBalancer",
+            "$..loadBalance.random", "randomLoadBalancer",
+            "$..loadBalance.roundRobin", "roundRobinLoadBalancer",
+            "$..loadBalance.sticky", "stickyLoadBalancer",
+            "$..loadBalance.topic", "topicLoadBalancer",
+            "$..loadBalance.weighted", "weightedLoadBalancer"
     );
 
     @Override
@@ -57,28 +55,41 @@ public class YamlDsl47Recipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
+
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new YamlDsl47Visitor();
+    }
 
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    @Override
+    public boolean inspectsParent() {
+        return false;
+    }
 
-            @Override
-            protected void clearLocalCache() {
-                //nothing to do
-            }
+    private static final class YamlDsl47Visitor extends AbstractCamelYamlVisitor {
 
-            @Override
-            public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
+        YamlDsl47Visitor() {
+            //rename entry
+            transformations.forEach((keyPath, newName) -> registerKeyHandler(keyPath,
+                    (e, ctx) -> e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue(newName))));
+        }
 
-                //rename entry
-                return transformations.entrySet().stream()
-                        .filter(en -> en.getKey().matches(getCursor()))
-                        //rename tag
-                        .map(en -> e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue(en.getValue())))
-                        .findAny()
-                        .orElse(e);
-            }
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do
+        }
 
-        });
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
     }
 
 }
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.customRecipes;
+
+import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.Validated;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renames several methods at once, replacing a list of {@link org.openrewrite.java.ChangeMethodName} recipes.
+ * <p>
+ * The mappings are indexed by the simple name of the old method, so each invocation, method reference, method
+ * declaration and static import is tested only against the method patterns with its own name, in a single traversal.
+ * Source files which neither invoke nor declare any of the old method names are skipped by the precondition.
+ * Therefore the method name of a pattern has to be exact, wildcards and constructors are rejected.
+ * <p>
+ * Example usage in YAML:
+ * <pre>
+ * - org.apache.camel.upgrade.customRecipes.BulkChangeMethodName:
+ *     methodMappings:
+ *       "org.apache.camel.model.dataformat.CsvDataFormat setFormatRef(String)": setFormat
+ *       "org.apache.camel.model.dataformat.CsvDataFormat.Builder formatRef(String)": format
+ * </pre>
+ */
+public class BulkChangeMethodName extends AbstractCamelRecipe {
+
+    @Option(displayName = "Method mappings",
+            description = "Ordered map of method patterns (in the MethodMatcher format) to the new method names.",
+            example = "org.apache.camel.model.dataformat.CsvDataFormat setFormatRef(String): setFormat")
+    public Map<String, String> methodMappings;
+
+    @Option(displayName = "Match on overrides",
+            description = "When enabled, find methods that are overrides of the method patterns.",
+            required = false)
+    public @Nullable Boolean matchOverrides;
+
+    public BulkChangeMethodName() {
+    }
+
+    public BulkChangeMethodName(Map<String, String> methodMappings, @Nullable Boolean matchOverrides) {
+        this.methodMappings = methodMappings;
+        this.matchOverrides = matchOverrides;
+    }
+
+    public void setMethodMappings(Map<String, String> methodMappings) {
+        this.methodMappings = methodMappings;
+    }
+
+    public void setMatchOverrides(@Nullable Boolean matchOverrides) {
+        this.matchOverrides = matchOverrides;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Change several method names at once";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Renames the methods matching the method patterns, all patterns are evaluated in a single pass.";
+    }
+
+    @Override
+    public Validated<Object> validate() {
+        Validated<Object> validated = super.validate();
+        if (methodMappings == null) {
+            return validated;
+        }
+        for (String methodPattern : methodMappings.keySet()) {
+            Validated<String> pattern = MethodMatcher.validate(methodPattern);
+            if (pattern.isInvalid()) {
+                validated = validated.and(Validated.invalid("methodMappings", methodPattern, "is not a valid method pattern"));
+                continue;
+            }
+            String name = methodName(methodPattern);
+            if (name.contains("*") || "<constructor>".equals(name)) {
+                validated = validated.and(Validated.invalid("methodMappings", methodPattern,
+                        "method name can not be a wildcard or a constructor"));
+            }
+        }
+        return validated;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        Map<String, List<MethodRename>> renames = new HashMap<>();
+        if (methodMappings != null) {
+            boolean overrides = Boolean.TRUE.equals(matchOverrides);
+            methodMappings.forEach((methodPattern, newMethodName) -> {
+                if (methodPattern != null && newMethodName != null) {
+                    renames.computeIfAbsent(methodName(methodPattern), k -> new ArrayList<>(2))
+                            .add(new MethodRename(new MethodMatcher(methodPattern, overrides), newMethodName));
+                }
+            });
+        }
+
+        return RecipesUtil.newVisitor(usage -> usage.usesAnyMethodName(renames.keySet()), new AbstractCamelJavaVisitor() {
+            @Override
+            protected J.MethodInvocation doVisitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = super.doVisitMethodInvocation(method, ctx);
+                JavaType.Method type = mi.getMethodType();
+                String newName = newName(mi.getSimpleName(), type);
+                if (newName != null) {
+                    mi = mi.withName(mi.getName().withSimpleName(newName)).withMethodType(type.withName(newName));
+                }
+                return mi;
+            }
+
+            @Override
+            protected J.MethodDeclaration doVisitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                J.MethodDeclaration md = super.doVisitMethodDeclaration(method, ctx);
+                JavaType.Method type = md.getMethodType();
+                String newName = newName(md.getSimpleName(), type);
+                if (newName != null) {
+                    md = md.withName(md.getName().withSimpleName(newName)).withMethodType(type.withName(newName));
+                }
+                return md;
+            }
+
+            @Override
+            protected J.MemberReference doVisitMemberReference(J.MemberReference memberRef, ExecutionContext ctx) {
+                J.MemberReference mr = super.doVisitMemberReference(memberRef, ctx);
+                JavaType.Method type = mr.getMethodType();
+                String newName = newName(mr.getReference().getSimpleName(), type);
+                if (newName != null) {
+                    mr = mr.withReference(mr.getReference().withSimpleName(newName)).withMethodType(type.withName(newName));
+                }
+                return mr;
+            }
+
+            @Override
+            protected J.Import doVisitImport(J.Import _import, ExecutionContext ctx) {
+                J.Import i = super.doVisitImport(_import, ctx);
+                if (!i.isStatic()) {
+                    return i;
+                }
+                J.FieldAccess qualid = i.getQualid();
+                List<MethodRename> candidates = renames.get(qualid.getSimpleName());
+                if (candidates != null) {
+                    // parameters are not known, the first pattern of the type wins
+                    for (MethodRename candidate : candidates) {
+                        if (candidate.matcher().isFullyQualifiedClassReference(qualid)) {
+                            return i.withQualid(qualid.withName(qualid.getName().withSimpleName(candidate.newName())));
+                        }
+                    }
+                }
+                return i;
+            }
+
+            private @Nullable String newName(String simpleName, JavaType.@Nullable Method type) {
+                List<MethodRename> candidates = renames.get(simpleName);
+                if (candidates == null || type == null) {
+                    return null;
+                }
+                // the first matching pattern wins
+                for (MethodRename candidate : candidates) {
+                    if (candidate.matcher().matches(type)) {
+                        return candidate.newName();
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @return method name of the pattern (e.g. <i>setFormatRef</i> for <i>CsvDataFormat setFormatRef(String)</i>)
+     */
+    private static String methodName(String methodPattern) {
+        int open = methodPattern.indexOf('(');
+        int separator = Math.max(methodPattern.lastIndexOf(' ', open), methodPattern.lastIndexOf('#', open));
+        return methodPattern.substring(separator + 1, open).trim();
+    }
+
+    private record MethodRename(MethodMatcher matcher, String newName) {
+    }
+}
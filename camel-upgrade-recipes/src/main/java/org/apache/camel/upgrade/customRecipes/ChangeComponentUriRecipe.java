@@ -16,16 +16,17 @@
  */
 package org.apache.camel.upgrade.customRecipes;
 
+import org.apache.camel.upgrade.customRecipes.internal.AbstractChangeComponentUriRecipe;
 import org.apache.camel.upgrade.customRecipes.internal.ChangeJavaComponentUriRecipe;
 import org.apache.camel.upgrade.customRecipes.internal.ChangeXmlComponentUriRecipe;
 import org.apache.camel.upgrade.customRecipes.internal.ChangeYamlComponentUriRecipe;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Option;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Composite recipe that transforms component URIs across all DSL types (Java, XML, YAML).
@@ -41,37 +42,27 @@ import java.util.List;
  * </pre>
  * <p>
  * This will transform Pulsar URIs in Java code, XML DSL, and YAML DSL all at once.
+ * <p>
+ * Several rewrites can be declared at once with <i>uriMappings</i>. The rules are indexed by the scheme of the
+ * component, so each URI is tested only against the rules of its own component, in a single pass per DSL:
+ * <pre>
+ * - org.apache.camel.upgrade.customRecipes.ChangeComponentUriRecipe:
+ *     uriMappings:
+ *       "^pulsar:(persistent|non-persistent)://([^/]+)/([^/]+)/([^/]+)/([^/?]+)(\\?.*)?$": "pulsar:${1}://${2}/${4}/${5}${6}"
+ *       "^old-component:(.+)$": "new-component:${1}"
+ * </pre>
  */
-public class ChangeComponentUriRecipe extends Recipe {
-
-    @Option(
-        displayName = "URI pattern",
-        description = "Regular expression to match the component URI. Use capturing groups for parts to preserve.",
-        example = "^pulsar:((persistent|non-persistent)://([^/]+)/([^/]+)/([^/]+)/(.+))$"
-    )
-    public String uriPattern;
-
-    @Option(
-        displayName = "Replacement",
-        description = "Replacement string using ${1}, ${2}, etc. to reference capturing groups from the pattern.",
-        example = "pulsar:${2}://${3}/${5}/${6}"
-    )
-    public String replacement;
+public class ChangeComponentUriRecipe extends AbstractChangeComponentUriRecipe {
 
     public ChangeComponentUriRecipe() {
     }
 
     public ChangeComponentUriRecipe(String uriPattern, String replacement) {
-        this.uriPattern = uriPattern;
-        this.replacement = replacement;
-    }
-
-    public void setUriPattern(String uriPattern) {
-        this.uriPattern = uriPattern;
+        super(uriPattern, replacement);
     }
 
-    public void setReplacement(String replacement) {
-        this.replacement = replacement;
+    public ChangeComponentUriRecipe(Map<String, String> uriMappings) {
+        super(uriMappings);
     }
 
     @Override
@@ -89,10 +80,18 @@ public class ChangeComponentUriRecipe extends Recipe {
     public List<Recipe> getRecipeList() {
         List<Recipe> recipes = new ArrayList<>();
 
-        // Apply transformation to all three DSL types
-        recipes.add(new ChangeJavaComponentUriRecipe(uriPattern, replacement));
-        recipes.add(new ChangeXmlComponentUriRecipe(uriPattern, replacement));
-        recipes.add(new ChangeYamlComponentUriRecipe(uriPattern, replacement));
+        // Apply transformation to all three DSL types, each DSL applies all the rules in one pass
+        ChangeJavaComponentUriRecipe javaRecipe = new ChangeJavaComponentUriRecipe(uriPattern, replacement);
+        javaRecipe.setUriMappings(uriMappings);
+        recipes.add(javaRecipe);
+
+        ChangeXmlComponentUriRecipe xmlRecipe = new ChangeXmlComponentUriRecipe(uriPattern, replacement);
+        xmlRecipe.setUriMappings(uriMappings);
+        recipes.add(xmlRecipe);
+
+        ChangeYamlComponentUriRecipe yamlRecipe = new ChangeYamlComponentUriRecipe(uriPattern, replacement);
+        yamlRecipe.setUriMappings(uriMappings);
+        recipes.add(yamlRecipe);
 
         return recipes;
     }
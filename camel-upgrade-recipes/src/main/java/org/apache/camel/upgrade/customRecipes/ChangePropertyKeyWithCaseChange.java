@@ -16,17 +16,32 @@
  */
 package org.apache.camel.upgrade.customRecipes;
 
+import org.apache.camel.upgrade.DocumentKind;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
 import org.openrewrite.properties.PropertiesVisitor;
 import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Replaces prefix with the new one and changes the suffix tp start with lower case
+ * <p>
+ * The pattern is compiled and the exclusions are hashed once per recipe run. With <i>includeYaml</i> the same
+ * rename is applied to the leaf keys of application configuration yaml files (see {@link DocumentKind#APPLICATION_CONFIG})
+ * as well, with a single pass over the file (the key of a yaml entry is the path of its parent keys).
+ * </p>
  */
 public class ChangePropertyKeyWithCaseChange extends Recipe {
 
@@ -43,6 +58,12 @@ public class ChangePropertyKeyWithCaseChange extends Recipe {
             example = "camel.springboot.main-run-controller")
     List<String> exclusions = new ArrayList<>();
 
+    @Option(displayName = "Include yaml",
+            description = "Rename the keys of application configuration yaml files as well. Defaults to false.",
+            required = false)
+    @Nullable
+    Boolean includeYaml;
+
     public ChangePropertyKeyWithCaseChange() {
     }
 
@@ -52,6 +73,12 @@ public class ChangePropertyKeyWithCaseChange extends Recipe {
         this.exclusions = exclusions;
     }
 
+    public ChangePropertyKeyWithCaseChange(String oldPropertyKey, String newPrefix, List<String> exclusions,
+                                           @Nullable Boolean includeYaml) {
+        this(oldPropertyKey, newPrefix, exclusions);
+        this.includeYaml = includeYaml;
+    }
+
     public void setOldPropertyKey(String oldPropertyKey) {
         this.oldPropertyKey = oldPropertyKey;
     }
@@ -64,6 +91,10 @@ public class ChangePropertyKeyWithCaseChange extends Recipe {
         this.exclusions = exclusions;
     }
 
+    public void setIncludeYaml(@Nullable Boolean includeYaml) {
+        this.includeYaml = includeYaml;
+    }
+
     @Override
     public String getDisplayName() {
         return "Change prefix of property with Camel case";
@@ -75,29 +106,66 @@ public class ChangePropertyKeyWithCaseChange extends Recipe {
     }
 
     @Override
-    public PropertiesVisitor<ExecutionContext> getVisitor() {
-        return new PropertiesVisitor<>() {
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        KeyRename rename = new KeyRename(Pattern.compile(oldPropertyKey), newPrefix,
+                exclusions == null ? Set.of() : new HashSet<>(exclusions));
+        PropertiesVisitor<ExecutionContext> propertiesVisitor = new PropertiesVisitor<>() {
             @Override
             public Properties visitEntry(Properties.Entry entry, ExecutionContext ctx) {
-                for (String exclusion : exclusions) {
-                    if (entry.getKey().equals(exclusion)) {
-                        return super.visitEntry(entry, ctx);
-                    }
-                }
-
-                if (entry.getKey().matches(oldPropertyKey)) {
-                    entry = entry.withKey(getKey(entry))
+                String newKey = rename.apply(entry.getKey());
+                if (newKey != null) {
+                    entry = entry.withKey(newKey)
                             .withPrefix(entry.getPrefix());
                 }
                 return super.visitEntry(entry, ctx);
             }
+        };
+        if (!Boolean.TRUE.equals(includeYaml)) {
+            return propertiesVisitor;
+        }
 
-            //replace key
-            private String getKey(Properties.Entry entry) {
-                return newPrefix + entry.getKey().replaceFirst(oldPropertyKey, "$1").substring(0, 1).toLowerCase() +
-                       entry.getKey().replaceFirst(oldPropertyKey, "$1").substring(1);
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return sourceFile instanceof Properties.File
+                       || DocumentKind.of(sourceFile, ctx) == DocumentKind.APPLICATION_CONFIG;
+            }
 
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Yaml.Documents) {
+                    return new YamlKeyRenameVisitor() {
+                        @Override
+                        protected @Nullable String newKey(String key, Yaml.Mapping.Entry entry) {
+                            return entry.getValue() instanceof Yaml.Mapping ? null : rename.apply(key);
+                        }
+                    }.visit(tree, ctx);
+                }
+                return tree instanceof Properties.File ? propertiesVisitor.visit(tree, ctx) : tree;
             }
         };
     }
+
+    private record KeyRename(Pattern pattern, String newPrefix, Set<String> exclusions) {
+
+        /**
+         * @return new key or null, if the key does not match or is excluded
+         */
+        @Nullable
+        String apply(String key) {
+            if (exclusions.contains(key)) {
+                return null;
+            }
+            Matcher matcher = pattern.matcher(key);
+            if (!matcher.matches()) {
+                return null;
+            }
+            //replace key
+            String suffix = matcher.groupCount() > 0 && matcher.group(1) != null ? matcher.group(1) : "";
+            if (suffix.isEmpty()) {
+                return newPrefix;
+            }
+            return newPrefix + suffix.substring(0, 1).toLowerCase() + suffix.substring(1);
+        }
+    }
 }
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.customRecipes;
+
+import org.apache.camel.upgrade.CamelUsage;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.SourceFileWithReferences;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.ChangeType;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.trait.Reference;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Changes several types, replacing a list of {@link ChangeType} recipes, with a prefilter of the mappings.
+ * <p>
+ * The types used by a source file are collected once: Java sources are indexed by {@link CamelUsage}, the other
+ * sources with type references (e.g. Spring XML) by their {@link SourceFileWithReferences.References}. Only the
+ * mappings of the types the file actually uses are applied, each of them by its own {@link ChangeType} traversal.
+ * A file which does not use any of the old types costs a single lookup per mapping instead of one traversal
+ * per mapping. Mappings are applied in declaration order, exactly as the list of single recipes would be
+ * (e.g. {@code a -> b} followed by {@code b -> c} changes {@code a} to {@code c}).
+ * <p>
+ * Example usage in YAML:
+ * <pre>
+ * - org.apache.camel.upgrade.customRecipes.ChangeUsedTypes:
+ *     typeMappings:
+ *       org.apache.camel.support.IntrospectionSupport: org.apache.camel.impl.engine.IntrospectionSupport
+ *       org.apache.camel.component.qdrant.Qdrant.Headers: org.apache.camel.component.qdrant.QdrantHeaders
+ * </pre>
+ */
+public class ChangeUsedTypes extends Recipe {
+
+    @Option(displayName = "Type mappings",
+            description = "Ordered map of fully-qualified names of the old types to the fully-qualified names of the new types.",
+            example = "org.apache.camel.support.IntrospectionSupport: org.apache.camel.impl.engine.IntrospectionSupport")
+    public Map<String, String> typeMappings;
+
+    public ChangeUsedTypes() {
+    }
+
+    public ChangeUsedTypes(Map<String, String> typeMappings) {
+        this.typeMappings = typeMappings;
+    }
+
+    public void setTypeMappings(Map<String, String> typeMappings) {
+        this.typeMappings = typeMappings;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Change the types used by each source file";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Changes each old type to the new one. Source files are prefiltered by the types they use, " +
+               "each used type is changed by its own `ChangeType` pass.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        List<ChangeType> changes = new ArrayList<>();
+        if (typeMappings != null) {
+            typeMappings.forEach((oldType, newType) -> {
+                if (oldType != null && newType != null && !oldType.equals(newType)) {
+                    changes.add(new ChangeType(oldType, newType, null));
+                }
+            });
+        }
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                // same sources as accepted by ChangeType
+                return !changes.isEmpty()
+                       && (sourceFile instanceof JavaSourceFile || sourceFile instanceof SourceFileWithReferences);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    return changeUsedTypes((SourceFile) tree, changes, javaTypeUsage((JavaSourceFile) tree, ctx), ctx);
+                }
+                if (tree instanceof SourceFileWithReferences) {
+                    return changeUsedTypes((SourceFile) tree, changes, referencedTypes((SourceFileWithReferences) tree), ctx);
+                }
+                return tree;
+            }
+        };
+    }
+
+    /**
+     * @param usesType whether the source file uses the old type of a mapping
+     */
+    private static Tree changeUsedTypes(SourceFile sourceFile, List<ChangeType> changes, Predicate<String> usesType,
+                                        ExecutionContext ctx) {
+        Tree t = sourceFile;
+        // types introduced by a previous mapping of the chain
+        Set<String> changedTypes = new HashSet<>();
+        for (ChangeType change : changes) {
+            String oldType = change.getOldFullyQualifiedTypeName();
+            if (usesType.test(oldType) || changedTypes.contains(oldType)) {
+                TreeVisitor<?, ExecutionContext> visitor = change.getVisitor();
+                Tree changed = visitor.isAcceptable((SourceFile) t, ctx) ? visitor.visit(t, ctx) : t;
+                if (changed != t && changed != null) {
+                    t = changed;
+                    changedTypes.add(change.getNewFullyQualifiedTypeName());
+                }
+            }
+        }
+        return t;
+    }
+
+    private static Predicate<String> javaTypeUsage(JavaSourceFile sourceFile, ExecutionContext ctx) {
+        CamelUsage usage = CamelUsage.of(sourceFile, ctx);
+        Set<String> declaredTypes = new HashSet<>();
+        for (J.ClassDeclaration classDecl : sourceFile.getClasses()) {
+            addDeclaredTypes(classDecl, declaredTypes);
+        }
+        return oldType -> {
+            String oldBinaryName = toBinaryName(oldType);
+            return usage.usesType(oldType) || usage.usesType(oldBinaryName) || declaredTypes.contains(oldBinaryName);
+        };
+    }
+
+    /**
+     * Type references are matched by {@link ChangeType} regardless of the separator of nested types
+     * (see {@link TypeUtils#fullyQualifiedNamesAreEqual(String, String)}), so are the collected names.
+     */
+    private static Predicate<String> referencedTypes(SourceFileWithReferences sourceFile) {
+        Set<String> referencedTypes = new HashSet<>();
+        for (Reference reference : sourceFile.getReferences().getReferences()) {
+            if (reference.getKind() == Reference.Kind.TYPE) {
+                referencedTypes.add(reference.getValue().replace('$', '.'));
+            }
+        }
+        return oldType -> referencedTypes.contains(oldType.replace('$', '.'));
+    }
+
+    private static void addDeclaredTypes(J.ClassDeclaration classDecl, Set<String> declaredTypes) {
+        JavaType.FullyQualified type = classDecl.getType();
+        if (type != null) {
+            declaredTypes.add(type.getFullyQualifiedName());
+        }
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.ClassDeclaration) {
+                addDeclaredTypes((J.ClassDeclaration) statement, declaredTypes);
+            }
+        }
+    }
+
+    /**
+     * Nested types are referenced with a dot in the recipes (e.g. {@code Qdrant.Headers}), but indexed with
+     * their binary name (e.g. {@code Qdrant$Headers}). Owning classes are resolved the same way as by
+     * {@link ChangeType}, see {@link JavaType.ShallowClass#build(String)}.
+     */
+    private static String toBinaryName(String typeName) {
+        JavaType.FullyQualified owningClass = JavaType.ShallowClass.build(typeName).getOwningClass();
+        if (owningClass == null) {
+            return typeName;
+        }
+        String owningName = owningClass.getFullyQualifiedName();
+        if (!typeName.startsWith(owningName) || typeName.length() <= owningName.length()) {
+            return typeName;
+        }
+        return toBinaryName(owningName) + '$' + typeName.substring(owningName.length() + 1);
+    }
+}
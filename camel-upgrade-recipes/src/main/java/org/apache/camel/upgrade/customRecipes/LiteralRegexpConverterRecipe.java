@@ -17,10 +17,10 @@
 package org.apache.camel.upgrade.customRecipes;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
@@ -30,7 +30,7 @@ import java.util.regex.Matcher;
 /**
  * Replaces literal matching pattern and replacing it with a replacement (regexp groups are supported)
  */
-public class LiteralRegexpConverterRecipe extends Recipe {
+public class LiteralRegexpConverterRecipe extends AbstractCamelRecipe {
 
     @Option(example = "TODO Provide a usage example for the docs", displayName = "Literal regexp name",
             description = "Regexp for matching a literal.")
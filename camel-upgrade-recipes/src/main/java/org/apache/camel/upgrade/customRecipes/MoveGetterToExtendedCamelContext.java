@@ -17,10 +17,10 @@
 package org.apache.camel.upgrade.customRecipes;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.tree.J;
@@ -28,7 +28,7 @@ import org.openrewrite.java.tree.J;
 /**
  * Replaces prefix with the new one and changes the suffix tp start with lower case
  */
-public class MoveGetterToExtendedCamelContext extends Recipe {
+public class MoveGetterToExtendedCamelContext extends AbstractCamelRecipe {
 
     @Option(example = "TODO Provide a usage example for the docs", displayName = "Method name",
             description = "Name of the method on external camel context.")
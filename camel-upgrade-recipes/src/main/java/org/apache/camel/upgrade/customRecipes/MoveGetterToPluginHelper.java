@@ -17,10 +17,10 @@
 package org.apache.camel.upgrade.customRecipes;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.AddImport;
 import org.openrewrite.java.JavaTemplate;
@@ -31,7 +31,7 @@ import java.util.regex.Pattern;
 /**
  * Replaces prefix with the new one and changes the suffix tp start with lower case
  */
-public class MoveGetterToPluginHelper extends Recipe {
+public class MoveGetterToPluginHelper extends AbstractCamelRecipe {
     private static final Pattern EXTERNAL_CONTEXT_TYPE = Pattern.compile("org.apache.camel.ExtendedCamelContext");
     private static final String MATCHER_CONTEXT_GET_EXT = "org.apache.camel.CamelContext getExtension(java.lang.Class)";
 
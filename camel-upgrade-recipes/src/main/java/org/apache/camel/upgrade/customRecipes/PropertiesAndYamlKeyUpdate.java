@@ -1,21 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
 package org.apache.camel.upgrade.customRecipes;
 
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.Recipe;
-import org.openrewrite.properties.ChangePropertyKey;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.properties.PropertiesVisitor;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.tree.Yaml;
 
-import java.util.List;
+import java.util.Map;
 
+/**
+ * Renames configuration keys in properties and yaml files.
+ * <p>
+ * Several keys can be renamed at once with <i>keyMappings</i>. Keys are matched with relaxed binding (camelCase,
+ * kebab-case, snake_case and upper case variants of a key are the same key), so each variant does not have to be
+ * declared. All mappings are applied with one pass over each properties or yaml file.
+ * <pre>
+ * - org.apache.camel.upgrade.customRecipes.PropertiesAndYamlKeyUpdate:
+ *     keyMappings:
+ *       camel.main.routeControllerInitialDelay: camel.routecontroller.initialDelay
+ *       camel.main.backlogTracing: camel.trace.enabled
+ * </pre>
+ */
 public class PropertiesAndYamlKeyUpdate extends Recipe {
 
     @Option(example = "TODO Provide a usage example for the docs", displayName = "Old configuration key",
-            description = "The configuration key to rename.")
+            description = "The configuration key to rename.",
+            required = false)
     String oldPropertyKey;
 
     @Option(example = "TODO Provide a usage example for the docs", displayName = "New configuration key",
-            description = "The configuration to be replaced with.")
+            description = "The configuration to be replaced with.",
+            required = false)
     String newPropertyKey;
 
+    @Option(displayName = "Key mappings",
+            description = "Ordered map of the configuration keys to rename to the new keys (for bulk rename).",
+            example = "camel.main.backlogTracing: camel.trace.enabled",
+            required = false)
+    Map<String, String> keyMappings;
+
     public PropertiesAndYamlKeyUpdate() {
     }
 
@@ -24,6 +68,10 @@ public class PropertiesAndYamlKeyUpdate extends Recipe {
         this.newPropertyKey = newPropertyKey;
     }
 
+    public PropertiesAndYamlKeyUpdate(Map<String, String> keyMappings) {
+        this.keyMappings = keyMappings;
+    }
+
     public void setOldPropertyKey(String oldPropertyKey) {
         this.oldPropertyKey = oldPropertyKey;
     }
@@ -32,6 +80,10 @@ public class PropertiesAndYamlKeyUpdate extends Recipe {
         this.newPropertyKey = newPropertyKey;
     }
 
+    public void setKeyMappings(Map<String, String> keyMappings) {
+        this.keyMappings = keyMappings;
+    }
+
     @Override
     public String getDisplayName() {
         return "Update Apache Camel configurations keys";
@@ -39,14 +91,45 @@ public class PropertiesAndYamlKeyUpdate extends Recipe {
 
     @Override
     public String getDescription() {
-        return "Update Apache Camel configurations keys";
+        return "Update Apache Camel configurations keys. Keys are matched with relaxed binding (kebab-case, " +
+               "snake_case and upper case variants of the keys of the mappings) and keep their style.";
     }
 
     @Override
-    public List<Recipe> getRecipeList() {
-        return List.of(new ChangePropertyKey(oldPropertyKey, newPropertyKey,
-                null, null),
-                new org.openrewrite.yaml.ChangePropertyKey(
-                        oldPropertyKey, newPropertyKey, null, null, null));
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        PropertyKeyTable table = PropertyKeyTable.compile(keyMappings, oldPropertyKey, newPropertyKey);
+        PropertiesVisitor<ExecutionContext> propertiesVisitor = new PropertiesVisitor<>() {
+            @Override
+            public Properties visitEntry(Properties.Entry entry, ExecutionContext ctx) {
+                String newKey = table.rename(entry.getKey());
+                if (newKey != null) {
+                    entry = entry.withKey(newKey).withPrefix(entry.getPrefix());
+                }
+                return super.visitEntry(entry, ctx);
+            }
+        };
+
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return !table.isEmpty() && (sourceFile instanceof Properties.File || sourceFile instanceof Yaml.Documents);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Properties.File) {
+                    return propertiesVisitor.visit(tree, ctx);
+                }
+                if (tree instanceof Yaml.Documents) {
+                    return new YamlKeyRenameVisitor() {
+                        @Override
+                        protected @Nullable String newKey(String key, Yaml.Mapping.Entry entry) {
+                            return table.rename(key);
+                        }
+                    }.visit(tree, ctx);
+                }
+                return tree;
+            }
+        };
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.customRecipes;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiled lookup table of configuration key renames with relaxed binding. Keys are compared the same way as by the
+ * relaxed binding of Spring Boot: lower-cased and without dashes and underscores (e.g. {@code camel.main.mainRunController},
+ * {@code camel.main.main-run-controller}, {@code camel.main.main_run_controller} and
+ * {@code CAMEL.MAIN.MAINRUNCONTROLLER} are the same key).
+ * <p>
+ * Mappings are resolved in declaration order, exactly as if one rename recipe was executed per mapping
+ * (e.g. {@code a -> b} followed by {@code b -> c} resolves {@code a} directly to {@code c}). A key is normalized once
+ * and looked up with a single hash lookup. A key declared in the mapping exactly is renamed to the new key as declared,
+ * a key matched only through relaxed binding keeps its style (kebab-case, snake_case and upper case).
+ * </p>
+ */
+final class PropertyKeyTable {
+
+    private final Map<String, String> exact = new HashMap<>();
+    private final Map<String, String> relaxed = new HashMap<>();
+
+    private PropertyKeyTable(List<Rename> renames) {
+        for (int i = 0; i < renames.size(); i++) {
+            Rename rename = renames.get(i);
+            // replay the following mappings, the same way the per-mapping recipes would be applied
+            String current = rename.newKey();
+            for (int j = i + 1; j < renames.size(); j++) {
+                if (normalize(current).equals(normalize(renames.get(j).oldKey()))) {
+                    current = renames.get(j).newKey();
+                }
+            }
+            // first mapping of the same key wins
+            exact.putIfAbsent(rename.oldKey(), current);
+            relaxed.putIfAbsent(normalize(rename.oldKey()), current);
+        }
+    }
+
+    static PropertyKeyTable compile(@Nullable Map<String, String> keyMappings,
+                                    @Nullable String oldKey, @Nullable String newKey) {
+        List<Rename> renames = new ArrayList<>();
+        if (keyMappings != null) {
+            keyMappings.forEach((o, n) -> add(renames, o, n));
+        }
+        add(renames, oldKey, newKey);
+        return new PropertyKeyTable(renames);
+    }
+
+    private static void add(List<Rename> renames, @Nullable String oldKey, @Nullable String newKey) {
+        if (oldKey != null && newKey != null && !oldKey.equals(newKey)) {
+            renames.add(new Rename(oldKey, newKey));
+        }
+    }
+
+    /**
+     * @return new key or null, if the key is not renamed
+     */
+    @Nullable
+    String rename(String key) {
+        String newKey = exact.get(key);
+        if (newKey != null) {
+            return newKey;
+        }
+        newKey = relaxed.get(normalize(key));
+        return newKey == null ? null : inStyleOf(key, newKey);
+    }
+
+    boolean isEmpty() {
+        return exact.isEmpty();
+    }
+
+    static String normalize(String key) {
+        StringBuilder sb = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c != '-' && c != '_') {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String inStyleOf(String key, String newKey) {
+        String styled = newKey;
+        if (key.indexOf('-') >= 0) {
+            styled = separateWords(newKey, '-');
+        } else if (key.indexOf('_') >= 0) {
+            styled = separateWords(newKey, '_');
+        }
+        boolean upperCase = key.equals(key.toUpperCase(Locale.ROOT)) && !key.equals(key.toLowerCase(Locale.ROOT));
+        return upperCase ? styled.toUpperCase(Locale.ROOT) : styled;
+    }
+
+    private static String separateWords(String key, char separator) {
+        StringBuilder sb = new StringBuilder(key.length() + 8);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isUpperCase(c) && i > 0 && key.charAt(i - 1) != '.') {
+                sb.append(separator).append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    record Rename(String oldKey, String newKey) {
+    }
+}
@@ -16,11 +16,13 @@
  */
 package org.apache.camel.upgrade.customRecipes;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
+import org.apache.camel.upgrade.UriRewriteRule;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.xml.XPathMatcher;
@@ -28,12 +30,11 @@ import org.openrewrite.xml.tree.Xml;
 
 import java.util.Optional;
 
-public class ReplacePropertyInComponentXml extends Recipe {
+public class ReplacePropertyInComponentXml extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
     private static final XPathMatcher FROM_MATCHER = new XPathMatcher("//route/from");
     private static final XPathMatcher TO_MATCHER = new XPathMatcher("//route/to");
 
-
     @Option(example = "TODO Provide a usage example for the docs", displayName = "Component",
             description = "Component name.")
     String component;
@@ -89,28 +90,42 @@ public class ReplacePropertyInComponentXml extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new AbstractCamelXmlVisitor() {
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
 
-            @Override
-            public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
-                Xml.Tag t = super.doVisitTag(tag, ctx);
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        // compiled once for all uris
+        UriRewriteRule rule = valuePrefix == null ? null : UriRewriteRule.propertyRename(component, oldPropertyKey, newPropertyKey, valuePrefix);
 
-                if(FROM_MATCHER.matches(getCursor())) {
-                    return replacePropertyIfPossible(t);
-                }
-                if(TO_MATCHER.matches(getCursor())) {
-                    return replacePropertyIfPossible(t);
-                }
+        return new ComponentPropertyVisitor(rule);
+    }
 
-                return t;
-            }
-        };
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    private final class ComponentPropertyVisitor extends AbstractCamelXmlVisitor {
+
+        ComponentPropertyVisitor(UriRewriteRule rule) {
+            registerTagHandler("from", FROM_MATCHER, (t, ctx) -> replacePropertyIfPossible(t, rule));
+            registerTagHandler("to", TO_MATCHER, (t, ctx) -> replacePropertyIfPossible(t, rule));
+        }
+
+        @Override
+        public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
     }
 
-    private Xml.Tag replacePropertyIfPossible(final Xml.Tag tag) {
+    private Xml.Tag replacePropertyIfPossible(final Xml.Tag tag, final UriRewriteRule rule) {
         Optional<Xml.Attribute> uri = tag.getAttributes().stream().filter(a -> "uri".equals(a.getKey().getName())).findAny();
         if (uri.isPresent() && (component.equals(uri.get().getValue().getValue()) || uri.get().getValue().getValue().startsWith(component + ":"))) {
-            String u = RecipesUtil.replacePropertyInUrl(uri.get().getValue().getValue(), component, oldPropertyKey, newPropertyKey, valuePrefix);
+            String value = uri.get().getValue().getValue();
+            String u = rule != null
+                    ? rule.apply(value).orElse(null)
+                    : RecipesUtil.replacePropertyInUrl(value, component, oldPropertyKey, newPropertyKey, valuePrefix);
             if (u != null) {
                 Xml.Attribute matched = uri.get();
                 String newUri = u;
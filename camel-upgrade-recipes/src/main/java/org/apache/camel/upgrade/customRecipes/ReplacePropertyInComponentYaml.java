@@ -16,19 +16,19 @@
  */
 package org.apache.camel.upgrade.customRecipes;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.yaml.search.FindKey;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.Optional;
 
-public class ReplacePropertyInComponentYaml extends Recipe {
+public class ReplacePropertyInComponentYaml extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
     @Option(example = "TODO Provide a usage example for the docs", displayName = "Component",
             description = "Component name.")
@@ -85,49 +85,59 @@ public class ReplacePropertyInComponentYaml extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
 
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new ComponentPropertyVisitor();
+    }
 
-            @Override
-            protected void clearLocalCache() {
-                //nothing to do
-            }
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
 
-            @Override
-            public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
+    private final class ComponentPropertyVisitor extends AbstractCamelYamlVisitor {
 
+        ComponentPropertyVisitor() {
+            registerKeyHandler("$..parameters." + oldPropertyKey, (e, ctx) -> replaceProperty(e));
+        }
 
-                String path = RecipesUtil.getProperty(getCursor());
-                //yaml fury marshal
-                if(path.endsWith("parameters." + oldPropertyKey)) {
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do
+        }
 
-                    //find component type
-                    Optional<Yaml.Mapping.Entry> compYaml = FindKey.find(getCursor().getParent(3).getValue(), "$.uri").stream()
-                            .filter(o -> o instanceof Yaml.Mapping.Entry)
-                            .map(o -> (Yaml.Mapping.Entry)o)
-                            .findAny();
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
 
-                    if(compYaml.isPresent()) {
-                        String compName = RecipesUtil.getValueFromScalar(compYaml.get().getValue());
+        private Yaml.Mapping.Entry replaceProperty(Yaml.Mapping.Entry e) {
+            //find component type
+            Optional<Yaml.Mapping.Entry> compYaml = FindKey.find(getCursor().getParent(3).getValue(), "$.uri").stream()
+                    .filter(o -> o instanceof Yaml.Mapping.Entry)
+                    .map(o -> (Yaml.Mapping.Entry)o)
+                    .findAny();
 
-                        if (compName != null && (component.equals(compName) || compName.startsWith(component + ":"))) {
+            if(compYaml.isPresent()) {
+                String compName = RecipesUtil.getValueFromScalar(compYaml.get().getValue());
 
-                            Yaml.Mapping.Entry newEntry = e.withKey(((Yaml.Scalar) entry.getKey().copyPaste()).withValue(newPropertyKey));
+                if (compName != null && (component.equals(compName) || compName.startsWith(component + ":"))) {
 
-                            if(valuePrefix != null && e.getValue() instanceof Yaml.Scalar && !((Yaml.Scalar)e.getValue()).getValue().startsWith(valuePrefix)) {
-                                newEntry = newEntry.withValue(((Yaml.Scalar)e.getValue()).copyPaste().withValue(valuePrefix + ((Yaml.Scalar) newEntry.getValue()).getValue()));
-                            }
+                    Yaml.Mapping.Entry newEntry = e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue(newPropertyKey));
 
-                            return newEntry;
-                        }
+                    if(valuePrefix != null && e.getValue() instanceof Yaml.Scalar && !((Yaml.Scalar)e.getValue()).getValue().startsWith(valuePrefix)) {
+                        newEntry = newEntry.withValue(((Yaml.Scalar)e.getValue()).copyPaste().withValue(valuePrefix + ((Yaml.Scalar) newEntry.getValue()).getValue()));
                     }
-                }
 
-                return e;
+                    return newEntry;
+                }
             }
 
-        });
+            return e;
+        }
     }
 
 }
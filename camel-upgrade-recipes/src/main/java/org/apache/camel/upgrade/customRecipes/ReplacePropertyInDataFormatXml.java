@@ -16,17 +16,17 @@
  */
 package org.apache.camel.upgrade.customRecipes;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
+import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.xml.XPathMatcher;
 import org.openrewrite.xml.tree.Xml;
 
-public class ReplacePropertyInDataFormatXml extends Recipe {
-
+public class ReplacePropertyInDataFormatXml extends AbstractCamelRecipe implements CamelXmlTagRecipe {
 
     @Option(example = "TODO Provide a usage example for the docs", displayName = "Component",
             description = "Component name.")
@@ -73,18 +73,30 @@ public class ReplacePropertyInDataFormatXml extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new AbstractCamelXmlVisitor() {
-
-            @Override
-            public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
-                Xml.Tag t = super.doVisitTag(tag, ctx);
-
-                if( new XPathMatcher("//marshal/" + component).matches(getCursor())) {
-                    return replacePropertyIfPossible(t);
-                }
-                return t;
-            }
-        };
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
+
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        return new DataFormatPropertyVisitor();
+    }
+
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    private final class DataFormatPropertyVisitor extends AbstractCamelXmlVisitor {
+
+        DataFormatPropertyVisitor() {
+            // the matcher is created once per visitor, it is evaluated only for tags named by the component
+            registerTagHandler("//marshal/" + component, (t, ctx) -> replacePropertyIfPossible(t));
+        }
+
+        @Override
+        public Xml.Tag doVisitTag(final Xml.Tag tag, final ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
     }
 
     private Xml.Tag replacePropertyIfPossible(final Xml.Tag tag) {
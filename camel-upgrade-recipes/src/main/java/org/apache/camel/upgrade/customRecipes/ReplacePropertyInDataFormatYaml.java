@@ -16,16 +16,16 @@
  */
 package org.apache.camel.upgrade.customRecipes;
 
+import org.apache.camel.upgrade.AbstractCamelRecipe;
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
-public class ReplacePropertyInDataFormatYaml extends Recipe {
+public class ReplacePropertyInDataFormatYaml extends AbstractCamelRecipe implements CamelYamlEntryRecipe {
 
     @Option(example = "TODO Provide a usage example for the docs", displayName = "Component",
             description = "Component name.")
@@ -60,7 +60,6 @@ public class ReplacePropertyInDataFormatYaml extends Recipe {
         this.newPropertyKey = newPropertyKey;
     }
 
-
     @Override
     public String getDisplayName() {
         return "Renames property of the component";
@@ -73,35 +72,43 @@ public class ReplacePropertyInDataFormatYaml extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
 
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
-
-            @Override
-            protected void clearLocalCache() {
-                //nothing to do
-            }
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new DataFormatPropertyVisitor();
+    }
 
-            @Override
-            public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
 
+    @Override
+    public boolean inspectsParent() {
+        return false;
+    }
 
-                String path = RecipesUtil.getProperty(getCursor());
-                //yaml marshal
-                if(path.endsWith("dataFormats." + component + "." + oldPropertyKey)) {
-                    return e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue(newPropertyKey));
-                }                //yaml marshal
-                if(path.endsWith("marshal." + component + "." + oldPropertyKey)) {
-                    return e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue(newPropertyKey));
-                }                //yaml marshal
-                if(path.endsWith("unmarshal." + component + "." + oldPropertyKey)) {
-                    return e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue(newPropertyKey));
-                }
+    private final class DataFormatPropertyVisitor extends AbstractCamelYamlVisitor {
 
-                return e;
+        DataFormatPropertyVisitor() {
+            //yaml data formats, marshal and unmarshal
+            for (String parent : new String[] {"dataFormats", "marshal", "unmarshal"}) {
+                registerKeyHandler("$.." + parent + "." + component + "." + oldPropertyKey,
+                        (e, ctx) -> e.withKey(((Yaml.Scalar) e.getKey().copyPaste()).withValue(newPropertyKey)));
             }
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            //nothing to do
+        }
 
-        });
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
     }
 
 }
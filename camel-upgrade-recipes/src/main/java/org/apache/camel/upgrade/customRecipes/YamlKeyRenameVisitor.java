@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.customRecipes;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.yaml.MergeYamlVisitor;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Renames the keys of yaml entries (the key of an entry is the dotted path of its parent keys) with a single traversal.
+ * <p>
+ * A renamed entry is moved the same way as {@link org.openrewrite.yaml.ChangePropertyKey} does: the parent keys shared
+ * with the new key are kept, the rest of the new key is inserted as a dotted key into the mapping of the first parent
+ * entry, which is not shared (the entry is renamed in place if it is the only one not shared). Parent entries left
+ * empty are removed. Entries are matched before their children are visited and moved, when the mapping of the target
+ * scope is left, so every rename of the file is applied with the same pass. Entries of sequences are not renamed.
+ * </p>
+ */
+abstract class YamlKeyRenameVisitor extends YamlIsoVisitor<ExecutionContext> {
+
+    private final Map<UUID, Move> movesByEntry = new HashMap<>();
+    private final Map<UUID, List<Move>> movesByScope = new HashMap<>();
+
+    /**
+     * @param key   dotted key of the entry
+     * @param entry entry to rename
+     * @return new dotted key or null, if the entry is not renamed
+     */
+    protected abstract @Nullable String newKey(String key, Yaml.Mapping.Entry entry);
+
+    @Override
+    public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+        if (getCursor().firstEnclosing(Yaml.Sequence.class) == null) {
+            List<Yaml.Mapping.Entry> path = entryPath();
+            String key = dottedKey(path);
+            String newKey = newKey(key, entry);
+            // the entry is kept, if the new key is already present below it
+            if (newKey != null && !(newKey.startsWith(key + ".")
+                    && containsKey(entry.getValue(), newKey.substring(key.length() + 1)))) {
+                addMove(path, newKey);
+            }
+        }
+        return super.visitMappingEntry(entry, ctx);
+    }
+
+    @Override
+    public Yaml.Mapping visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+        Yaml.Mapping m = super.visitMapping(mapping, ctx);
+        if (movesByEntry.isEmpty()) {
+            return m;
+        }
+
+        List<Move> inserts = new ArrayList<>();
+        List<Yaml.Mapping.Entry> entries = new ArrayList<>(m.getEntries().size());
+        boolean removed = false;
+        for (int i = 0; i < m.getEntries().size(); i++) {
+            Yaml.Mapping.Entry entry = m.getEntries().get(i);
+            inserts.addAll(movesByScope.getOrDefault(entry.getId(), Collections.emptyList()));
+            Move move = movesByEntry.get(entry.getId());
+            if (move != null && move.scope.getId().equals(entry.getId())) {
+                // only the key of the entry itself is not shared with the new key
+                entries.add(move.newEntry(entry).withPrefix(entry.getPrefix()));
+            } else if (move != null) {
+                move.entry = entry;
+                removed = true;
+            } else if (entry != mapping.getEntries().get(i) && entry.getValue() instanceof Yaml.Mapping
+                    && ((Yaml.Mapping) entry.getValue()).getEntries().isEmpty()) {
+                // all the children have been moved
+                removed = true;
+            } else {
+                entries.add(entry);
+            }
+        }
+        if (removed && entries.size() == 1) {
+            entries.set(0, entries.get(0).withPrefix(m.getEntries().get(0).getPrefix()));
+        }
+        m = m.withEntries(entries);
+
+        Yaml.Mapping merged = m;
+        for (Move move : inserts) {
+            if (move.entry != null) {
+                merged = (Yaml.Mapping) new MergeYamlVisitor<ExecutionContext>(merged,
+                        merged.withEntries(Collections.singletonList(move.newEntry(move.entry))),
+                        true, null, false, null, null).visitMapping(merged, ctx);
+            }
+        }
+        return maybeAutoFormat(m, merged, ctx, getCursor().getParentOrThrow());
+    }
+
+    private List<Yaml.Mapping.Entry> entryPath() {
+        List<Yaml.Mapping.Entry> path = new ArrayList<>();
+        Iterator<Object> values = getCursor().getPath();
+        while (values.hasNext()) {
+            Object value = values.next();
+            if (value instanceof Yaml.Mapping.Entry) {
+                path.add(0, (Yaml.Mapping.Entry) value);
+            }
+        }
+        return path;
+    }
+
+    private static String dottedKey(List<Yaml.Mapping.Entry> path) {
+        StringBuilder key = new StringBuilder();
+        for (Yaml.Mapping.Entry entry : path) {
+            if (key.length() > 0) {
+                key.append('.');
+            }
+            key.append(entry.getKey().getValue());
+        }
+        return key.toString();
+    }
+
+    private static boolean containsKey(Yaml.Block block, String key) {
+        if (block instanceof Yaml.Mapping) {
+            for (Yaml.Mapping.Entry entry : ((Yaml.Mapping) block).getEntries()) {
+                String entryKey = entry.getKey().getValue();
+                if (key.equals(entryKey) || (key.startsWith(entryKey + ".")
+                        && containsKey(entry.getValue(), key.substring(entryKey.length() + 1)))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void addMove(List<Yaml.Mapping.Entry> path, String newKey) {
+        // the first parent entry, whose key is not a prefix of the (rest of the) new key, is the scope of the insertion
+        String subproperty = newKey;
+        for (int i = 0; i < path.size(); i++) {
+            String prefix = path.get(i).getKey().getValue() + ".";
+            if (!subproperty.startsWith(prefix) || i == path.size() - 1) {
+                Move move = new Move(path.get(i), subproperty);
+                movesByEntry.put(path.get(path.size() - 1).getId(), move);
+                movesByScope.computeIfAbsent(move.scope.getId(), id -> new ArrayList<>()).add(move);
+                return;
+            }
+            subproperty = subproperty.substring(prefix.length());
+        }
+    }
+
+    private static final class Move {
+        private final Yaml.Mapping.Entry scope;
+        private final String subproperty;
+        // the visited entry, once removed from its mapping
+        private Yaml.Mapping.@Nullable Entry entry;
+
+        private Move(Yaml.Mapping.Entry scope, String subproperty) {
+            this.scope = scope;
+            this.subproperty = subproperty;
+        }
+
+        private Yaml.Mapping.Entry newEntry(Yaml.Mapping.Entry entry) {
+            return new Yaml.Mapping.Entry(Tree.randomId(), scope.getPrefix(), Markers.EMPTY,
+                    new Yaml.Scalar(Tree.randomId(), "", Markers.EMPTY, Yaml.Scalar.Style.PLAIN, null, null, subproperty),
+                    scope.getBeforeMappingValueIndicator(), entry.getValue().copyPaste());
+        }
+    }
+}
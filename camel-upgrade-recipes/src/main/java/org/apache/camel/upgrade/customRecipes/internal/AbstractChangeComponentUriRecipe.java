@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.customRecipes.internal;
+
+import org.apache.camel.upgrade.AbstractCamelRecipe;
+import org.apache.camel.upgrade.UriRewriteRules;
+import org.openrewrite.Option;
+import org.openrewrite.Validated;
+import org.openrewrite.config.OptionDescriptor;
+import org.openrewrite.config.RecipeDescriptor;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options shared by the recipes changing component URIs, either a single <i>uriPattern</i> with its
+ * <i>replacement</i>, or a table of <i>uriMappings</i>.
+ */
+public abstract class AbstractChangeComponentUriRecipe extends AbstractCamelRecipe {
+
+    @Option(
+        displayName = "URI pattern",
+        description = "Regular expression to match the component URI. Use capturing groups for parts to preserve.",
+        example = "^pulsar:((persistent|non-persistent)://([^/]+)/([^/]+)/([^/]+)/(.+))$",
+        required = false
+    )
+    public String uriPattern;
+
+    @Option(
+        displayName = "Replacement",
+        description = "Replacement string using ${1}, ${2}, etc. to reference capturing groups from the pattern.",
+        example = "pulsar:${2}://${3}/${5}/${6}",
+        required = false
+    )
+    public String replacement;
+
+    @Option(
+        displayName = "URI mappings",
+        description = "Ordered map of URI patterns to replacements (for bulk rewrite). " +
+                      "Rules are indexed by the component scheme, so each URI is tested only against the rules of its component.",
+        example = "^pulsar:(.+)$: pulsar:${1}",
+        required = false
+    )
+    public Map<String, String> uriMappings;
+
+    protected AbstractChangeComponentUriRecipe() {
+    }
+
+    protected AbstractChangeComponentUriRecipe(String uriPattern, String replacement) {
+        this.uriPattern = uriPattern;
+        this.replacement = replacement;
+    }
+
+    protected AbstractChangeComponentUriRecipe(Map<String, String> uriMappings) {
+        this.uriMappings = uriMappings;
+    }
+
+    public void setUriPattern(String uriPattern) {
+        this.uriPattern = uriPattern;
+    }
+
+    public void setReplacement(String replacement) {
+        this.replacement = replacement;
+    }
+
+    public void setUriMappings(Map<String, String> uriMappings) {
+        this.uriMappings = uriMappings;
+    }
+
+    protected UriRewriteRules rules() {
+        return UriRewriteRules.of(uriPattern, replacement, uriMappings);
+    }
+
+    /**
+     * Exactly one form of the options has to be set, otherwise the recipe would silently do nothing.
+     */
+    @Override
+    public Validated<Object> validate() {
+        Validated<Object> validated = super.validate();
+        boolean single = uriPattern != null || replacement != null;
+        boolean bulk = uriMappings != null && !uriMappings.isEmpty();
+        if (single && bulk) {
+            return validated.and(Validated.invalid("uriMappings", uriMappings,
+                    "uriMappings can not be combined with uriPattern and replacement"));
+        }
+        if (!single && !bulk) {
+            return validated.and(Validated.invalid("uriPattern", null,
+                    "either uriPattern and replacement, or uriMappings has to be set"));
+        }
+        if (single) {
+            return validated.and(Validated.required("uriPattern", uriPattern))
+                    .and(Validated.required("replacement", replacement));
+        }
+        return validated;
+    }
+
+    /**
+     * The options are declared by this class, the default descriptor only lists the fields declared by the recipe
+     * class itself.
+     */
+    @Override
+    protected RecipeDescriptor createRecipeDescriptor() {
+        RecipeDescriptor descriptor = super.createRecipeDescriptor();
+        List<OptionDescriptor> options = new ArrayList<>();
+        for (Field field : AbstractChangeComponentUriRecipe.class.getDeclaredFields()) {
+            Option option = field.getAnnotation(Option.class);
+            if (option != null) {
+                Object value;
+                try {
+                    value = field.get(this);
+                } catch (IllegalAccessException e) {
+                    value = null;
+                }
+                options.add(new OptionDescriptor(field.getName(), field.getType().getSimpleName(), option.displayName(),
+                        option.description(), option.example().isEmpty() ? null : option.example(), null,
+                        option.required(), value));
+            }
+        }
+        descriptor.getOptions().addAll(0, options);
+        return descriptor;
+    }
+}
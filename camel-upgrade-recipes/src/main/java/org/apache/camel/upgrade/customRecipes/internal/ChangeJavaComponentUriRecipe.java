@@ -18,48 +18,29 @@ package org.apache.camel.upgrade.customRecipes.internal;
 
 import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
 import org.apache.camel.upgrade.RecipesUtil;
+import org.apache.camel.upgrade.UriRewriteRules;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Transform component URIs in Java code using regexp with capturing groups.
  */
-public class ChangeJavaComponentUriRecipe extends Recipe {
-
-    @Option(
-        displayName = "URI pattern",
-        description = "Regular expression to match the component URI. Use capturing groups for parts to preserve.",
-        example = "^pulsar:((persistent|non-persistent)://([^/]+)/([^/]+)/([^/]+)/(.+))$"
-    )
-    public String uriPattern;
-
-    @Option(
-        displayName = "Replacement",
-        description = "Replacement string using ${1}, ${2}, etc. to reference capturing groups from the pattern.",
-        example = "pulsar:${2}://${3}/${5}/${6}"
-    )
-    public String replacement;
+public class ChangeJavaComponentUriRecipe extends AbstractChangeComponentUriRecipe {
 
     public ChangeJavaComponentUriRecipe() {
     }
 
     public ChangeJavaComponentUriRecipe(String uriPattern, String replacement) {
-        this.uriPattern = uriPattern;
-        this.replacement = replacement;
+        super(uriPattern, replacement);
     }
 
-    public void setUriPattern(String uriPattern) {
-        this.uriPattern = uriPattern;
-    }
-
-    public void setReplacement(String replacement) {
-        this.replacement = replacement;
+    public ChangeJavaComponentUriRecipe(Map<String, String> uriMappings) {
+        super(uriMappings);
     }
 
     @Override
@@ -74,16 +55,16 @@ public class ChangeJavaComponentUriRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        Pattern pattern = Pattern.compile(uriPattern);
+        UriRewriteRules rules = rules();
 
-        return new AbstractCamelJavaVisitor() {
+        AbstractCamelJavaVisitor visitor = new AbstractCamelJavaVisitor() {
             @Override
             protected J.Literal doVisitLiteral(J.Literal literal, ExecutionContext ctx) {
                 J.Literal l = super.doVisitLiteral(literal, ctx);
 
                 if (JavaType.Primitive.String == l.getType() && l.getValue() != null) {
                     String value = (String) l.getValue();
-                    return RecipesUtil.transform(value, pattern, replacement)
+                    return rules.apply(value)
                             .map(newValue -> RecipesUtil.createStringLiteral(newValue).withPrefix(literal.getPrefix()))
                             .orElse(l);
                 }
@@ -91,5 +72,9 @@ public class ChangeJavaComponentUriRecipe extends Recipe {
                 return l;
             }
         };
+
+        // only sources with a string literal of a rewritten scheme are visited, unless a rule has no literal scheme
+        Set<String> schemes = rules.schemes();
+        return RecipesUtil.newVisitor(schemes == null ? usage -> true : usage -> usage.usesAnyEndpoint(schemes), visitor);
     }
 }
@@ -17,53 +17,34 @@
 package org.apache.camel.upgrade.customRecipes.internal;
 
 import org.apache.camel.upgrade.AbstractCamelXmlVisitor;
+import org.apache.camel.upgrade.CamelXmlTagRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
+import org.apache.camel.upgrade.UriRewriteRules;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Option;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.xml.XPathMatcher;
 import org.openrewrite.xml.tree.Xml;
 
-import java.util.regex.Pattern;
+import java.util.Map;
 
 /**
  * Transform component URIs in XML DSL using regexp with capturing groups.
  */
-public class ChangeXmlComponentUriRecipe extends Recipe {
+public class ChangeXmlComponentUriRecipe extends AbstractChangeComponentUriRecipe implements CamelXmlTagRecipe {
 
     private static final XPathMatcher FROM_MATCHER = new XPathMatcher("//route/from");
     private static final XPathMatcher TO_MATCHER = new XPathMatcher("//route/to");
 
-    @Option(
-        displayName = "URI pattern",
-        description = "Regular expression to match the component URI. Use capturing groups for parts to preserve.",
-        example = "^pulsar:((persistent|non-persistent)://([^/]+)/([^/]+)/([^/]+)/(.+))$"
-    )
-    public String uriPattern;
-
-    @Option(
-        displayName = "Replacement",
-        description = "Replacement string using ${1}, ${2}, etc. to reference capturing groups from the pattern.",
-        example = "pulsar:${2}://${3}/${5}/${6}"
-    )
-    public String replacement;
-
     public ChangeXmlComponentUriRecipe() {
     }
 
     public ChangeXmlComponentUriRecipe(String uriPattern, String replacement) {
-        this.uriPattern = uriPattern;
-        this.replacement = replacement;
-    }
-
-    public void setUriPattern(String uriPattern) {
-        this.uriPattern = uriPattern;
+        super(uriPattern, replacement);
     }
 
-    public void setReplacement(String replacement) {
-        this.replacement = replacement;
+    public ChangeXmlComponentUriRecipe(Map<String, String> uriMappings) {
+        super(uriMappings);
     }
 
     @Override
@@ -78,28 +59,40 @@ public class ChangeXmlComponentUriRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        Pattern pattern = Pattern.compile(uriPattern);
+        return RecipesUtil.newVisitor(getTagVisitor());
+    }
 
-        return new AbstractCamelXmlVisitor() {
-            @Override
-            public Xml.Tag doVisitTag(Xml.Tag tag, ExecutionContext ctx) {
-                Xml.Tag t = super.doVisitTag(tag, ctx);
+    @Override
+    public AbstractCamelXmlVisitor getTagVisitor() {
+        UriRewriteRules rules = rules();
 
-                if (FROM_MATCHER.matches(getCursor()) || TO_MATCHER.matches(getCursor())) {
-                    return transformXmlUri(t, pattern, replacement);
-                }
+        return new ComponentUriVisitor(rules);
+    }
 
-                return t;
-            }
-        };
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    private static final class ComponentUriVisitor extends AbstractCamelXmlVisitor {
+
+        ComponentUriVisitor(UriRewriteRules rules) {
+            registerTagHandler("from", FROM_MATCHER, (t, ctx) -> transformXmlUri(t, rules));
+            registerTagHandler("to", TO_MATCHER, (t, ctx) -> transformXmlUri(t, rules));
+        }
+
+        @Override
+        public Xml.Tag doVisitTag(Xml.Tag tag, ExecutionContext ctx) {
+            return dispatchTag(super.doVisitTag(tag, ctx), ctx);
+        }
     }
 
-    private static Xml.Tag transformXmlUri(Xml.Tag tag, Pattern pattern, String replacement) {
+    private static Xml.Tag transformXmlUri(Xml.Tag tag, UriRewriteRules rules) {
         return tag.withAttributes(ListUtils.map(tag.getAttributes(), attr -> {
             if (!"uri".equals(attr.getKey().getName())) {
                 return attr;
             }
-            return RecipesUtil.transform(attr.getValue().getValue(), pattern, replacement)
+            return rules.apply(attr.getValue().getValue())
                     .map(newUri -> attr.withValue(attr.getValue().withValue(newUri)))
                     .orElse(attr);
         }));
@@ -17,52 +17,29 @@
 package org.apache.camel.upgrade.customRecipes.internal;
 
 import org.apache.camel.upgrade.AbstractCamelYamlVisitor;
+import org.apache.camel.upgrade.CamelYamlEntryRecipe;
 import org.apache.camel.upgrade.RecipesUtil;
+import org.apache.camel.upgrade.UriRewriteRules;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Option;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.tree.Yaml;
 
-import java.util.regex.Pattern;
+import java.util.Map;
 
 /**
  * Transform component URIs in YAML DSL using regexp with capturing groups.
  */
-public class ChangeYamlComponentUriRecipe extends Recipe {
-
-    private static final JsonPathMatcher YAML_URI_MATCHER = new JsonPathMatcher("$..uri");
-
-    @Option(
-        displayName = "URI pattern",
-        description = "Regular expression to match the component URI. Use capturing groups for parts to preserve.",
-        example = "^pulsar:((persistent|non-persistent)://([^/]+)/([^/]+)/([^/]+)/(.+))$"
-    )
-    public String uriPattern;
-
-    @Option(
-        displayName = "Replacement",
-        description = "Replacement string using ${1}, ${2}, etc. to reference capturing groups from the pattern.",
-        example = "pulsar:${2}://${3}/${5}/${6}"
-    )
-    public String replacement;
+public class ChangeYamlComponentUriRecipe extends AbstractChangeComponentUriRecipe implements CamelYamlEntryRecipe {
 
     public ChangeYamlComponentUriRecipe() {
     }
 
     public ChangeYamlComponentUriRecipe(String uriPattern, String replacement) {
-        this.uriPattern = uriPattern;
-        this.replacement = replacement;
-    }
-
-    public void setUriPattern(String uriPattern) {
-        this.uriPattern = uriPattern;
+        super(uriPattern, replacement);
     }
 
-    public void setReplacement(String replacement) {
-        this.replacement = replacement;
+    public ChangeYamlComponentUriRecipe(Map<String, String> uriMappings) {
+        super(uriMappings);
     }
 
     @Override
@@ -77,28 +54,47 @@ public class ChangeYamlComponentUriRecipe extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        Pattern pattern = Pattern.compile(uriPattern);
-
-        return Preconditions.check(RecipesUtil.camelYamlDslPrecondition(), new AbstractCamelYamlVisitor() {
-            @Override
-            protected void clearLocalCache() {
-                // Nothing to clear
-            }
-
-            @Override
-            public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                Yaml.Mapping.Entry e = super.doVisitMappingEntry(entry, ctx);
-
-                // Check if this is a uri field
-                if (YAML_URI_MATCHER.matches(getCursor()) && e.getValue() instanceof Yaml.Scalar) {
-                    Yaml.Scalar scalar = (Yaml.Scalar) e.getValue();
-                    return RecipesUtil.transform(scalar.getValue(), pattern, replacement)
-                            .map(newValue -> e.withValue(scalar.withValue(newValue)))
-                            .orElse(e);
-                }
+        return RecipesUtil.newVisitor(getEntryVisitor());
+    }
+
+    @Override
+    public AbstractCamelYamlVisitor getEntryVisitor() {
+        return new ComponentUriVisitor(rules());
+    }
 
-                return e;
-            }
-        });
+    @Override
+    public boolean inspectsChildren() {
+        return false;
+    }
+
+    @Override
+    public boolean inspectsParent() {
+        return false;
+    }
+
+    private static final class ComponentUriVisitor extends AbstractCamelYamlVisitor {
+
+        ComponentUriVisitor(UriRewriteRules rules) {
+            // uri field at any level
+            registerKeyHandler("$..uri", (e, ctx) -> {
+                if (!(e.getValue() instanceof Yaml.Scalar)) {
+                    return e;
+                }
+                Yaml.Scalar scalar = (Yaml.Scalar) e.getValue();
+                return rules.apply(scalar.getValue())
+                        .map(newValue -> e.withValue(scalar.withValue(newValue)))
+                        .orElse(e);
+            });
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            // Nothing to clear
+        }
+
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Statement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies the dispatching of method invocations to the registered handlers.
+ */
+public class AbstractCamelJavaVisitorTest {
+
+    //language=java
+    private static final String GREETER = """
+            package org.example;
+
+            public class Greeter {
+                public String greet() { return null; }
+                public String greet(String name) { return name; }
+            }
+            """;
+
+    @Test
+    void handlerReturningSameInvocationFallsThrough() {
+        DispatchingVisitor visitor = new DispatchingVisitor();
+        visitor.register("org.example.Greeter greet(String)", (mi, ctx) -> mi);
+        visitor.register("org.example.Greeter greet(..)", (mi, ctx) -> mi.withName(mi.getName().withSimpleName("hello")));
+
+        assertEquals(List.of("hello"), visitor.run("g.greet(\"camel\")"));
+    }
+
+    @Test
+    void firstChangingHandlerWins() {
+        DispatchingVisitor visitor = new DispatchingVisitor();
+        visitor.register("org.example.Greeter greet(String)", (mi, ctx) -> mi.withName(mi.getName().withSimpleName("hi")));
+        visitor.register("org.example.Greeter greet(..)", (mi, ctx) -> mi.withName(mi.getName().withSimpleName("hello")));
+
+        assertEquals(List.of("hi"), visitor.run("g.greet(\"camel\")"));
+    }
+
+    @Test
+    void handlerOfOtherArityIsNotApplied() {
+        DispatchingVisitor visitor = new DispatchingVisitor();
+        visitor.register("org.example.Greeter greet()", (mi, ctx) -> mi.withName(mi.getName().withSimpleName("hi")));
+
+        assertEquals(List.of("hi", "greet"), visitor.run("g.greet()", "g.greet(\"camel\")"));
+    }
+
+    @Test
+    void invocationWithoutHandlerIsUnchanged() {
+        DispatchingVisitor visitor = new DispatchingVisitor();
+        visitor.register("org.example.Greeter greet(String)", (mi, ctx) -> mi.withName(mi.getName().withSimpleName("hi")));
+
+        assertEquals(List.of("toString", "greet"), visitor.run("g.toString()", "g.greet()"));
+    }
+
+    private static final class DispatchingVisitor extends AbstractCamelJavaVisitor {
+
+        void register(String signature, BiFunction<J.MethodInvocation, ExecutionContext, J.MethodInvocation> handler) {
+            registerMethodHandler(signature, handler);
+        }
+
+        @Override
+        protected J.MethodInvocation doVisitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            return dispatchMethodInvocation(super.doVisitMethodInvocation(method, ctx), ctx);
+        }
+
+        /**
+         * @return names of the invocations of the statements after the dispatching
+         */
+        List<String> run(String... statements) {
+            String source = "import org.example.Greeter;\n\nclass Test {\n    void test(Greeter g) {\n        "
+                    + String.join(";\n        ", statements) + ";\n    }\n}\n";
+            J.CompilationUnit cu = (J.CompilationUnit) JavaParser.fromJavaVersion().dependsOn(GREETER).build()
+                    .parse(source).findFirst().orElseThrow();
+            J.CompilationUnit result = (J.CompilationUnit) visit(cu, new InMemoryExecutionContext());
+            List<String> names = new ArrayList<>();
+            J.MethodDeclaration test = (J.MethodDeclaration) result.getClasses().get(0).getBody().getStatements().get(0);
+            for (Statement statement : test.getBody().getStatements()) {
+                names.add(((J.MethodInvocation) statement).getSimpleName());
+            }
+            return names;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies the dispatching of the visited entries to the registered handlers.
+ */
+public class AbstractCamelYamlVisitorTest {
+
+    @Test
+    void allEntryHandlersApplied() {
+        RecordingVisitor visitor = new RecordingVisitor();
+        visitor.registerEntryHandler((e, ctx) -> visitor.record("first", e));
+        visitor.registerEntryHandler((e, ctx) -> visitor.record("second", e));
+
+        visitor.run("from: timer:tick");
+
+        assertEquals(List.of("first:from", "second:from"), visitor.handled);
+    }
+
+    @Test
+    void entryHandlersSkippedForMatchingKeyHandler() {
+        RecordingVisitor visitor = new RecordingVisitor();
+        visitor.registerKeyHandler("$.route.from", (e, ctx) -> visitor.record("key", e));
+        visitor.registerEntryHandler((e, ctx) -> visitor.record("any", e));
+
+        //language=yaml
+        visitor.run("""
+                route:
+                  from: timer:tick
+                """);
+
+        // children are handled before their parent
+        assertEquals(List.of("key:from", "any:route"), visitor.handled);
+    }
+
+    @Test
+    void removedEntryNotPassedToFollowingHandlers() {
+        RecordingVisitor visitor = new RecordingVisitor();
+        visitor.registerEntryHandler((e, ctx) -> null);
+        visitor.registerEntryHandler((e, ctx) -> visitor.record("second", e));
+
+        visitor.run("from: timer:tick");
+
+        assertEquals(List.of(), visitor.handled);
+    }
+
+    /**
+     * Records the keys of the entries passed to the handlers.
+     */
+    private static final class RecordingVisitor extends AbstractCamelYamlVisitor {
+
+        private final List<String> handled = new ArrayList<>();
+
+        private Yaml.Mapping.Entry record(String handler, Yaml.Mapping.Entry entry) {
+            handled.add(handler + ":" + entry.getKey().getValue());
+            return entry;
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            // nothing to clear
+        }
+
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
+
+        void run(String yaml) {
+            visit(YamlParser.builder().build().parse(yaml).findFirst().orElseThrow(), new InMemoryExecutionContext());
+        }
+    }
+}
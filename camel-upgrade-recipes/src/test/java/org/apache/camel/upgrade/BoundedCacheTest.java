@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedCacheTest {
+
+    @Test
+    void hitsAndMisses() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        String first = cache.get("a", k -> k + loads.incrementAndGet());
+        assertSame(first, cache.get("a", k -> k + loads.incrementAndGet()));
+        cache.get("b", k -> k + loads.incrementAndGet());
+
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void sizeIsBounded() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(5);
+        for (int i = 0; i < 100; i++) {
+            cache.get(i, k -> k);
+        }
+
+        assertEquals(5, cache.size());
+        assertEquals(100, cache.getMisses());
+        assertEquals(95, cache.getEvictions());
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvicted() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2);
+        cache.get("hot", k -> k);
+        cache.get("cold", k -> k);
+        // access makes "hot" the most recently used entry
+        cache.get("hot", k -> k);
+        cache.get("new", k -> k);
+
+        assertEquals(1, cache.getEvictions());
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("hot", k -> k + loads.incrementAndGet());
+        assertEquals(0, loads.get());
+        cache.get("cold", k -> k + loads.incrementAndGet());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void concurrentAccessStaysBounded() throws Exception {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(16);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        int key = (i * 31 + seed) % 64;
+                        assertEquals(key, cache.get(key, k -> k));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(cache.size() <= 16);
+        assertEquals(40_000, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    void nullValuesAreNotCached() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2);
+        assertNull(cache.get("a", k -> null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.apache.camel.upgrade.camel418_3.RenameHeaderInXmlDsl;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openrewrite.xml.Assertions.xml;
+
+/**
+ * Verifies that the Camel visitors accumulate their metrics into a single row per recipe.
+ */
+public class CamelRecipeMetricsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new RenameHeaderInXmlDsl("kafka.TOPIC", "CamelKafkaTopic"));
+    }
+
+    @Test
+    void oneRowPerRecipe() {
+        //language=xml
+        rewriteRun(
+            spec -> spec.dataTable(CamelRecipeMetrics.Row.class, rows -> {
+                assertEquals(1, rows.size());
+                CamelRecipeMetrics.Row row = rows.get(0);
+                assertEquals(RenameHeaderInXmlDsl.class.getName(), row.getRecipe());
+                assertEquals(2, row.getSourceFiles());
+                assertTrue(row.getInvocations() > 0);
+                assertEquals(0, row.getFailures());
+            }),
+            xml(
+                """
+                <route xmlns="http://camel.apache.org/schema/spring">
+                    <from uri="direct:start"/>
+                    <setHeader name="kafka.TOPIC">
+                        <constant>my-topic</constant>
+                    </setHeader>
+                </route>
+                """,
+                """
+                <route xmlns="http://camel.apache.org/schema/spring">
+                    <from uri="direct:start"/>
+                    <setHeader name="CamelKafkaTopic">
+                        <constant>my-topic</constant>
+                    </setHeader>
+                </route>
+                """,
+                spec -> spec.path("routes.xml")
+            ),
+            xml(
+                """
+                <route xmlns="http://camel.apache.org/schema/spring">
+                    <from uri="direct:other"/>
+                    <removeHeader name="kafka.TOPIC"/>
+                </route>
+                """,
+                """
+                <route xmlns="http://camel.apache.org/schema/spring">
+                    <from uri="direct:other"/>
+                    <removeHeader name="CamelKafkaTopic"/>
+                </route>
+                """,
+                spec -> spec.path("other.xml")
+            )
+        );
+    }
+}
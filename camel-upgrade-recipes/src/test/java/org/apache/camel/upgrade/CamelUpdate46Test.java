@@ -157,6 +157,20 @@ public class CamelUpdate46Test implements RewriteTest {
             """));
     }
 
+    @Test
+    void springBeansUntouched() {
+        //language=xml
+        rewriteRun(xml(
+          """
+            <beans xmlns="http://www.springframework.org/schema/beans">
+               <bean id="myBean" class="com.acme.MyBean">
+                  <property name="msg1" value="messageString1"/>
+                  <property name="msg2" value="messageString2"/>
+               </bean>
+            </beans>
+            """));
+    }
+
     @DisabledIfSystemProperty(named = CamelTestUtil.PROPERTY_USE_RECIPE, matches = ".+")
     @Test
     void renamedDependencies() {
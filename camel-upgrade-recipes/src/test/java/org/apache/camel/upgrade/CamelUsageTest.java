@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the index of the Camel usage of Java sources, including sources without type attribution.
+ */
+public class CamelUsageTest {
+
+    @Test
+    void unattributedImports() {
+        // the Camel types are not on the classpath of the parser
+        CamelUsage usage = usage("""
+                import org.apache.camel.builder.RouteBuilder;
+                import org.apache.camel.component.kafka.*;
+
+                class Routes extends RouteBuilder {
+                    public void configure() {
+                    }
+                }
+                """);
+
+        assertTrue(usage.usesCamel());
+        assertTrue(usage.usesType("org.apache.camel.builder.RouteBuilder"));
+        assertTrue(usage.usesType("org.apache.camel.builder.*"));
+        assertTrue(usage.usesType("org.apache.camel..*"));
+        assertTrue(usage.usesType("org.apache.camel.component.kafka.*"));
+        assertFalse(usage.usesType("org.apache.camel.component.kafka.KafkaComponent"));
+        assertFalse(usage.usesType("org.apache.camel.Exchange"));
+    }
+
+    @Test
+    void staticImports() {
+        CamelUsage usage = usage("""
+                import static org.apache.camel.builder.Builder.constant;
+                import static org.apache.camel.support.builder.PredicateBuilder.*;
+
+                class Expressions {
+                    Object expression = constant("x");
+                }
+                """);
+
+        assertTrue(usage.usesCamel());
+        assertTrue(usage.usesType("org.apache.camel.builder.Builder"));
+        assertTrue(usage.usesType("org.apache.camel.support.builder.PredicateBuilder"));
+        assertTrue(usage.usesType("org.apache.camel.support..*"));
+    }
+
+    @Test
+    void endpointStringConstants() {
+        CamelUsage usage = usage("""
+                import org.apache.camel.builder.RouteBuilder;
+
+                class Routes extends RouteBuilder {
+                    static final String INPUT = "kafka:orders?brokers=localhost:9092";
+                    static final String OUTPUT = "file-watch:target/out";
+                    static final String NOT_AN_URI = "not an uri: value";
+
+                    public void configure() {
+                        from(INPUT).to(OUTPUT);
+                    }
+                }
+                """);
+
+        assertTrue(usage.usesEndpoint("kafka"));
+        assertTrue(usage.usesEndpoint("file-watch"));
+        assertFalse(usage.usesEndpoint("not an uri"));
+        assertTrue(usage.usesAnyEndpoint(List.of("jms", "kafka")));
+        assertFalse(usage.usesAnyEndpoint(List.of("jms", "file")));
+        assertEquals(Set.of("kafka:orders?brokers=localhost:9092", "file-watch:target/out"), usage.getEndpointUris());
+        assertTrue(usage.usesAnyMethodName(List.of("configure")));
+    }
+
+    @Test
+    void noCamelUsage() {
+        CamelUsage usage = usage("""
+                import java.util.List;
+
+                class Plain {
+                    String url = "https://camel.apache.org";
+
+                    int size(List<String> list) {
+                        return list.size();
+                    }
+                }
+                """);
+
+        assertFalse(usage.usesCamel());
+        assertFalse(usage.usesType("org.apache.camel..*"));
+        assertFalse(usage.usesMethod("org.apache.camel.builder.RouteBuilder", "from"));
+        assertTrue(usage.usesType("java.util.List"));
+        assertTrue(usage.usesAnyMethodName(List.of("size")));
+        assertFalse(usage.usesAnyMethodName(List.of("from", "to")));
+        // an url is indexed by its scheme as well
+        assertTrue(usage.usesEndpoint("https"));
+    }
+
+    @Test
+    void computedOncePerExecution() {
+        JavaSourceFile sourceFile = parse("class Empty {\n}\n");
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext();
+
+        assertSame(CamelUsage.of(sourceFile, ctx), CamelUsage.of(sourceFile, ctx));
+    }
+
+    private static CamelUsage usage(String source) {
+        return CamelUsage.of(parse(source), new InMemoryExecutionContext());
+    }
+
+    private static JavaSourceFile parse(String source) {
+        return (JavaSourceFile) JavaParser.fromJavaVersion().build().parse(source).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.maven.Assertions.pomXml;
+import static org.openrewrite.test.SourceSpecs.text;
+
+/**
+ * Tests for CamelVersionBelow used as a precondition of a migration step.
+ */
+public class CamelVersionBelowTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipeFromYaml("""
+                type: specs.openrewrite.org/v1beta/recipe
+                name: org.apache.camel.upgrade.test.MigrationStep
+                displayName: Test migration step
+                description: Test migration step.
+                preconditions:
+                  - org.apache.camel.upgrade.CamelVersionBelow:
+                      version: 4.18.0
+                recipeList:
+                  - org.openrewrite.maven.ChangePropertyValue:
+                      key: migrated
+                      newValue: 'true'
+                """, "org.apache.camel.upgrade.test.MigrationStep");
+    }
+
+    @DocumentExample
+    @Test
+    void lowerVersion() {
+        //language=xml
+        rewriteRun(pomXml(pom("4.17.0", "false"), pom("4.17.0", "true")));
+    }
+
+    @Test
+    void targetVersion() {
+        //language=xml
+        rewriteRun(pomXml(pom("4.18.0", "false")));
+    }
+
+    @Test
+    void unknownVersion() {
+        //language=xml
+        rewriteRun(pomXml(pom(null, "false"), pom(null, "true")));
+    }
+
+    @Test
+    void gradleVersion() {
+        rewriteRun(
+                text("camelVersion=4.18.2", spec -> spec.path("gradle.properties")),
+                //language=xml
+                pomXml(pom(null, "false")));
+    }
+
+    private static String pom(String camelVersion, String migrated) {
+        return """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>org.apache.camel.test</groupId>
+                    <artifactId>test</artifactId>
+                    <version>1.0.0</version>
+                    <properties>
+                %s        <migrated>%s</migrated>
+                    </properties>
+                </project>
+                """.formatted(camelVersion == null ? "" : "        <camel.version>" + camelVersion + "</camel.version>\n", migrated);
+    }
+}
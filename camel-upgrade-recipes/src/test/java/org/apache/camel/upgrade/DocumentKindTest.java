@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.yaml.YamlParser;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Verifies the classification of yaml and xml sources by their path and content.
+ */
+public class DocumentKindTest {
+
+    //language=yaml
+    private static final String WORKFLOW = """
+            name: build
+            on: [push]
+            jobs:
+              build:
+                runs-on: ubuntu-latest
+            """;
+
+    //language=yaml
+    private static final String CAMEL_ROUTE = """
+            - route:
+                from:
+                  uri: timer:tick
+                  steps:
+                    - to: log:tick
+            """;
+
+    @Test
+    void githubWorkflows() {
+        assertEquals(DocumentKind.GITHUB_WORKFLOW, yaml(".github/workflows/build.yml", WORKFLOW));
+        // the path decides, even for a workflow with a key of the Camel DSL
+        assertEquals(DocumentKind.GITHUB_WORKFLOW, yaml(".github/workflows/route.yml", CAMEL_ROUTE));
+        // same files as the former FindSourceFiles(".github/workflows/*.yml"): repository root and .yml only
+        assertEquals(DocumentKind.OTHER, yaml(".github/workflows/build.yaml", WORKFLOW));
+        assertEquals(DocumentKind.OTHER, yaml("modules/app/.github/workflows/ci.yml", WORKFLOW));
+        // only files directly in the workflows directory
+        assertEquals(DocumentKind.OTHER, yaml(".github/workflows/templates/build.yml", WORKFLOW));
+        assertEquals(DocumentKind.OTHER, yaml(".github/dependabot.yml", WORKFLOW));
+        assertEquals(DocumentKind.OTHER, yaml("github/workflows/build.yml", WORKFLOW));
+    }
+
+    @Test
+    void camelYamlDslAndPlainYaml() {
+        assertEquals(DocumentKind.CAMEL_YAML_DSL, yaml("src/main/resources/routes/route.yaml", CAMEL_ROUTE));
+        assertEquals(DocumentKind.CAMEL_YAML_DSL, yaml("src/main/resources/routes/rest.camel.yaml", """
+                rest:
+                  path: /api
+                """));
+        assertEquals(DocumentKind.OTHER, yaml("src/main/resources/data.yaml", """
+                - name: order
+                  count: 2
+                - name: invoice
+                  uri: timer:tick
+                """));
+        assertEquals(DocumentKind.APPLICATION_CONFIG, yaml("src/main/resources/application-prod.yml", """
+                camel:
+                  main:
+                    name: demo
+                """));
+        assertEquals(DocumentKind.KUBERNETES_MANIFEST, yaml("k8s/deployment.yaml", """
+                apiVersion: apps/v1
+                kind: Deployment
+                """));
+    }
+
+    @Test
+    void camelXmlAndSpringBeans() {
+        assertEquals(DocumentKind.CAMEL_XML, xml("src/main/resources/routes.xml", """
+                <routes xmlns="http://camel.apache.org/schema/xml-io">
+                    <route><from uri="timer:tick"/></route>
+                </routes>
+                """));
+        assertEquals(DocumentKind.CAMEL_XML, xml("src/main/resources/camel-context.xml", """
+                <beans xmlns="http://www.springframework.org/schema/beans">
+                    <camelContext xmlns="http://camel.apache.org/schema/spring">
+                        <route><from uri="timer:tick"/></route>
+                    </camelContext>
+                </beans>
+                """));
+        assertEquals(DocumentKind.CAMEL_XML, xml("src/main/resources/beans.xml", """
+                <camel>
+                    <bean name="processor" type="com.example.Processor"/>
+                </camel>
+                """));
+        assertEquals(DocumentKind.SPRING_XML, xml("src/main/resources/beans.xml", """
+                <beans xmlns="http://www.springframework.org/schema/beans">
+                    <bean id="processor" class="com.example.Processor">
+                        <property name="name" value="route"/>
+                    </bean>
+                </beans>
+                """));
+        assertEquals(DocumentKind.MAVEN_POM, xml("pom.xml", """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                </project>
+                """));
+        assertEquals(DocumentKind.OTHER, xml("src/main/resources/logback.xml", """
+                <configuration>
+                    <root level="INFO"/>
+                </configuration>
+                """));
+    }
+
+    @Test
+    void classifiedOncePerExecution() {
+        SourceFile workflow = parse(new YamlParser(), ".github/workflows/build.yml", WORKFLOW);
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext();
+
+        assertSame(DocumentKind.of(workflow, ctx), DocumentKind.of(workflow, ctx));
+        assertSame(DocumentKind.GITHUB_WORKFLOW, DocumentKind.of(workflow, ctx));
+    }
+
+    private static DocumentKind yaml(String path, String source) {
+        return DocumentKind.of(parse(new YamlParser(), path, source), new InMemoryExecutionContext());
+    }
+
+    private static DocumentKind xml(String path, String source) {
+        return DocumentKind.of(parse(new XmlParser(), path, source), new InMemoryExecutionContext());
+    }
+
+    private static SourceFile parse(Parser parser, String path, String source) {
+        Parser.Input input = new Parser.Input(Paths.get(path),
+                () -> new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)));
+        return parser.parseInputs(List.of(input), null, new InMemoryExecutionContext()).findFirst().orElseThrow();
+    }
+}
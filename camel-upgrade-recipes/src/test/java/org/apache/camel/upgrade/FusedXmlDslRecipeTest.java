@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.apache.camel.upgrade.camel410.XmlDsl410Recipe;
+import org.apache.camel.upgrade.camel418_3.RenameHeaderInXmlDsl;
+import org.apache.camel.upgrade.camel43.CamelResequenceEIPXmlRecipe;
+import org.apache.camel.upgrade.camel47.XmlDsl47Recipe;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.xml.XmlParser;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openrewrite.xml.Assertions.xml;
+
+public class FusedXmlDslRecipeTest implements RewriteTest {
+
+    // XML DSL recipes of CamelXmlDslMigrationRecipe, in the order of the migration steps
+    private static final List<String> MIGRATION_RECIPES = List.of(
+            "org.apache.camel.upgrade.camel418_1.XmlDsl418_1SagaRecipe",
+            "org.apache.camel.upgrade.camel410.XmlDsl410Recipe",
+            "org.apache.camel.upgrade.camel47.XmlDsl47Recipe",
+            "org.apache.camel.upgrade.camel46.XmlDsl46Recipe",
+            "org.apache.camel.upgrade.camel41.XmlDslRecipe",
+            "org.apache.camel.upgrade.camel43.CamelResequenceEIPXmlRecipe",
+            "org.apache.camel.upgrade.camel40.xml.XmlDslRecipe",
+            "org.apache.camel.upgrade.camel40.xml.CircuitBreakerXmlDslRecipe");
+
+    @Test
+    void fusedByClassNames() {
+        FusedXmlDslRecipe recipe = new FusedXmlDslRecipe();
+        recipe.setRecipes(List.of(XmlDsl410Recipe.class.getName(), XmlDsl47Recipe.class.getName(),
+                CamelResequenceEIPXmlRecipe.class.getName()));
+
+        //language=xml
+        rewriteRun(spec -> spec.recipe(recipe),
+          xml(
+            """
+              <camelContext>
+                <intercept>
+                  <when>
+                    <simple>${body} contains 'Hello'</simple>
+                  </when>
+                </intercept>
+                <route>
+                  <from uri="direct:start"/>
+                  <loadBalance>
+                    <failover/>
+                    <to uri="mock:foo"/>
+                  </loadBalance>
+                  <resequence>
+                    <stream-config timeout="1000"/>
+                    <to uri="mock:result"/>
+                  </resequence>
+                </route>
+              </camelContext>
+              """,
+            """
+              <camelContext>
+                <intercept>
+                  <onWhen>
+                    <simple>${body} contains 'Hello'</simple>
+                  </onWhen>
+                </intercept>
+                <route>
+                  <from uri="direct:start"/>
+                  <loadBalance>
+                    <failoverLoadBalancer/>
+                    <to uri="mock:foo"/>
+                  </loadBalance>
+                  <resequence>
+                    <streamConfig timeout="1000"/>
+                    <to uri="mock:result"/>
+                  </resequence>
+                </route>
+              </camelContext>
+              """));
+    }
+
+    @Test
+    void fusedInOrderOfRecipes() {
+        // the second rename applies to the result of the first one
+        //language=xml
+        rewriteRun(spec -> spec.recipe(new FusedXmlDslRecipe(List.of(
+                    new RenameHeaderInXmlDsl("kafka.TOPIC", "kafka.topic"),
+                    new RenameHeaderInXmlDsl("kafka.topic", "CamelKafkaTopic")))),
+          xml(
+            """
+              <route>
+                <from uri="direct:start"/>
+                <setHeader name="kafka.TOPIC">
+                  <constant>my-topic</constant>
+                </setHeader>
+              </route>
+              """,
+            """
+              <route>
+                <from uri="direct:start"/>
+                <setHeader name="CamelKafkaTopic">
+                  <constant>my-topic</constant>
+                </setHeader>
+              </route>
+              """));
+    }
+
+    @Test
+    void fusedSameAsSequential() {
+        //language=xml
+        List<String> documents = List.of(
+          """
+            <camelContext xmlns="http://camel.apache.org/schema/spring">
+              <intercept>
+                <when>
+                  <simple>${body} contains 'Hello'</simple>
+                </when>
+              </intercept>
+              <route>
+                <from uri="direct:start"/>
+                <saga>
+                  <compensation uri="direct:compensation"/>
+                  <completion uri="direct:completion"/>
+                </saga>
+                <loadBalance>
+                  <failover/>
+                  <to uri="mock:foo"/>
+                </loadBalance>
+                <resequence>
+                  <stream-config timeout="1000"/>
+                  <to uri="mock:result"/>
+                </resequence>
+                <circuitBreaker>
+                  <resilience4jConfiguration>
+                    <timeoutEnabled>true</timeoutEnabled>
+                    <timeoutDuration>2000</timeoutDuration>
+                  </resilience4jConfiguration>
+                  <to uri="mock:cb"/>
+                </circuitBreaker>
+              </route>
+            </camelContext>
+            """,
+          """
+            <routes>
+              <route>
+                <description>Sample route</description>
+                <from uri="direct:a"/>
+                <to uri="mock:a"/>
+              </route>
+            </routes>
+            """,
+          """
+            <camel>
+              <bean name="myBean" type="com.foo.MyBean" beanType="groovy">
+                <script>new com.foo.MyBean()</script>
+                <property key="a" value="1"/>
+                <property key="b" value="2"/>
+              </bean>
+            </camel>
+            """);
+
+        List<SourceFile> sequential = parse(documents);
+        for (Recipe recipe : FusedRecipes.load(MIGRATION_RECIPES)) {
+            sequential = apply(recipe, sequential);
+        }
+        FusedXmlDslRecipe fused = new FusedXmlDslRecipe();
+        fused.setRecipes(MIGRATION_RECIPES);
+        List<SourceFile> fusedResult = apply(fused, parse(documents));
+
+        for (int i = 0; i < documents.size(); i++) {
+            assertNotEquals(documents.get(i), fusedResult.get(i).printAll());
+            assertEquals(sequential.get(i).printAll(), fusedResult.get(i).printAll());
+        }
+    }
+
+    @Test
+    void fusedRecipesNotAppliedByTheirVisitors() {
+        FusedXmlDslRecipe fused = new FusedXmlDslRecipe();
+        fused.setRecipes(List.of(XmlDsl47Recipe.class.getName()));
+        Recipe migration = new Recipe() {
+            @Override
+            public String getDisplayName() {
+                return "Migration steps and fused recipe";
+            }
+
+            @Override
+            public String getDescription() {
+                return "Migration steps and fused recipe.";
+            }
+
+            @Override
+            public List<Recipe> getRecipeList() {
+                return List.of(new XmlDsl47Recipe(), new XmlDsl410Recipe(), fused);
+            }
+        };
+
+        RecipeRun run = migration.run(new InMemoryLargeSourceSet(parse(List.of(
+                "<camelContext><route><loadBalance><failover/></loadBalance></route></camelContext>"))),
+                new InMemoryExecutionContext(Throwable::printStackTrace));
+
+        List<String> recipes = run.<CamelRecipeMetrics.Row>getDataTableRows(CamelRecipeMetrics.class).stream()
+                .map(CamelRecipeMetrics.Row::getRecipe)
+                .collect(Collectors.toList());
+        assertTrue(recipes.contains(FusedXmlDslRecipe.class.getName()));
+        assertTrue(recipes.contains(XmlDsl410Recipe.class.getName()));
+        assertFalse(recipes.contains(XmlDsl47Recipe.class.getName()));
+    }
+
+    @Test
+    void recipesBelowProjectVersion() {
+        CamelVersionBelow.Accumulator projectVersion = new CamelVersionBelow.Accumulator();
+        projectVersion.add(CamelProjectVersion.parse("4.8.0"));
+
+        List<Recipe> applicable = FusedRecipes.applicable(List.of(new XmlDsl47Recipe(), new XmlDsl410Recipe()),
+                Map.of(XmlDsl47Recipe.class.getName(), "4.7.0", XmlDsl410Recipe.class.getName(), "4.10.0"),
+                projectVersion);
+
+        assertEquals(1, applicable.size());
+        assertTrue(applicable.get(0) instanceof XmlDsl410Recipe);
+    }
+
+    @Test
+    void versionOfUnknownRecipe() {
+        FusedXmlDslRecipe recipe = new FusedXmlDslRecipe(List.of(new XmlDsl47Recipe()));
+        recipe.setCamelVersions(Map.of(XmlDsl410Recipe.class.getName(), "4.10.0"));
+
+        assertFalse(recipe.validate().isValid());
+    }
+
+    @Test
+    void recipesNamedByConfiguredInstances() {
+        FusedXmlDslRecipe recipe = new FusedXmlDslRecipe(List.of(new XmlDsl47Recipe(), new XmlDsl410Recipe()));
+
+        assertEquals(List.of(XmlDsl47Recipe.class.getName(), XmlDsl410Recipe.class.getName()), recipe.recipes);
+        assertTrue(recipe.validate().isValid());
+    }
+
+    @Test
+    void scanningRecipeNotFused() {
+        // scanning recipes can not be applied by their visitor only
+        FusedXmlDslRecipe recipe = new FusedXmlDslRecipe(List.of(new XmlDsl47Recipe(), new CamelVersionBelow("4.18.0")));
+
+        assertFalse(recipe.validate().isValid());
+    }
+
+    @Test
+    void unknownRecipeNotLoaded() {
+        FusedXmlDslRecipe recipe = new FusedXmlDslRecipe();
+        recipe.setRecipes(List.of("org.apache.camel.upgrade.UnknownRecipe"));
+
+        assertFalse(recipe.validate().isValid());
+    }
+
+    private static List<SourceFile> parse(List<String> documents) {
+        List<SourceFile> sourceFiles = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            sourceFiles.add(XmlParser.builder().build().parse(documents.get(i)).findFirst().orElseThrow()
+                    .withSourcePath(Paths.get("routes-" + i + ".xml")));
+        }
+        return sourceFiles;
+    }
+
+    private static List<SourceFile> apply(Recipe recipe, List<SourceFile> sourceFiles) {
+        RecipeRun run = recipe.run(new InMemoryLargeSourceSet(sourceFiles),
+                new InMemoryExecutionContext(Throwable::printStackTrace));
+        List<SourceFile> after = new ArrayList<>(sourceFiles);
+        for (Result result : run.getChangeset().getAllResults()) {
+            after.replaceAll(s -> result.getBefore() == s ? result.getAfter() : s);
+        }
+        return after;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.apache.camel.upgrade.camel40.yaml.CamelYamlStepsInFromRecipe;
+import org.apache.camel.upgrade.camel413.YamlDsl413Recipe;
+import org.apache.camel.upgrade.camel419.YamlDsl419RoutePolicyRecipe;
+import org.apache.camel.upgrade.camel47.YamlDsl47Recipe;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.yaml.YamlParser;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+public class FusedYamlDslRecipeTest implements RewriteTest {
+
+    // YAML DSL recipes of CamelYamlDslMigrationRecipe, in the order of the migration steps
+    private static final List<String> MIGRATION_RECIPES = List.of(
+            "org.apache.camel.upgrade.camel418_1.YamlDsl418_1SagaRecipe",
+            "org.apache.camel.upgrade.camel419.YamlDsl419RoutePolicyRecipe",
+            "org.apache.camel.upgrade.camel417.YamlTransform417Recipe",
+            "org.apache.camel.upgrade.camel413.YamlDsl413Recipe",
+            "org.apache.camel.upgrade.camel47.YamlDsl47Recipe",
+            "org.apache.camel.upgrade.camel46.YamlDsl46Recipe",
+            "org.apache.camel.upgrade.camel41.YamlDslRecipe",
+            "org.apache.camel.upgrade.camel40.yaml.CamelYamlRouteConfigurationSequenceRecipe",
+            "org.apache.camel.upgrade.camel40.yaml.CamelYamlStepsInFromRecipe");
+
+    @Test
+    void fusedByClassNames() {
+        FusedYamlDslRecipe recipe = new FusedYamlDslRecipe();
+        // load balancer is renamed after kebab-case of its parent is changed, steps are moved at the end
+        recipe.setRecipes(List.of(YamlDsl413Recipe.class.getName(), YamlDsl47Recipe.class.getName(),
+                CamelYamlStepsInFromRecipe.class.getName()));
+
+        //language=yaml
+        rewriteRun(spec -> spec.recipe(recipe),
+          yaml(
+            """
+              route:
+                from:
+                  uri: "direct:info"
+                steps:
+                  load-balance:
+                    failover: "true"
+              """,
+            """
+              route:
+                from:
+                  uri: "direct:info"
+                  steps:
+                    loadBalance:
+                      failoverLoadBalancer: "true"
+              """));
+    }
+
+    @Test
+    void fusedSameAsSequential() {
+        //language=yaml
+        List<String> documents = List.of(
+          """
+            - route:
+                id: "saga"
+                routePolicy: "myPolicy"
+                from:
+                  uri: "direct:start"
+                steps:
+                  - saga:
+                      compensation:
+                        uri: "direct:compensation"
+                      completion:
+                        uri: "direct:completion"
+                  - load-balance:
+                      failover: "true"
+                  - transform:
+                      to-type: "json"
+                  - transform:
+                      toType: "xml"
+                  - marshal:
+                      fury: {}
+            """,
+          """
+            - beans:
+                - name: "myBean"
+                  type: "com.foo.MyBean"
+                  bean-type: "groovy"
+                - name: "other"
+                  type: "com.foo.Other"
+                  property:
+                    - key: "a"
+                      value: "1"
+                    - key: "b"
+                      value: "2"
+            """,
+          """
+            route-configuration:
+              - id: "yamlRouteConfiguration"
+              - on-exception:
+                  handled:
+                    constant: "true"
+            """);
+
+        List<SourceFile> sequential = parse(documents);
+        for (Recipe recipe : FusedRecipes.load(MIGRATION_RECIPES)) {
+            sequential = apply(recipe, sequential);
+        }
+        FusedYamlDslRecipe fused = new FusedYamlDslRecipe();
+        fused.setRecipes(MIGRATION_RECIPES);
+        List<SourceFile> fusedResult = apply(fused, parse(documents));
+
+        for (int i = 0; i < documents.size(); i++) {
+            assertNotEquals(documents.get(i), fusedResult.get(i).printAll());
+            assertEquals(sequential.get(i).printAll(), fusedResult.get(i).printAll());
+        }
+    }
+
+    @Test
+    void fusedRecipesNotAppliedByTheirVisitors() {
+        FusedYamlDslRecipe fused = new FusedYamlDslRecipe();
+        fused.setRecipes(List.of(YamlDsl47Recipe.class.getName()));
+        Recipe migration = new Recipe() {
+            @Override
+            public String getDisplayName() {
+                return "Migration steps and fused recipe";
+            }
+
+            @Override
+            public String getDescription() {
+                return "Migration steps and fused recipe.";
+            }
+
+            @Override
+            public List<Recipe> getRecipeList() {
+                return List.of(new YamlDsl47Recipe(), new YamlDsl419RoutePolicyRecipe(), fused);
+            }
+        };
+
+        RecipeRun run = migration.run(new InMemoryLargeSourceSet(parse(List.of(
+                "route:\n  routePolicy: \"myPolicy\"\n  loadBalance:\n    failover: \"true\"\n"))),
+                new InMemoryExecutionContext(Throwable::printStackTrace));
+
+        List<String> recipes = run.<CamelRecipeMetrics.Row>getDataTableRows(CamelRecipeMetrics.class).stream()
+                .map(CamelRecipeMetrics.Row::getRecipe)
+                .collect(Collectors.toList());
+        assertTrue(recipes.contains(FusedYamlDslRecipe.class.getName()));
+        assertTrue(recipes.contains(YamlDsl419RoutePolicyRecipe.class.getName()));
+        assertFalse(recipes.contains(YamlDsl47Recipe.class.getName()));
+    }
+
+    @Test
+    void versionOfUnknownRecipe() {
+        FusedYamlDslRecipe recipe = new FusedYamlDslRecipe(List.of(new YamlDsl47Recipe()));
+        recipe.setCamelVersions(Map.of(YamlDsl413Recipe.class.getName(), "4.13.0"));
+
+        assertFalse(recipe.validate().isValid());
+    }
+
+    private static List<SourceFile> parse(List<String> documents) {
+        List<SourceFile> sourceFiles = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            sourceFiles.add(YamlParser.builder().build().parse(documents.get(i)).findFirst().orElseThrow()
+                    .withSourcePath(Paths.get("routes-" + i + ".camel.yaml")));
+        }
+        return sourceFiles;
+    }
+
+    private static List<SourceFile> apply(Recipe recipe, List<SourceFile> sourceFiles) {
+        RecipeRun run = recipe.run(new InMemoryLargeSourceSet(sourceFiles),
+                new InMemoryExecutionContext(Throwable::printStackTrace));
+        List<SourceFile> after = new ArrayList<>(sourceFiles);
+        for (Result result : run.getChangeset().getAllResults()) {
+            after.replaceAll(s -> result.getBefore() == s ? result.getAfter() : s);
+        }
+        return after;
+    }
+}
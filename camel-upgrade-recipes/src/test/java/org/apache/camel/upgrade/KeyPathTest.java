@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the matching of key paths against the keys of the visited entries.
+ */
+public class KeyPathTest {
+
+    @Test
+    void anchoredChildPath() {
+        KeyPath path = KeyPath.parse("$.route.from");
+
+        assertEquals("from", path.lastKey());
+        assertTrue(path.matches(keys("route", "from")));
+        assertFalse(path.matches(keys("route")));
+        assertFalse(path.matches(keys("route", "from", "uri")));
+        assertFalse(path.matches(keys("routes", "route", "from")));
+        assertFalse(path.matches(keys("from")));
+    }
+
+    @Test
+    void descendantPath() {
+        KeyPath path = KeyPath.parse("$..route..steps.transform");
+
+        assertEquals("transform", path.lastKey());
+        assertTrue(path.matches(keys("route", "steps", "transform")));
+        assertTrue(path.matches(keys("camel", "route", "from", "steps", "transform")));
+        // the first candidate of a descendant key does not have to be the matching one
+        assertTrue(path.matches(keys("route", "steps", "choice", "steps", "transform")));
+        assertFalse(path.matches(keys("route", "steps", "transform", "expression")));
+        assertFalse(path.matches(keys("route", "steps", "choice", "transform")));
+        assertFalse(path.matches(keys("steps", "transform")));
+    }
+
+    @Test
+    void pathWithoutAnchorMatchesAtAnyDepth() {
+        KeyPath path = KeyPath.parse("beans.property");
+
+        assertTrue(path.matches(keys("beans", "property")));
+        assertTrue(path.matches(keys("spec", "beans", "property")));
+        assertFalse(path.matches(keys("beans", "properties", "property")));
+        assertEquals(KeyPath.parse("$..beans.property").matches(keys("a", "beans", "property")),
+                path.matches(keys("a", "beans", "property")));
+    }
+
+    @Test
+    void wildcardsAndFiltersAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeyPath.parse("$..*"));
+        assertThrows(IllegalArgumentException.class, () -> KeyPath.parse("$.route.*.uri"));
+        assertThrows(IllegalArgumentException.class, () -> KeyPath.parse("$.steps[0].to"));
+        assertThrows(IllegalArgumentException.class, () -> KeyPath.parse("$..steps[?(@.to)]"));
+        assertThrows(IllegalArgumentException.class, () -> KeyPath.parse("$"));
+        assertThrows(IllegalArgumentException.class, () -> KeyPath.parse("$.route..."));
+    }
+
+    @Test
+    void sequencesAreTransparent() {
+        //language=yaml
+        List<String> matched = new MatchingVisitor("$..route.from.steps.to").run("""
+                - route:
+                    from:
+                      uri: timer:tick
+                      steps:
+                        - to: log:first
+                        - choice:
+                            when:
+                              - steps:
+                                  - to: log:nested
+                        - to: log:second
+                - to: log:root
+                """);
+
+        assertEquals(List.of("log:first", "log:second"), matched);
+    }
+
+    @Test
+    void descendantPathAcrossSequences() {
+        //language=yaml
+        List<String> matched = new MatchingVisitor("$..steps.to").run("""
+                - route:
+                    from:
+                      steps:
+                        - choice:
+                            when:
+                              - steps:
+                                  - to: log:nested
+                        - to: log:second
+                """);
+
+        assertEquals(List.of("log:nested", "log:second"), matched);
+    }
+
+    private static PathStack keys(String... names) {
+        PathStack stack = new PathStack('.');
+        for (String name : names) {
+            stack.push(name);
+        }
+        return stack;
+    }
+
+    /**
+     * Collects the values of the entries matched by the key path.
+     */
+    private static final class MatchingVisitor extends AbstractCamelYamlVisitor {
+
+        private final List<String> matched = new ArrayList<>();
+
+        private MatchingVisitor(String keyPath) {
+            registerKeyHandler(keyPath, (e, ctx) -> {
+                matched.add(((Yaml.Scalar) e.getValue()).getValue());
+                return e;
+            });
+        }
+
+        @Override
+        protected void clearLocalCache() {
+            // nothing to clear
+        }
+
+        @Override
+        public Yaml.Mapping.Entry doVisitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            return dispatchMappingEntry(super.doVisitMappingEntry(entry, ctx), ctx);
+        }
+
+        List<String> run(String yaml) {
+            visit(YamlParser.builder().build().parse(yaml).findFirst().orElseThrow(), new InMemoryExecutionContext());
+            return matched;
+        }
+    }
+}
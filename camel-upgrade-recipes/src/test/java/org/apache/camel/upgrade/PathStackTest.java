@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that the queries of {@link PathStack} behave as the same queries on the joined path.
+ */
+public class PathStackTest {
+
+    @Test
+    void emptyStack() {
+        PathStack stack = new PathStack('.');
+
+        assertEquals("", stack.path());
+        assertTrue(stack.equalsPath(""));
+        assertFalse(stack.equalsPath("route"));
+        assertTrue(stack.endsWithPath(""));
+        assertFalse(stack.endsWithPath("route"));
+    }
+
+    @Test
+    void nestedPath() {
+        PathStack stack = stack('.', "route", "from", "steps");
+
+        assertEquals("route.from.steps", stack.path());
+        assertTrue(stack.equalsPath("route.from.steps"));
+        assertFalse(stack.equalsPath("route.from"));
+        assertFalse(stack.equalsPath("route.from.steps.to"));
+        assertFalse(stack.equalsPath("route/from/steps"));
+        assertFalse(stack.equalsPath("route.fromsteps"));
+
+        assertTrue(stack.endsWithPath("steps"));
+        assertTrue(stack.endsWithPath("from.steps"));
+        assertTrue(stack.endsWithPath("route.from.steps"));
+        assertFalse(stack.endsWithPath("route.steps"));
+        assertFalse(stack.endsWithPath("from"));
+        assertFalse(stack.endsWithPath("x.route.from.steps"));
+        // same as String.endsWith, the suffix does not have to start at a name
+        assertTrue(stack.endsWithPath("om.steps"));
+        assertTrue(stack.endsWithPath(".steps"));
+    }
+
+    @Test
+    void siblingPaths() {
+        PathStack stack = stack('/', "routes", "route", "from");
+        assertEquals("routes/route/from", stack.path());
+
+        stack.pop();
+        stack.push("to");
+        assertEquals("routes/route/to", stack.path());
+        assertTrue(stack.equalsPath("routes/route/to"));
+        assertFalse(stack.equalsPath("routes/route/from"));
+        assertTrue(stack.endsWithPath("route/to"));
+        assertFalse(stack.endsWithPath("route/from"));
+
+        // sibling of an ancestor, the joined paths of the previous branch are not reused
+        stack.pop();
+        stack.pop();
+        stack.push("rest");
+        stack.push("to");
+        assertEquals("routes/rest/to", stack.path());
+        assertTrue(stack.equalsPath("routes/rest/to"));
+        assertFalse(stack.endsWithPath("route/to"));
+        assertEquals(3, stack.depth());
+        assertEquals("rest", stack.name(1));
+    }
+
+    @Test
+    void growsAndClears() {
+        PathStack stack = new PathStack('.');
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            stack.push("k" + i);
+            expected.append(i == 0 ? "" : ".").append("k").append(i);
+        }
+        assertEquals(expected.toString(), stack.path());
+        assertTrue(stack.equalsPath(expected.toString()));
+        assertTrue(stack.endsWithPath("k38.k39"));
+
+        stack.clear();
+        assertEquals(0, stack.depth());
+        assertEquals("", stack.path());
+        stack.push("camel");
+        assertEquals("camel", stack.path());
+    }
+
+    private static PathStack stack(char separator, String... names) {
+        PathStack stack = new PathStack(separator);
+        for (String name : names) {
+            stack.push(name);
+        }
+        return stack;
+    }
+}
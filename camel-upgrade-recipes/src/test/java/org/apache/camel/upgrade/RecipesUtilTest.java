@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Cursor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the argument helpers of {@link RecipesUtil} against parsed and type attributed sources.
+ */
+public class RecipesUtilTest {
+
+    private static final String KEY = "org.example.PropertyKey";
+
+    //language=java
+    private static final String[] DEPENDENCIES = {
+            """
+            package org.example;
+
+            public enum PropertyKey { FAILURE_HANDLED, CHARSET_NAME }
+            """,
+            """
+            package org.example;
+
+            public class Keys {
+                public static final String FAILURE_HANDLED = "CamelFailureHandled";
+            }
+            """,
+            """
+            package org.example;
+
+            public @interface Endpoint {
+                String uri() default "";
+            }
+            """
+    };
+
+    //language=java
+    private static final String SOURCE = """
+            import org.example.Endpoint;
+            import org.example.Keys;
+            import org.example.PropertyKey;
+
+            import static org.example.PropertyKey.FAILURE_HANDLED;
+
+            class Test {
+
+                @Endpoint(uri = "direct:" + Keys.FAILURE_HANDLED)
+                Object concatenated;
+
+                @Endpoint(uri = true ? "direct:a" : "direct:b")
+                Object conditional;
+
+                void test(java.util.function.Consumer<Object> c) {
+                    c.accept(PropertyKey.FAILURE_HANDLED);
+                    c.accept(org.example.PropertyKey.FAILURE_HANDLED);
+                    c.accept(FAILURE_HANDLED);
+                    c.accept(PropertyKey.CHARSET_NAME);
+                    c.accept(Keys.FAILURE_HANDLED);
+                    c.accept(Removed.FAILURE_HANDLED);
+                    c.accept("CamelFailureHandled");
+                    c.accept(1);
+                }
+            }
+            """;
+
+    @Test
+    void constantReferenceResolvedByType() {
+        List<Expression> arguments = parse().arguments;
+
+        assertTrue(RecipesUtil.isConstantReference(arguments.get(0), KEY, "FAILURE_HANDLED"));
+        assertTrue(RecipesUtil.isConstantReference(arguments.get(1), KEY, "FAILURE_HANDLED"));
+        assertTrue(RecipesUtil.isConstantReference(arguments.get(2), KEY, "FAILURE_HANDLED"));
+        assertFalse(RecipesUtil.isConstantReference(arguments.get(3), KEY, "FAILURE_HANDLED"));
+        // same simple names, other owner
+        assertFalse(RecipesUtil.isConstantReference(arguments.get(4), KEY, "FAILURE_HANDLED"));
+        assertTrue(RecipesUtil.isConstantReference(arguments.get(4), "org.example.Keys", "FAILURE_HANDLED"));
+        assertFalse(RecipesUtil.isConstantReference(arguments.get(6), KEY, "FAILURE_HANDLED"));
+        assertFalse(RecipesUtil.isConstantReference(null, KEY, "FAILURE_HANDLED"));
+    }
+
+    @Test
+    void unattributedConstantMatchedBySimpleNames() {
+        Expression removed = parse().arguments.get(5);
+
+        assertTrue(RecipesUtil.isConstantReference(removed, "org.example.Removed", "FAILURE_HANDLED"));
+        assertTrue(RecipesUtil.isConstantReference(removed, "Removed", "FAILURE_HANDLED"));
+        assertFalse(RecipesUtil.isConstantReference(removed, "org.example.Keys", "FAILURE_HANDLED"));
+    }
+
+    @Test
+    void stringLiteral() {
+        List<Expression> arguments = parse().arguments;
+
+        assertEquals("CamelFailureHandled", RecipesUtil.getStringLiteral(arguments.get(6)));
+        assertNull(RecipesUtil.getStringLiteral(arguments.get(7)));
+        assertNull(RecipesUtil.getStringLiteral(arguments.get(4)));
+        assertNull(RecipesUtil.getStringLiteral(null));
+
+        assertTrue(RecipesUtil.isConstantOrLiteral(arguments.get(4), "org.example.Keys", "FAILURE_HANDLED", "CamelFailureHandled"));
+        assertTrue(RecipesUtil.isConstantOrLiteral(arguments.get(6), "org.example.Keys", "FAILURE_HANDLED", "CamelFailureHandled"));
+        assertFalse(RecipesUtil.isConstantOrLiteral(arguments.get(7), "org.example.Keys", "FAILURE_HANDLED", "CamelFailureHandled"));
+    }
+
+    @Test
+    void valueOfAnnotationArgument() {
+        List<J.Annotation> annotations = parse().annotations;
+
+        assertEquals(Optional.of("\"direct:\" + Keys.FAILURE_HANDLED"),
+                RecipesUtil.getValueOfArgs(annotations.get(0).getArguments(), "uri"));
+        // other expressions are not printed
+        assertEquals(Optional.empty(), RecipesUtil.getValueOfArgs(annotations.get(1).getArguments(), "uri"));
+        assertEquals(Optional.empty(), RecipesUtil.getValueOfArgs(annotations.get(0).getArguments(), "value"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void annotationArgumentReplaced() {
+        Collected collected = parse();
+        J.Annotation annotation = collected.annotations.get(0);
+
+        J.Annotation byName = RecipesUtil.createAnnotation(annotation, "Endpoint", "uri", "\"direct:a\"");
+        J.Annotation byPrintedSource = RecipesUtil.createAnnotation(annotation, "Endpoint",
+                arg -> arg.startsWith("uri="), "\"direct:a\"");
+        J.Annotation appended = RecipesUtil.createAnnotation(annotation, "Endpoint", (String) null, "lazy = true");
+
+        Cursor cursor = new Cursor(new Cursor(null, Cursor.ROOT_VALUE), collected.compilationUnit);
+        assertEquals("@Endpoint(\"direct:a\")", byName.printTrimmed(cursor));
+        assertEquals("@Endpoint(\"direct:a\")", byPrintedSource.printTrimmed(cursor));
+        assertEquals("@Endpoint(uri = \"direct:\" + Keys.FAILURE_HANDLED,lazy = true)", appended.printTrimmed(cursor));
+    }
+
+    private static Collected parse() {
+        J.CompilationUnit cu = (J.CompilationUnit) JavaParser.fromJavaVersion().dependsOn(DEPENDENCIES).build()
+                .parse(SOURCE).findFirst().orElseThrow();
+        Collected collected = new Collected(cu);
+        new JavaIsoVisitor<Collected>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Collected c) {
+                c.arguments.add(method.getArguments().get(0));
+                return super.visitMethodInvocation(method, c);
+            }
+
+            @Override
+            public J.Annotation visitAnnotation(J.Annotation annotation, Collected c) {
+                c.annotations.add(annotation);
+                return super.visitAnnotation(annotation, c);
+            }
+        }.visit(cu, collected);
+        return collected;
+    }
+
+    private static final class Collected {
+        private final J.CompilationUnit compilationUnit;
+        private final List<Expression> arguments = new ArrayList<>();
+        private final List<J.Annotation> annotations = new ArrayList<>();
+
+        private Collected(J.CompilationUnit compilationUnit) {
+            this.compilationUnit = compilationUnit;
+        }
+    }
+}
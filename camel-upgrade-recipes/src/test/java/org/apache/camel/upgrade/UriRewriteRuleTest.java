@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UriRewriteRuleTest {
+
+    @Test
+    void groups() {
+        UriRewriteRule rule = UriRewriteRule.of("^kafka:(\\w+)\\?brokers=([^&]+)(.*)$", "kafka:${1}?bootstrapServers=${2}${3}");
+
+        assertEquals(Optional.of("kafka:topic?bootstrapServers=host:9092&groupId=a"),
+                rule.apply("kafka:topic?brokers=host:9092&groupId=a"));
+    }
+
+    @Test
+    void optionalGroupAndLiteralDollar() {
+        UriRewriteRule rule = UriRewriteRule.of("^a:(\\w+)(\\?.*)?$", "b:${1}${2}$x${9}");
+
+        assertEquals(Optional.of("b:name$x${9}"), rule.apply("a:name"));
+        assertEquals(Optional.of("b:name?p=1$x${9}"), rule.apply("a:name?p=1"));
+    }
+
+    @Test
+    void wholeValueHasToMatch() {
+        UriRewriteRule rule = UriRewriteRule.of("a:(\\w+)", "b:${1}");
+
+        assertEquals(Optional.of("b:name"), rule.apply("a:name"));
+        assertEquals(Optional.empty(), rule.apply("xa:name"));
+        assertEquals(Optional.empty(), rule.apply("a:name?p=1"));
+    }
+
+    @Test
+    void noMatch() {
+        UriRewriteRule rule = UriRewriteRule.of("^a:(.*)$", "b:${1}");
+
+        assertEquals(Optional.empty(), rule.apply("c:name"));
+        assertEquals(Optional.empty(), rule.apply(null));
+    }
+
+    @Test
+    void propertyRename() {
+        UriRewriteRule rule = UriRewriteRule.propertyRename("netty", "keyStoreFile", "keyStoreResource", "file:");
+
+        assertEquals(Optional.of("netty:tcp://host?keyStoreResource=file:store.jks"),
+                rule.apply("netty:tcp://host?keyStoreFile=store.jks"));
+        assertEquals(Optional.empty(), rule.apply("jetty:tcp://host?keyStoreFile=store.jks"));
+    }
+
+    @Test
+    void transformWithPatternsCompiledPerCall() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.of("b:" + i), RecipesUtil.transform("a:" + i, Pattern.compile("^a:(\\d)$"), "b:${1}"));
+        }
+        assertEquals(Optional.empty(), RecipesUtil.transform("A:1", Pattern.compile("^a:(\\d)$"), "b:${1}"));
+        assertEquals(Optional.of("b:1"),
+                RecipesUtil.transform("A:1", Pattern.compile("^a:(\\d)$", Pattern.CASE_INSENSITIVE), "b:${1}"));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class UriRewriteRulesTest {
+
+    @Test
+    void literalScheme() {
+        assertEquals("pulsar", UriRewriteRules.literalScheme("^pulsar:(.+)$"));
+        assertEquals("old-component", UriRewriteRules.literalScheme("old-component:(.+)"));
+        assertEquals("a", UriRewriteRules.literalScheme("^a:(x|y)"));
+        assertEquals("a", UriRewriteRules.literalScheme("^a:[|](.*)"));
+        assertEquals("a", UriRewriteRules.literalScheme("^a:\\|(.*)"));
+        assertNull(UriRewriteRules.literalScheme("^(a|b):(.*)"));
+        assertNull(UriRewriteRules.literalScheme("^a:(.*)|^b:(.*)"));
+        assertNull(UriRewriteRules.literalScheme(".*:(.*)"));
+    }
+
+    @Test
+    void alternativeSchemes() {
+        UriRewriteRules rules = UriRewriteRules.of("^a:(.*)|^b:(.*)", "c:${1}${2}", null);
+
+        assertNull(rules.schemes());
+        assertEquals(Optional.of("c:x"), rules.apply("a:x"));
+        assertEquals(Optional.of("c:y"), rules.apply("b:y"));
+        assertEquals(Optional.empty(), rules.apply("d:z"));
+    }
+
+    @Test
+    void rulesAreChainedAcrossSchemes() {
+        Map<String, String> mappings = new LinkedHashMap<>();
+        mappings.put("^legacy:(.+)$", "modern:${1}");
+        mappings.put("^modern:queue-(.+)$", "modern:${1}");
+        UriRewriteRules rules = UriRewriteRules.of(null, null, mappings);
+
+        assertEquals(Set.of("legacy", "modern"), rules.schemes());
+        assertEquals(Optional.of("modern:orders"), rules.apply("legacy:queue-orders"));
+        assertEquals(Optional.empty(), rules.apply("other:legacy:queue-orders"));
+    }
+}
@@ -16,13 +16,18 @@
  */
 package org.apache.camel.upgrade.camel40;
 
+import org.apache.camel.upgrade.AbstractCamelJavaVisitor;
 import org.apache.camel.upgrade.CamelTestUtil;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.tree.J;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.TypeValidation;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.openrewrite.java.Assertions.java;
 
 //class has to stay public, because test is extended in project quarkus-updates
@@ -150,4 +155,66 @@ public class CamelHttpTest implements RewriteTest {
             }
             """));
     }
+
+    @Test
+    void changeTypesScheduledOncePerCompilationUnit() {
+        //language=java
+        rewriteRun(java(
+          """
+            import org.apache.http.HttpHost;
+            import org.apache.http.protocol.HttpContext;
+
+            public class HttpHosts {
+
+                HttpContext context;
+
+                HttpHost host() {
+                    return new HttpHost("localhost", 8080);
+                }
+            }
+            """,
+          """
+            import org.apache.hc.core5.http.HttpHost;
+            import org.apache.hc.core5.http.protocol.HttpContext;
+
+            public class HttpHosts {
+
+                HttpContext context;
+
+                HttpHost host() {
+                    return new HttpHost("localhost", 8080);
+                }
+            }
+            """));
+    }
+
+    @Test
+    void changeTypeDeduplicatedPerVisitor() {
+        J.CompilationUnit cu = (J.CompilationUnit) CamelTestUtil.parserFromClasspath(CamelTestUtil.CamelVersion.v3_18,
+            "httpclient-4.5.14", "httpcore-4.4.16").build().parse(
+          """
+            import org.apache.http.HttpHost;
+            import org.apache.http.protocol.HttpContext;
+
+            public class HttpHosts {
+                HttpContext context;
+                HttpHost host;
+            }
+            """).findFirst().orElseThrow();
+        AbstractCamelJavaVisitor visitor = new AbstractCamelJavaVisitor() {
+            @Override
+            protected J.Import doVisitImport(J.Import _import, ExecutionContext ctx) {
+                doAfterVisitChangeType("org.apache.http.HttpHost", "org.apache.hc.core5.http.HttpHost");
+                doAfterVisitChangeType("org.apache.http.auth.AuthScope", "org.apache.hc.client5.http.auth.AuthScope");
+                return super.doVisitImport(_import, ctx);
+            }
+        };
+
+        visitor.visit(cu, new InMemoryExecutionContext());
+
+        //the used type is scheduled for the first import, the unused one is skipped, both are ignored for the second import
+        assertEquals(1, visitor.getScheduledAfterVisits());
+        assertEquals(1, visitor.getSkippedAfterVisits());
+        assertEquals(2, visitor.getDeduplicatedAfterVisits());
+    }
 }
@@ -106,6 +106,50 @@ public class CamelYamlTest implements RewriteTest {
             """));
     }
 
+    @Test
+    void stepsWithoutFromKept() {
+        //language=yaml
+        rewriteRun(yaml(
+          """
+            route:
+              id: "info"
+              steps:
+                log: "message"
+            """));
+    }
+
+    @Test
+    void stepsMovedOncePerFile() {
+        //language=yaml
+        rewriteRun(yaml(
+          """
+            route:
+              from:
+                uri: "direct:a"
+              steps:
+                log: "a"
+            ---
+            route:
+              from:
+                uri: "direct:b"
+              steps:
+                log: "b"
+            """,
+          """
+            route:
+              from:
+                uri: "direct:a"
+                steps:
+                  log: "a"
+            ---
+            route:
+              from:
+                uri: "direct:b"
+              steps:
+                log: "b"
+            """));
+    }
+
     @DisabledIfSystemProperty(named = CamelTestUtil.PROPERTY_USE_RECIPE, matches = ".+")
     @Test
     void routeConfigurationWithOnException() {
@@ -242,4 +242,35 @@ public class RenameHeaderInSimpleExpressionTest implements RewriteTest {
             )
         );
     }
+
+    @Test
+    void inHeaderAndRepeatedReferencesMigration() {
+        //language=java
+        rewriteRun(
+            java(
+                """
+                import org.apache.camel.builder.RouteBuilder;
+
+                class Test extends RouteBuilder {
+                    public void configure() {
+                        from("direct:start")
+                            .setBody(simple("${in.header.kafka.TOPIC} ${in.headers.kafka.TOPIC} ${header.kafka.TOPICS}"))
+                            .log(simple("${in.header.kafka.TOPIC} ${in.headers.kafka.TOPIC} ${header.kafka.TOPICS}"));
+                    }
+                }
+                """,
+                """
+                import org.apache.camel.builder.RouteBuilder;
+
+                class Test extends RouteBuilder {
+                    public void configure() {
+                        from("direct:start")
+                            .setBody(simple("${in.header.CamelKafkaTopic} ${in.headers.CamelKafkaTopic} ${header.kafka.TOPICS}"))
+                            .log(simple("${in.header.CamelKafkaTopic} ${in.headers.CamelKafkaTopic} ${header.kafka.TOPICS}"));
+                    }
+                }
+                """
+            )
+        );
+    }
 }
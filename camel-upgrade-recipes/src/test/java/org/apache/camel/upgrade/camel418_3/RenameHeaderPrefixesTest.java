@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.camel418_3;
+
+import org.apache.camel.upgrade.CamelTestUtil;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.TypeValidation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+/**
+ * Tests for the bulk RenameHeaderPrefixes recipe that renames multiple header prefixes in one pass.
+ */
+public class RenameHeaderPrefixesTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        Map<String, String> prefixMappings = new LinkedHashMap<>();
+        prefixMappings.put("SolrField.", "CamelSolrField.");
+        prefixMappings.put("SolrParam.", "CamelSolrParam.");
+        prefixMappings.put("SolrParam.legacy.", "CamelSolrParam.");
+        spec.recipe(new RenameHeaderPrefixes(prefixMappings))
+            .parser(CamelTestUtil.parserFromClasspath(CamelTestUtil.CamelVersion.v4_20,
+                    "camel-core-model", "camel-api"))
+            .typeValidationOptions(TypeValidation.none());
+    }
+
+    @DocumentExample
+    @Test
+    void bulkPrefixRename() {
+        //language=java
+        rewriteRun(
+            java(
+                """
+                import org.apache.camel.builder.RouteBuilder;
+
+                class Test extends RouteBuilder {
+                    public void configure() {
+                        from("direct:start")
+                            .process(exchange -> {
+                                exchange.getIn().setHeader("SolrField.id", "doc123");
+                                exchange.getIn().setHeader("SolrParam.commit", "true");
+                            })
+                            .setBody(simple("${header.SolrField.id} ${headers.SolrParam.commit}"));
+                    }
+                }
+                """,
+                """
+                import org.apache.camel.builder.RouteBuilder;
+
+                class Test extends RouteBuilder {
+                    public void configure() {
+                        from("direct:start")
+                            .process(exchange -> {
+                                exchange.getIn().setHeader("CamelSolrField.id", "doc123");
+                                exchange.getIn().setHeader("CamelSolrParam.commit", "true");
+                            })
+                            .setBody(simple("${header.CamelSolrField.id} ${headers.CamelSolrParam.commit}"));
+                    }
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void longestPrefixWins() {
+        //language=yaml
+        rewriteRun(
+            yaml(
+                """
+                - route:
+                    from:
+                      uri: "direct:start"
+                    steps:
+                      - setHeader:
+                          name: SolrField.id
+                          constant: doc123
+                      - setHeader:
+                          name: SolrParam.legacy.commit
+                          constant: true
+                """,
+                """
+                - route:
+                    from:
+                      uri: "direct:start"
+                    steps:
+                      - setHeader:
+                          name: CamelSolrField.id
+                          constant: doc123
+                      - setHeader:
+                          name: CamelSolrParam.commit
+                          constant: true
+                """
+            )
+        );
+    }
+}
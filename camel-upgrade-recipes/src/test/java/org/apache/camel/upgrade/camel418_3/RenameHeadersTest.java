@@ -23,9 +23,12 @@ import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.TypeValidation;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.xml.Assertions.xml;
+import static org.openrewrite.yaml.Assertions.yaml;
 
 /**
  * Tests for the bulk RenameHeaders recipe that renames multiple headers at once using a map.
@@ -86,4 +89,92 @@ public class RenameHeadersTest implements RewriteTest {
             )
         );
     }
+
+    @Test
+    void bulkHeaderRenameInXmlAndYaml() {
+        rewriteRun(
+            //language=xml
+            xml(
+                """
+                <route xmlns="http://camel.apache.org/schema/spring">
+                    <from uri="direct:start"/>
+                    <setHeader name="kafka.TOPIC">
+                        <constant>my-topic</constant>
+                    </setHeader>
+                    <removeHeader name="kafka.KEY"/>
+                </route>
+                """,
+                """
+                <route xmlns="http://camel.apache.org/schema/spring">
+                    <from uri="direct:start"/>
+                    <setHeader name="CamelKafkaTopic">
+                        <constant>my-topic</constant>
+                    </setHeader>
+                    <removeHeader name="CamelKafkaKey"/>
+                </route>
+                """
+            ),
+            //language=yaml
+            yaml(
+                """
+                - route:
+                    from:
+                      uri: "direct:start"
+                    steps:
+                      - setHeader:
+                          name: kafka.PARTITION
+                          constant: 0
+                      - removeHeader:
+                          name: kafka.KEY
+                """,
+                """
+                - route:
+                    from:
+                      uri: "direct:start"
+                    steps:
+                      - setHeader:
+                          name: CamelKafkaPartition
+                          constant: 0
+                      - removeHeader:
+                          name: CamelKafkaKey
+                """
+            )
+        );
+    }
+
+    @Test
+    void chainedMappingsResolveInOrder() {
+        // Mappings are applied in declaration order, so "a -> b" followed by "b -> c" renames "a" to "c"
+        Map<String, String> mappings = new LinkedHashMap<>();
+        mappings.put("oldHeader", "interimHeader");
+        mappings.put("interimHeader", "CamelNewHeader");
+        //language=java
+        rewriteRun(
+            spec -> spec.recipe(new RenameHeaders(mappings)),
+            java(
+                """
+                import org.apache.camel.builder.RouteBuilder;
+
+                class Test extends RouteBuilder {
+                    public void configure() {
+                        from("direct:start")
+                            .process(exchange -> exchange.getIn().setHeader("oldHeader", "value"))
+                            .setBody(simple("${header.oldHeader} ${headers.interimHeader}"));
+                    }
+                }
+                """,
+                """
+                import org.apache.camel.builder.RouteBuilder;
+
+                class Test extends RouteBuilder {
+                    public void configure() {
+                        from("direct:start")
+                            .process(exchange -> exchange.getIn().setHeader("CamelNewHeader", "value"))
+                            .setBody(simple("${header.CamelNewHeader} ${headers.CamelNewHeader}"));
+                    }
+                }
+                """
+            )
+        );
+    }
 }
@@ -27,6 +27,7 @@ import org.openrewrite.test.TypeValidation;
 
 import static org.openrewrite.java.Assertions.java;
 import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
 
 //class has to stay public, because test is extended in project quarkus-updates
 public class CamelUpdate44Test implements RewriteTest {
@@ -78,6 +79,32 @@ public class CamelUpdate44Test implements RewriteTest {
             """));
     }
 
+    /**
+     * <a href="https://camel.apache.org/manual/camel-4x-upgrade-guide-4_4.html#_camel_main">doc</a>
+     */
+    @DisabledIfSystemProperty(named = CamelTestUtil.PROPERTY_USE_RECIPE, matches = ".+")
+    @Test
+    void camelMainRouteControllerYaml() {
+        rewriteRun(yaml(
+          """
+            camel:
+              main:
+                name: Foo
+                routeControllerBackOffDelay: 1000
+                route-controller-back-off-max-attempts: 10
+                routeControllerSuperviseEnabled: true
+            """,
+          """
+            camel:
+              main:
+                name: Foo
+              routeController.enabled: true
+              routeController.backOffDelay: 1000
+              routeController.back-off-max-attempts: 10
+            """,
+          spec -> spec.path("src/main/resources/application.yaml")));
+    }
+
     /**
      * <a href="https://camel.apache.org/manual/camel-4x-upgrade-guide-4_4.html#_camel_json_validator">doc</a>
      */
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.customRecipes;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openrewrite.java.Assertions.java;
+
+/**
+ * Tests for BulkChangeMethodName.
+ */
+public class BulkChangeMethodNameTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new BulkChangeMethodName(methodMappings(), null))
+            .parser(JavaParser.fromJavaVersion().dependsOn(
+                """
+                package org.apache.camel.example;
+                public class Format {
+                    public void setFormatRef(String ref) {
+                    }
+                    public void setFormatName(String name) {
+                    }
+                    public void setOther(String other) {
+                    }
+                    public static Format ofRef(String ref) {
+                        return new Format();
+                    }
+                    public static class Builder {
+                        public Builder formatRef(String ref) {
+                            return this;
+                        }
+                    }
+                }
+                """
+            ));
+    }
+
+    @DocumentExample
+    @Test
+    void renamesAllMethodsInOnePass() {
+        //language=java
+        rewriteRun(
+            java(
+                """
+                import org.apache.camel.example.Format;
+
+                import java.util.function.Consumer;
+
+                public class MyBean {
+                    void configure(Format format) {
+                        format.setFormatRef("ref");
+                        format.setFormatName("name");
+                        format.setOther("other");
+                        new Format.Builder().formatRef("ref");
+                        Consumer<String> setter = format::setFormatRef;
+                    }
+                }
+                """,
+                """
+                import org.apache.camel.example.Format;
+
+                import java.util.function.Consumer;
+
+                public class MyBean {
+                    void configure(Format format) {
+                        format.setFormat("ref");
+                        format.setFormat("name");
+                        format.setOther("other");
+                        new Format.Builder().format("ref");
+                        Consumer<String> setter = format::setFormat;
+                    }
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void unmatchedDeclaringTypeIsUntouched() {
+        //language=java
+        rewriteRun(
+            java(
+                """
+                public class MyFormat {
+                    public void setFormatRef(String ref) {
+                    }
+
+                    void configure() {
+                        setFormatRef("ref");
+                    }
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void renamesStaticImport() {
+        //language=java
+        rewriteRun(
+            java(
+                """
+                import static org.apache.camel.example.Format.ofRef;
+
+                import org.apache.camel.example.Format;
+
+                public class MyBean {
+                    Format format = ofRef("ref");
+                }
+                """,
+                """
+                import static org.apache.camel.example.Format.ofFormat;
+
+                import org.apache.camel.example.Format;
+
+                public class MyBean {
+                    Format format = ofFormat("ref");
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void renamesDeclaration() {
+        //language=java
+        rewriteRun(
+            spec -> spec.recipe(new BulkChangeMethodName(Map.of("org.apache.camel.example.Legacy setFormatRef(String)", "setFormat"), null)),
+            java(
+                """
+                package org.apache.camel.example;
+
+                public class Legacy {
+                    public void setFormatRef(String ref) {
+                    }
+                }
+                """,
+                """
+                package org.apache.camel.example;
+
+                public class Legacy {
+                    public void setFormat(String ref) {
+                    }
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void overrideIsUntouchedByDefault() {
+        //language=java
+        rewriteRun(
+            java(
+                """
+                import org.apache.camel.example.Format;
+
+                public class MyFormat extends Format {
+                    @Override
+                    public void setFormatRef(String ref) {
+                    }
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void renamesOverrideWithMatchOverrides() {
+        //language=java
+        rewriteRun(
+            spec -> spec.recipe(new BulkChangeMethodName(methodMappings(), true)),
+            java(
+                """
+                import org.apache.camel.example.Format;
+
+                public class MyFormat extends Format {
+                    @Override
+                    public void setFormatRef(String ref) {
+                    }
+
+                    void configure() {
+                        setFormatRef("ref");
+                    }
+                }
+                """,
+                """
+                import org.apache.camel.example.Format;
+
+                public class MyFormat extends Format {
+                    @Override
+                    public void setFormat(String ref) {
+                    }
+
+                    void configure() {
+                        setFormat("ref");
+                    }
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void wildcardAndConstructorPatternsAreRejected() {
+        assertTrue(new BulkChangeMethodName(Map.of("org.apache.camel.example.Format set*(..)", "setFormat"), null)
+            .validate().isInvalid());
+        assertTrue(new BulkChangeMethodName(Map.of("org.apache.camel.example.Format <constructor>(..)", "create"), null)
+            .validate().isInvalid());
+        assertTrue(new BulkChangeMethodName(methodMappings(), null).validate().isValid());
+    }
+
+    private static Map<String, String> methodMappings() {
+        Map<String, String> methodMappings = new LinkedHashMap<>();
+        methodMappings.put("org.apache.camel.example.Format setFormatRef(String)", "setFormat");
+        methodMappings.put("org.apache.camel.example.Format setFormatName(String)", "setFormat");
+        methodMappings.put("org.apache.camel.example.Format.Builder formatRef(String)", "format");
+        methodMappings.put("org.apache.camel.example.Format ofRef(String)", "ofFormat");
+        return methodMappings;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.customRecipes;
+
+import org.apache.camel.upgrade.CamelTestUtil;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.TypeValidation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+/**
+ * Tests for the multi-rule mode of ChangeComponentUriRecipe.
+ */
+public class ChangeComponentUriRecipeTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        Map<String, String> uriMappings = new LinkedHashMap<>();
+        uriMappings.put("^pulsar:(persistent|non-persistent)://([^/]+)/([^/]+)/([^/]+)/([^/?]+)(\\?.*)?$",
+                "pulsar:${1}://${2}/${4}/${5}${6}");
+        uriMappings.put("^legacy:(.+)$", "modern:${1}");
+        uriMappings.put("^modern:queue-(.+)$", "modern:${1}");
+        spec.recipe(new ChangeComponentUriRecipe(uriMappings))
+            .parser(CamelTestUtil.parserFromClasspath(CamelTestUtil.CamelVersion.v4_20,
+                    "camel-core-model", "camel-api"))
+            .typeValidationOptions(TypeValidation.none());
+    }
+
+    @DocumentExample
+    @Test
+    void multipleRulesJavaDsl() {
+        //language=java
+        rewriteRun(
+            java(
+                """
+                import org.apache.camel.builder.RouteBuilder;
+
+                public class MyRoute extends RouteBuilder {
+                    @Override
+                    public void configure() {
+                        from("pulsar:persistent://public/cluster1/default/my-topic")
+                            .to("legacy:queue-orders")
+                            .to("other:legacy:queue-orders");
+                    }
+                }
+                """,
+                """
+                import org.apache.camel.builder.RouteBuilder;
+
+                public class MyRoute extends RouteBuilder {
+                    @Override
+                    public void configure() {
+                        from("pulsar:persistent://public/default/my-topic")
+                            .to("modern:orders")
+                            .to("other:legacy:queue-orders");
+                    }
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void multipleRulesYamlDsl() {
+        //language=yaml
+        rewriteRun(
+            yaml(
+                """
+                - route:
+                    from:
+                      uri: "pulsar:non-persistent://tenant1/cluster2/namespace1/topic1"
+                      steps:
+                        - to:
+                            uri: "legacy:audit"
+                """,
+                """
+                - route:
+                    from:
+                      uri: "pulsar:non-persistent://tenant1/namespace1/topic1"
+                      steps:
+                        - to:
+                            uri: "modern:audit"
+                """
+            )
+        );
+    }
+
+    @Test
+    void alternativeSchemes() {
+        //language=java
+        rewriteRun(
+            spec -> spec.recipe(new ChangeComponentUriRecipe(Map.of("^alpha:(.*)|^beta:(.*)", "gamma:${1}${2}"))),
+            java(
+                """
+                import org.apache.camel.builder.RouteBuilder;
+
+                public class MyRoute extends RouteBuilder {
+                    @Override
+                    public void configure() {
+                        from("alpha:in")
+                            .to("beta:out");
+                    }
+                }
+                """,
+                """
+                import org.apache.camel.builder.RouteBuilder;
+
+                public class MyRoute extends RouteBuilder {
+                    @Override
+                    public void configure() {
+                        from("gamma:in")
+                            .to("gamma:out");
+                    }
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void exactlyOneFormOfOptions() {
+        assertFalse(new ChangeComponentUriRecipe().validate().isValid());
+        assertFalse(new ChangeComponentUriRecipe("^a:(.*)$", null).validate().isValid());
+        ChangeComponentUriRecipe both = new ChangeComponentUriRecipe("^a:(.*)$", "b:${1}");
+        both.setUriMappings(Map.of("^c:(.*)$", "d:${1}"));
+        assertFalse(both.validate().isValid());
+
+        assertTrue(new ChangeComponentUriRecipe("^a:(.*)$", "b:${1}").validate().isValid());
+        assertTrue(new ChangeComponentUriRecipe(Map.of("^c:(.*)$", "d:${1}")).validate().isValid());
+    }
+}
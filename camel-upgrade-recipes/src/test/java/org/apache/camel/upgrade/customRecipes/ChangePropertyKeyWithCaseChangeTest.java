@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.customRecipes;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+/**
+ * Tests for ChangePropertyKeyWithCaseChange.
+ */
+public class ChangePropertyKeyWithCaseChangeTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new ChangePropertyKeyWithCaseChange("camel.main.routeController(.*)", "camel.routeController.",
+                List.of("camel.main.routeControllerExcluded"), true));
+    }
+
+    @DocumentExample
+    @Test
+    void propertiesFile() {
+        rewriteRun(
+            properties(
+                """
+                camel.main.routeControllerBackOffDelay=5000
+                camel.main.routeControllerExcluded=true
+                camel.main.name=Foo
+                """,
+                """
+                camel.routeController.backOffDelay=5000
+                camel.main.routeControllerExcluded=true
+                camel.main.name=Foo
+                """
+            )
+        );
+    }
+
+    @Test
+    void yamlFile() {
+        rewriteRun(
+            yaml(
+                """
+                camel:
+                  main:
+                    name: Foo
+                    routeControllerBackOffDelay: 5000
+                """,
+                """
+                camel:
+                  main:
+                    name: Foo
+                  routeController.backOffDelay: 5000
+                """,
+                spec -> spec.path("application.yaml")
+            )
+        );
+    }
+
+    @Test
+    void yamlExclusion() {
+        rewriteRun(
+            yaml(
+                """
+                camel:
+                  main:
+                    routeControllerExcluded: true
+                """,
+                spec -> spec.path("application.yaml")
+            )
+        );
+    }
+
+    @Test
+    void yamlFileNotApplicationConfig() {
+        rewriteRun(
+            yaml(
+                """
+                camel:
+                  main:
+                    routeControllerBackOffDelay: 5000
+                """,
+                spec -> spec.path("config.yaml")
+            )
+        );
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.customRecipes;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.xml.Assertions.xml;
+
+/**
+ * Tests for ChangeUsedTypes.
+ */
+public class ChangeUsedTypesTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        Map<String, String> typeMappings = new LinkedHashMap<>();
+        typeMappings.put("org.example.old.Foo", "org.example.mid.Foo");
+        typeMappings.put("org.example.old.Holder.Bar", "org.example.renamed.HolderBar");
+        typeMappings.put("org.example.mid.Foo", "org.example.renamed.Foo");
+        spec.recipe(new ChangeUsedTypes(typeMappings))
+            .parser(JavaParser.fromJavaVersion().dependsOn(
+                """
+                package org.example.old;
+                public class Foo {
+                }
+                """,
+                """
+                package org.example.old;
+                public class Holder {
+                    public static class Bar {
+                    }
+                }
+                """,
+                """
+                package org.example.other;
+                public class Baz {
+                }
+                """
+            ));
+    }
+
+    @DocumentExample
+    @Test
+    void chainedMappingsAreResolvedInOrder() {
+        //language=java
+        rewriteRun(
+            java(
+                """
+                import org.example.old.Foo;
+
+                public class MyBean {
+                    Foo foo;
+                }
+                """,
+                """
+                import org.example.renamed.Foo;
+
+                public class MyBean {
+                    Foo foo;
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void changesNestedType() {
+        //language=java
+        rewriteRun(
+            java(
+                """
+                import org.example.old.Holder;
+
+                public class MyBean {
+                    Holder.Bar bar;
+                }
+                """,
+                """
+                import org.example.renamed.HolderBar;
+
+                public class MyBean {
+                    HolderBar bar;
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void unusedTypesAreUntouched() {
+        //language=java
+        rewriteRun(
+            java(
+                """
+                import org.example.other.Baz;
+
+                public class MyBean {
+                    Baz baz;
+                }
+                """
+            )
+        );
+    }
+
+    @Test
+    void changesTypeReferencesOfOtherSources() {
+        //language=xml
+        rewriteRun(
+            xml(
+                """
+                <beans xmlns="http://www.springframework.org/schema/beans"
+                       xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                       xsi:schemaLocation="http://www.springframework.org/schema/beans https://www.springframework.org/schema/beans/spring-beans.xsd">
+                    <bean id="foo" class="org.example.old.Foo"/>
+                    <bean id="baz" class="org.example.other.Baz"/>
+                </beans>
+                """,
+                """
+                <beans xmlns="http://www.springframework.org/schema/beans"
+                       xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                       xsi:schemaLocation="http://www.springframework.org/schema/beans https://www.springframework.org/schema/beans/spring-beans.xsd">
+                    <bean id="foo" class="org.example.renamed.Foo"/>
+                    <bean id="baz" class="org.example.other.Baz"/>
+                </beans>
+                """
+            )
+        );
+    }
+}
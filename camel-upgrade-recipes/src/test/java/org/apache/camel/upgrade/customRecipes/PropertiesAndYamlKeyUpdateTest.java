@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.customRecipes;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+/**
+ * Tests for the bulk mode of PropertiesAndYamlKeyUpdate.
+ */
+public class PropertiesAndYamlKeyUpdateTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        Map<String, String> keyMappings = new LinkedHashMap<>();
+        keyMappings.put("camel.main.routeControllerInitialDelay", "camel.routecontroller.initialDelay");
+        keyMappings.put("camel.main.backlogTracing", "camel.trace.enabled");
+        keyMappings.put("camel.old.name", "camel.main.name");
+        keyMappings.put("camel.main.name", "camel.main.newName");
+        spec.recipe(new PropertiesAndYamlKeyUpdate(keyMappings));
+    }
+
+    @DocumentExample
+    @Test
+    void propertiesFile() {
+        rewriteRun(
+            properties(
+                """
+                camel.main.routeControllerInitialDelay=5000
+                camel.main.backlog-tracing=true
+                camel.old.name=Foo
+                camel.main.backlogTracingStandby=true
+                """,
+                """
+                camel.routecontroller.initialDelay=5000
+                camel.trace.enabled=true
+                camel.main.newName=Foo
+                camel.main.backlogTracingStandby=true
+                """
+            )
+        );
+    }
+
+    @Test
+    void yamlFile() {
+        rewriteRun(
+            yaml(
+                """
+                camel:
+                  main:
+                    routeControllerInitialDelay: 5000
+                    backlogTracingStandby: true
+                """,
+                """
+                camel:
+                  main:
+                    backlogTracingStandby: true
+                  routecontroller.initialDelay: 5000
+                """
+            )
+        );
+    }
+
+    @Test
+    void propertiesFileKeepsKebabCase() {
+        rewriteRun(
+            properties(
+                """
+                camel.main.route-controller-initial-delay=5000
+                camel.main.backlog-tracing-standby=true
+                """,
+                """
+                camel.routecontroller.initial-delay=5000
+                camel.main.backlog-tracing-standby=true
+                """
+            )
+        );
+    }
+
+    @Test
+    void yamlFileKeepsKebabCase() {
+        rewriteRun(
+            yaml(
+                """
+                camel:
+                  main:
+                    route-controller-initial-delay: 5000
+                    backlog-tracing-standby: true
+                """,
+                """
+                camel:
+                  main:
+                    backlog-tracing-standby: true
+                  routecontroller.initial-delay: 5000
+                """
+            )
+        );
+    }
+
+    @Test
+    void propertiesFileKeepsSnakeAndUpperCase() {
+        rewriteRun(
+            properties(
+                """
+                camel.main.route_controller_initial_delay=5000
+                CAMEL.MAIN.BACKLOG_TRACING=true
+                camel.main.backlog_tracing_standby=true
+                """,
+                """
+                camel.routecontroller.initial_delay=5000
+                CAMEL.TRACE.ENABLED=true
+                camel.main.backlog_tracing_standby=true
+                """
+            )
+        );
+    }
+
+    @Test
+    void yamlFileWithSeveralKeys() {
+        rewriteRun(
+            yaml(
+                """
+                camel:
+                  old:
+                    name: Foo
+                  main:
+                    routeControllerInitialDelay: 5000
+                    backlogTracing: true
+                    backlogTracingStandby: true
+                """,
+                """
+                camel:
+                  main:
+                    backlogTracingStandby: true
+                  main.newName: Foo
+                  routecontroller.initialDelay: 5000
+                  trace.enabled: true
+                """
+            )
+        );
+    }
+
+    @Test
+    void yamlFileWithoutKeys() {
+        rewriteRun(
+            yaml(
+                """
+                camel:
+                  rest:
+                    name: Foo
+                """
+            )
+        );
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates synthetic Camel projects for benchmarks and scale tests of the migration recipes.
+ * <p>
+ * Every file contains one or more routes built from constructs migrated by the 4.0 - 4.21 recipes (renamed headers
+ * and header prefixes, <i>adapt()</i>, <i>throttle(long)</i>, old pulsar uris, netty key store properties, data format
+ * properties, steps as child of route, ...). Each file is generated from its own random generator derived from the
+ * seed and the file index, so the same seed always produces the same project and the files can be streamed lazily
+ * (from 10 up to 100k files).
+ * </p>
+ * <p>
+ * Usage from the command line: <i>CamelProjectGenerator &lt;outputDir&gt; &lt;files&gt; [seed]</i>
+ * </p>
+ */
+public class CamelProjectGenerator {
+
+    public enum Dsl {
+        JAVA,
+        XML,
+        YAML
+    }
+
+    public record GeneratedFile(Path path, String content) {
+    }
+
+    private static final String[] HEADERS = {
+            "JGROUPS_CHANNEL_ADDRESS", "JGROUPS_DEST", "IssueAssigneeId", "IssueAssignee", "JGROUPSRAFT_LOG_SIZE",
+            "SHIRO_SECURITY_TOKEN", "SHIRO_SECURITY_USERNAME", "GitHubPullRequest", "GitHubInResponseTo",
+            // headers which are not migrated
+            "CamelFileName", "myHeader", "orderId"};
+
+    private static final String[] HEADER_PREFIXES = {"SolrField.", "SolrParam.", "Custom."};
+
+    private static final String[] NETTY_COMPONENTS = {"netty", "netty-http"};
+
+    private final long seed;
+
+    public CamelProjectGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates route files of all DSLs.
+     */
+    public Stream<GeneratedFile> generate(int files) {
+        return generate(files, EnumSet.allOf(Dsl.class));
+    }
+
+    /**
+     * Generates route files of the given DSLs, files are created lazily.
+     */
+    public Stream<GeneratedFile> generate(int files, Set<Dsl> dsls) {
+        Dsl[] allowed = dsls.toArray(new Dsl[0]);
+        if (allowed.length == 0) {
+            throw new IllegalArgumentException("At least one DSL is required.");
+        }
+        return IntStream.range(0, files).mapToObj(i -> generateFile(i, allowed));
+    }
+
+    /**
+     * Pom of the generated project, depending on Camel 3.
+     */
+    public GeneratedFile pom(String camelVersion) {
+        return new GeneratedFile(Paths.get("pom.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>org.apache.camel.upgrade.generated</groupId>
+                    <artifactId>generated-%1$d</artifactId>
+                    <version>1.0.0</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.apache.camel</groupId>
+                            <artifactId>camel-core-model</artifactId>
+                            <version>%2$s</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.apache.camel</groupId>
+                            <artifactId>camel-yaml-dsl</artifactId>
+                            <version>%2$s</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.apache.camel</groupId>
+                            <artifactId>camel-xml-io-dsl</artifactId>
+                            <version>%2$s</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """.formatted(seed, camelVersion));
+    }
+
+    /**
+     * Writes the pom and all route files into the directory.
+     */
+    public void writeTo(Path directory, int files, String camelVersion) throws IOException {
+        write(directory, pom(camelVersion));
+        try (Stream<GeneratedFile> generated = generate(files)) {
+            for (GeneratedFile file : (Iterable<GeneratedFile>) generated::iterator) {
+                write(directory, file);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CamelProjectGenerator <outputDir> <files> [seed]");
+            System.exit(1);
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        new CamelProjectGenerator(seed).writeTo(Paths.get(args[0]), Integer.parseInt(args[1]), "3.18.6");
+    }
+
+    // ------------------------------------------ file generation -------------------------------------------
+
+    private GeneratedFile generateFile(int index, Dsl[] allowed) {
+        // independent generator per file, so any file can be generated without the previous ones
+        Random random = new Random(seed * 1_000_003L + index);
+        int routes = 1 + random.nextInt(4);
+        // files are spread into packages / directories of 100 files
+        String group = "group" + (index / 100);
+        return switch (allowed[random.nextInt(allowed.length)]) {
+            case JAVA -> new GeneratedFile(
+                    Paths.get("src/main/java/com/example/" + group + "/Route" + index + ".java"),
+                    javaRouteBuilder(random, group, index, routes));
+            case XML -> new GeneratedFile(
+                    Paths.get("src/main/resources/camel/" + group + "/routes" + index + ".xml"),
+                    xmlRoutes(random, index, routes));
+            case YAML -> new GeneratedFile(
+                    Paths.get("src/main/resources/camel/" + group + "/routes" + index + ".yaml"),
+                    yamlRoutes(random, index, routes));
+        };
+    }
+
+    private static String javaRouteBuilder(Random random, String group, int index, int routes) {
+        Set<String> imports = new TreeSet<>();
+        imports.add("org.apache.camel.builder.RouteBuilder");
+        StringBuilder body = new StringBuilder();
+        if (random.nextInt(3) == 0) {
+            imports.add("org.apache.camel.ExtendedCamelContext");
+            body.append("        ExtendedCamelContext ecc = getContext().adapt(ExtendedCamelContext.class);\n");
+        }
+        for (int r = 0; r < routes; r++) {
+            String dataFormat = null;
+            if (random.nextInt(4) == 0) {
+                imports.add("org.apache.camel.model.dataformat.CsvDataFormat");
+                dataFormat = "csv" + r;
+                body.append("        CsvDataFormat ").append(dataFormat).append(" = new CsvDataFormat();\n")
+                        .append("        ").append(dataFormat).append(".setFormatRef(\"format").append(r).append("\");\n");
+            }
+            body.append("        from(\"").append(uri(random, index, r)).append("\")\n")
+                    .append("            .routeId(\"route").append(index).append('-').append(r).append("\")\n");
+            for (int s = 0, steps = 1 + random.nextInt(5); s < steps; s++) {
+                switch (random.nextInt(5)) {
+                    case 0 -> body.append("            .setHeader(\"").append(header(random)).append("\", constant(\"value")
+                            .append(s).append("\"))\n");
+                    case 1 -> body.append("            .setBody(simple(\"${header.").append(header(random))
+                            .append("} ${header.").append(headerWithPrefix(random)).append("}\"))\n");
+                    case 2 -> body.append("            .throttle(").append(1 + random.nextInt(100)).append(")\n");
+                    case 3 -> body.append("            .log(\"${headers.").append(header(random)).append("}\")\n");
+                    default -> body.append("            .to(\"").append(uri(random, index, s)).append("\")\n");
+                }
+            }
+            if (dataFormat != null) {
+                body.append("            .unmarshal(").append(dataFormat).append(")\n");
+            }
+            body.append("            .to(\"").append(uri(random, index, r + 100)).append("\");\n");
+        }
+
+        StringBuilder sb = new StringBuilder("package com.example.").append(group).append(";\n\n");
+        imports.forEach(i -> sb.append("import ").append(i).append(";\n"));
+        return sb.append("\npublic class Route").append(index).append(" extends RouteBuilder {\n\n")
+                .append("    @Override\n")
+                .append("    public void configure() throws Exception {\n")
+                .append(body)
+                .append("    }\n")
+                .append("}\n")
+                .toString();
+    }
+
+    private static String xmlRoutes(Random random, int index, int routes) {
+        StringBuilder sb = new StringBuilder("<routes xmlns=\"http://camel.apache.org/schema/spring\">\n");
+        for (int r = 0; r < routes; r++) {
+            sb.append("    <route id=\"route").append(index).append('-').append(r).append("\">\n")
+                    .append("        <from uri=\"").append(xmlEscape(uri(random, index, r))).append("\"/>\n");
+            for (int s = 0, steps = 1 + random.nextInt(5); s < steps; s++) {
+                switch (random.nextInt(5)) {
+                    case 0 -> sb.append("        <setHeader name=\"").append(header(random)).append("\">\n")
+                            .append("            <constant>value").append(s).append("</constant>\n")
+                            .append("        </setHeader>\n");
+                    case 1 -> sb.append("        <setBody>\n")
+                            .append("            <simple>${header.").append(header(random)).append("}</simple>\n")
+                            .append("        </setBody>\n");
+                    case 2 -> sb.append("        <circuitBreaker>\n")
+                            .append("            <resilience4jConfiguration>\n")
+                            .append("                <timeoutEnabled>true</timeoutEnabled>\n")
+                            .append("                <timeoutDuration>").append(100 + random.nextInt(1000))
+                            .append("</timeoutDuration>\n")
+                            .append("            </resilience4jConfiguration>\n")
+                            .append("            <to uri=\"direct:protected").append(s).append("\"/>\n")
+                            .append("        </circuitBreaker>\n");
+                    case 3 -> sb.append("        <loadBalance>\n")
+                            .append("            <random/>\n")
+                            .append("            <to uri=\"mock:a").append(s).append("\"/>\n")
+                            .append("            <to uri=\"mock:b").append(s).append("\"/>\n")
+                            .append("        </loadBalance>\n");
+                    default -> sb.append("        <to uri=\"").append(xmlEscape(uri(random, index, s))).append("\"/>\n");
+                }
+            }
+            sb.append("    </route>\n");
+        }
+        return sb.append("</routes>\n").toString();
+    }
+
+    private static String yamlRoutes(Random random, int index, int routes) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextInt(3) == 0) {
+            // route configuration as a sequence (migrated in 4.0)
+            sb.append("- route-configuration:\n")
+                    .append("    - id: \"configuration").append(index).append("\"\n");
+        }
+        for (int r = 0; r < routes; r++) {
+            // steps as child of route (removed in 4.0) or of from
+            boolean oldSteps = random.nextBoolean();
+            String stepsIndent = oldSteps ? "    " : "      ";
+            sb.append("- route:\n")
+                    .append("    id: \"route").append(index).append('-').append(r).append("\"\n")
+                    .append("    from:\n")
+                    .append("      uri: \"").append(uri(random, index, r)).append("\"\n")
+                    .append(stepsIndent).append("steps:\n");
+            String step = stepsIndent + "  - ";
+            String nested = stepsIndent + "      ";
+            for (int s = 0, steps = 1 + random.nextInt(5); s < steps; s++) {
+                switch (random.nextInt(5)) {
+                    case 0 -> sb.append(step).append("set-header:\n")
+                            .append(nested).append("name: \"").append(header(random)).append("\"\n")
+                            .append(nested).append("constant: \"value").append(s).append("\"\n");
+                    case 1 -> sb.append(step).append("set-body:\n")
+                            .append(nested).append("simple: \"${header.").append(header(random)).append("}\"\n");
+                    case 2 -> sb.append(step).append("unmarshal:\n")
+                            .append(nested).append("crypto:\n")
+                            .append(nested).append("  keyRef: \"key").append(s).append("\"\n")
+                            .append(nested).append("  initVectorRef: \"vector").append(s).append("\"\n");
+                    case 3 -> sb.append(step).append("marshal:\n")
+                            .append(nested).append("csv:\n")
+                            .append(nested).append("  formatRef: \"format").append(s).append("\"\n");
+                    default -> sb.append(step).append("to: \"").append(uri(random, index, s)).append("\"\n");
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    // ------------------------------------------ fragments -------------------------------------------
+
+    private static String uri(Random random, int index, int n) {
+        return switch (random.nextInt(5)) {
+            case 0 -> "pulsar:persistent://public/cluster" + random.nextInt(3) + "/default/topic" + index + "-" + n;
+            case 1 -> "pulsar:non-persistent://tenant" + random.nextInt(3) + "/cluster/ns/topic" + n + "?consumerName=c" + index;
+            case 2 -> NETTY_COMPONENTS[random.nextInt(NETTY_COMPONENTS.length)] + ":tcp://localhost:" + (8000 + n)
+                      + "?keyStoreFile=keystore" + index + ".jks&trustStoreFile=truststore.jks";
+            case 3 -> "direct:route" + index + "-" + n;
+            default -> "log:route" + index + "?level=INFO";
+        };
+    }
+
+    private static String header(Random random) {
+        return HEADERS[random.nextInt(HEADERS.length)];
+    }
+
+    private static String headerWithPrefix(Random random) {
+        return HEADER_PREFIXES[random.nextInt(HEADER_PREFIXES.length)] + "field" + random.nextInt(10);
+    }
+
+    private static String xmlEscape(String value) {
+        return value.replace("&", "&amp;");
+    }
+
+    private static void write(Path directory, GeneratedFile file) throws IOException {
+        Path target = directory.resolve(file.path());
+        Files.createDirectories(target.getParent());
+        Files.writeString(target, file.content(), StandardCharsets.UTF_8);
+    }
+}
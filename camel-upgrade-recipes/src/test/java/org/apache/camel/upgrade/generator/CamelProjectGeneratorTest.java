@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.upgrade.generator;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.ParseExceptionResult;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.tree.ParseError;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.yaml.YamlParser;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CamelProjectGeneratorTest {
+
+    @Test
+    void sameSeedGeneratesSameProject() {
+        List<CamelProjectGenerator.GeneratedFile> first = new CamelProjectGenerator(7).generate(50).toList();
+        List<CamelProjectGenerator.GeneratedFile> second = new CamelProjectGenerator(7).generate(50).toList();
+        List<CamelProjectGenerator.GeneratedFile> other = new CamelProjectGenerator(8).generate(50).toList();
+
+        assertEquals(50, first.size());
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void fileDoesNotDependOnProjectSize() {
+        CamelProjectGenerator generator = new CamelProjectGenerator(7);
+
+        assertEquals(generator.generate(10).toList(), generator.generate(1000).limit(10).toList());
+    }
+
+    @Test
+    void onlyRequestedDsls() {
+        new CamelProjectGenerator(7).generate(100, EnumSet.of(CamelProjectGenerator.Dsl.YAML))
+                .forEach(f -> assertTrue(f.path().toString().endsWith(".yaml"), f.path().toString()));
+    }
+
+    @Test
+    void generatedFilesParseWithoutErrors() {
+        CamelProjectGenerator generator = new CamelProjectGenerator(7);
+        List<Parser.Input> java = new ArrayList<>();
+        List<Parser.Input> xml = new ArrayList<>(List.of(input(generator.pom("3.22.0"))));
+        List<Parser.Input> yaml = new ArrayList<>();
+        generator.generate(60).forEach(f -> {
+            String path = f.path().toString();
+            (path.endsWith(".java") ? java : path.endsWith(".xml") ? xml : yaml).add(input(f));
+        });
+        assertFalse(java.isEmpty());
+        assertFalse(xml.isEmpty());
+        assertFalse(yaml.isEmpty());
+
+        List<Throwable> errors = new ArrayList<>();
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext(errors::add);
+        List<SourceFile> parsed = new ArrayList<>();
+        JavaParser.fromJavaVersion().build().parseInputs(java, null, ctx).forEach(parsed::add);
+        new XmlParser().parseInputs(xml, null, ctx).forEach(parsed::add);
+        new YamlParser().parseInputs(yaml, null, ctx).forEach(parsed::add);
+
+        assertEquals(java.size() + xml.size() + yaml.size(), parsed.size());
+        for (SourceFile sourceFile : parsed) {
+            assertFalse(sourceFile instanceof ParseError, sourceFile.getSourcePath().toString());
+            assertFalse(sourceFile.getMarkers().findFirst(ParseExceptionResult.class).isPresent(),
+                    sourceFile.getSourcePath().toString());
+        }
+        assertEquals(List.of(), errors);
+    }
+
+    private static Parser.Input input(CamelProjectGenerator.GeneratedFile file) {
+        return new Parser.Input(file.path(), () -> new ByteArrayInputStream(file.content().getBytes(StandardCharsets.UTF_8)));
+    }
+}